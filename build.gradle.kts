@@ -13,9 +13,32 @@ repositories {
     mavenCentral()
 }
 
+// JMH benchmarks live in their own source set, so they are never part of the released jar
+// the query server is an optional module with its own jar, tested together with the library
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+    val server = create("server") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+    test {
+        compileClasspath += server.output
+        runtimeClasspath += server.output
+    }
+}
+
+val jmhImplementation: Configuration by configurations.getting
+val jmhAnnotationProcessor: Configuration by configurations.getting
+
 dependencies {
     testImplementation(platform("org.junit:junit-bom:5.9.2"))
     testImplementation("org.junit.jupiter:junit-jupiter:5.9.2")
+
+    jmhImplementation("org.openjdk.jmh:jmh-core:1.37")
+    jmhAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 tasks.test {
@@ -26,3 +49,62 @@ tasks.test {
 tasks.withType<JavaCompile> {
     options.compilerArgs.add("--enable-preview")
 }
+
+val jmhResults = layout.buildDirectory.file("reports/jmh/results.csv")
+val jmhBaseline = layout.projectDirectory.file("src/jmh/baseline.csv")
+
+// usage: gradle jmh -PjmhArgs="TrieBenchmark.search -p dataset=URLS"
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs JMH benchmarks with the GC profiler and writes results to build/reports/jmh/results.csv."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass = "org.openjdk.jmh.Main"
+    jvmArgs("--enable-preview")
+    args("-prof", "gc", "-rf", "csv", "-rff", jmhResults.get().asFile.path)
+    (findProperty("jmhArgs") as String?)?.let { args(it.split(" ").filter(String::isNotBlank)) }
+    doFirst { jmhResults.get().asFile.parentFile.mkdirs() }
+}
+
+tasks.register<JavaExec>("jmhCompare") {
+    group = "benchmark"
+    description = "Compares the latest JMH results with the committed baseline."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass = "com.lucasmalara.datastruct.trie.BaselineComparison"
+    jvmArgs("--enable-preview")
+    args(jmhBaseline.asFile.path, jmhResults.get().asFile.path)
+}
+
+tasks.register<JavaExec>("jmhRetained") {
+    group = "benchmark"
+    description = "Prints heap retained per key by a trie of each benchmark dataset."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass = "com.lucasmalara.datastruct.trie.RetainedSize"
+    jvmArgs("--enable-preview", "-XX:+UseSerialGC")
+}
+
+tasks.register<Jar>("serverJar") {
+    group = "build"
+    description = "Assembles a jar of the optional query server."
+    archiveClassifier = "server"
+    from(sourceSets["server"].output)
+}
+
+// usage: gradle serverLoadTest -PloadTestArgs="--clients 64 --requests 100000"
+tasks.register<JavaExec>("serverLoadTest") {
+    group = "benchmark"
+    description = "Runs a load test of the query server against localhost."
+    classpath = sourceSets["server"].runtimeClasspath
+    mainClass = "com.lucasmalara.datastruct.trie.server.LoadTest"
+    jvmArgs("--enable-preview")
+    (findProperty("loadTestArgs") as String?)?.let { args(it.split(" ").filter(String::isNotBlank)) }
+}
+
+tasks.assemble {
+    dependsOn("serverJar")
+}
+
+// benchmarks are not run by a build, but they must keep compiling
+tasks.check {
+    dependsOn("jmhClasses")
+}
+
@@ -0,0 +1,123 @@
+package com.lucasmalara.datastruct.trie;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class compares JMH results with a baseline, both written as CSV by {@code -rf csv}.
+ * Only primary scores and normalized allocation rates are compared, since other GC metrics are too noisy.
+ * A change worse than {@link #THRESHOLD} is reported as a regression only if it also exceeds
+ * the sum of the 99.9% error margins of both scores, so changes within the noise of a run are reported as the same.
+ * It exits with status {@code 1} if any regression is reported, so {@code gradle jmhCompare} fails.
+ */
+public final class BaselineComparison {
+
+    /**
+     * A relative change of a score considered significant.
+     */
+    private static final double THRESHOLD = 0.10;
+
+    private BaselineComparison() {
+    }
+
+    /**
+     * @param args a path of a baseline and a path of results to compare with it.
+     * @throws IOException if any file cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2)
+            throw new IllegalArgumentException("Usage: BaselineComparison <baseline.csv> <results.csv>");
+
+        Map<String, Score> baseline = read(Path.of(args[0]));
+        Map<String, Score> results = read(Path.of(args[1]));
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : results.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null) {
+                System.out.println(STR."NEW        \{entry.getKey()}: \{after.value()} \{after.unit()}");
+                continue;
+            }
+
+            double change = (after.value() - before.value()) / before.value();
+            // throughput is better when higher, times and allocations when lower
+            double worse = after.unit().startsWith("ops/") ? -change : change;
+            boolean significant = Math.abs(after.value() - before.value()) > before.error() + after.error();
+            String verdict = !significant ? "SAME      "
+                    : worse > THRESHOLD ? "REGRESSION" : worse < -THRESHOLD ? "IMPROVED  " : "SAME      ";
+            if (significant && worse > THRESHOLD)
+                regressions++;
+
+            System.out.println(String.format("%s %s: %.3f ± %.3f -> %.3f ± %.3f %s (%+.1f%%)", verdict, entry.getKey(),
+                    before.value(), before.error(), after.value(), after.error(), after.unit(), change * 100));
+        }
+        System.out.println(STR."\{regressions} regression(s) above \{(int) (THRESHOLD * 100)}%");
+        if (regressions > 0)
+            System.exit(1);
+    }
+
+    /**
+     * @param path a path of JMH results in CSV.
+     * @return scores by benchmark names and parameters.
+     * @throws IOException if a file cannot be read.
+     */
+    private static Map<String, Score> read(Path path) throws IOException {
+        List<String> lines = Files.readAllLines(path);
+        List<String> header = columns(lines.getFirst());
+        int score = header.indexOf("Score");
+        int error = header.indexOf("Score Error (99.9%)");
+        int unit = header.indexOf("Unit");
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            List<String> row = columns(line);
+            String benchmark = row.getFirst();
+            if (benchmark.contains(":") && !benchmark.endsWith(":gc.alloc.rate.norm"))
+                continue;
+
+            StringBuilder key = new StringBuilder(benchmark);
+            for (int i = unit + 1; i < row.size(); i++)
+                key.append(' ').append(header.get(i).replace("Param: ", "")).append('=').append(row.get(i));
+
+            // a margin is NaN if there was a single measurement
+            double margin = Double.parseDouble(row.get(error));
+            scores.put(key.toString(),
+                    new Score(Double.parseDouble(row.get(score)), Double.isNaN(margin) ? 0 : margin, row.get(unit)));
+        }
+        return scores;
+    }
+
+    /**
+     * @param line a line of CSV with optionally quoted columns.
+     * @return columns of a given line.
+     */
+    private static List<String> columns(String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"')
+                quoted = !quoted;
+            else if (c == ',' && !quoted) {
+                columns.add(column.toString());
+                column.setLength(0);
+            } else
+                column.append(c);
+        }
+        columns.add(column.toString());
+        return columns;
+    }
+
+    /**
+     * @param value a score.
+     * @param error a 99.9% error margin of a score.
+     * @param unit  a unit of a score.
+     */
+    private record Score(double value, double error, String unit) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.lucasmalara.datastruct.trie;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of searching and inserting a batch of keys at once, compared with one key at a time.
+ * A {@code RANDOM} batch is drawn from the whole dataset, so its keys share short prefixes only;
+ * a {@code CLUSTERED} batch is a run of neighbouring keys in sorted order, shuffled,
+ * like keys of the same tenant or host resolved by one request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+
+    private static final int KEYS = 100_000;
+
+    private static final int BATCH = 1_000;
+
+    @Param({"WORDS", "URLS", "UUIDS", "SHARED_PREFIX"})
+    private Dataset dataset;
+
+    @Param({"RANDOM", "CLUSTERED"})
+    private String shape;
+
+    private Trie trie;
+    private List<String> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> keys = dataset.keys(KEYS, 42);
+        trie = Trie.empty();
+        keys.forEach(trie::insert);
+        List<String> sorted = new ArrayList<>(keys);
+        Collections.sort(sorted);
+        batch = new ArrayList<>(shape.equals("RANDOM") ? keys.subList(0, BATCH) : sorted.subList(KEYS / 2, KEYS / 2 + BATCH));
+        Collections.shuffle(batch, new Random(7));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public boolean[] searchEach() {
+        boolean[] found = new boolean[BATCH];
+        for (int i = 0; i < BATCH; i++)
+            found[i] = trie.search(batch.get(i));
+
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public boolean[] searchAll() {
+        return trie.searchAll(batch);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Trie insertEach() {
+        Trie built = Trie.empty();
+        for (String key : batch)
+            built.insert(key);
+
+        return built;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Trie insertAll() {
+        Trie built = Trie.empty();
+        built.insertAll(batch);
+        return built;
+    }
+}
@@ -0,0 +1,70 @@
+package com.lucasmalara.datastruct.trie;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Benchmarks of looking up keys received as UTF-8 in a direct {@code ByteBuffer}:
+ * in place by {@link ByteTrie}, compared with decoding them into a {@code String} for {@link Trie}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class ByteTrieBenchmark {
+
+    private static final int KEYS = 100_000;
+
+    @Param({"WORDS", "URLS", "UUIDS", "SHARED_PREFIX"})
+    private Dataset dataset;
+
+    private ByteBuffer[] buffers;
+    private ByteTrie byteTrie;
+    private Trie trie;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] keys = dataset.keys(KEYS, 42).toArray(String[]::new);
+        buffers = new ByteBuffer[keys.length];
+        byteTrie = ByteTrie.empty();
+        trie = Trie.empty();
+        for (int i = 0; i < keys.length; i++) {
+            byte[] bytes = keys[i].getBytes(UTF_8);
+            buffers[i] = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+            byteTrie.insert(bytes);
+            trie.insert(keys[i]);
+        }
+    }
+
+    /**
+     * The position of the next key of a benchmark thread, so keys are visited in a fixed cycle.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        private int next(int length) {
+            int index = next;
+            next = index + 1 == length ? 0 : index + 1;
+            return index;
+        }
+    }
+
+    @Benchmark
+    public boolean searchInPlace(Cursor cursor) {
+        return byteTrie.search(buffers[cursor.next(buffers.length)]);
+    }
+
+    @Benchmark
+    public boolean searchDecoded(Cursor cursor) {
+        ByteBuffer buffer = buffers[cursor.next(buffers.length)];
+        return trie.search(UTF_8.decode(buffer.duplicate()));
+    }
+}
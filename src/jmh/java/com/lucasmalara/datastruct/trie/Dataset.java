@@ -0,0 +1,96 @@
+package com.lucasmalara.datastruct.trie;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Deterministic sets of keys with different shapes, generated from a seed so that runs are comparable.
+ */
+public enum Dataset {
+
+    /**
+     * Short keys built from common English syllables, with a high fan-out near the root.
+     */
+    WORDS {
+        private static final String[] SYLLABLES = {
+                "a", "al", "an", "ar", "be", "ca", "co", "con", "de", "di", "en", "er", "ex", "ing", "in", "la",
+                "le", "li", "ly", "ma", "me", "mo", "na", "ne", "no", "or", "pa", "pe", "pre", "pro", "ra", "re",
+                "ri", "ro", "sa", "se", "si", "so", "ta", "te", "ter", "ti", "tion", "to", "tu", "un", "ver", "vi"
+        };
+
+        @Override
+        String key(Random random) {
+            StringBuilder word = new StringBuilder();
+            int syllables = 1 + random.nextInt(4);
+            for (int i = 0; i < syllables; i++)
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+
+            return word.toString();
+        }
+    },
+
+    /**
+     * URLs of a few hosts with paths of varying depth, sharing long prefixes per host.
+     */
+    URLS {
+        private static final String[] HOSTS = {
+                "https://example.com", "https://api.example.com", "http://static.example.org", "https://shop.example.net"
+        };
+        private static final String[] SEGMENTS = {
+                "users", "orders", "items", "v1", "v2", "search", "images", "docs", "account", "settings", "cart"
+        };
+
+        @Override
+        String key(Random random) {
+            StringBuilder url = new StringBuilder(HOSTS[random.nextInt(HOSTS.length)]);
+            int segments = 1 + random.nextInt(4);
+            for (int i = 0; i < segments; i++)
+                url.append('/').append(SEGMENTS[random.nextInt(SEGMENTS.length)]);
+
+            return url.append('/').append(random.nextInt(100_000)).toString();
+        }
+    },
+
+    /**
+     * Random UUIDs: fixed length keys over a small alphabet with almost no shared prefixes.
+     */
+    UUIDS {
+        @Override
+        String key(Random random) {
+            return new UUID(random.nextLong(), random.nextLong()).toString();
+        }
+    },
+
+    /**
+     * Long keys sharing a prefix of tens of characters and differing only near their ends.
+     */
+    SHARED_PREFIX {
+        @Override
+        String key(Random random) {
+            return STR."/tenants/acme-corporation/regions/eu-west-1/buckets/archive/objects/\{random.nextInt(1 << 24)}";
+        }
+    };
+
+    /**
+     * @param random a source of randomness.
+     * @return a key of this dataset.
+     */
+    abstract String key(Random random);
+
+    /**
+     * @param count the number of keys.
+     * @param seed  a seed of keys.
+     * @return distinct keys of this dataset, always the same for the same arguments.
+     */
+    public List<String> keys(int count, long seed) {
+        Random random = new Random(seed);
+        Set<String> keys = new LinkedHashSet<>(count * 2);
+        while (keys.size() < count)
+            keys.add(key(random));
+
+        return List.copyOf(keys);
+    }
+}
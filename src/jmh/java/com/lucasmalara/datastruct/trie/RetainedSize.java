@@ -0,0 +1,54 @@
+package com.lucasmalara.datastruct.trie;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+
+/**
+ * <p>
+ * This class measures memory retained per key by a {@link Trie} of each {@link Dataset}:
+ * heap in use after a full collection with a built trie, less heap in use before it was built,
+ * divided by the number of keys. Keys themselves are allocated beforehand, since a trie does not keep them.
+ * </p>
+ * <p>
+ * Unlike {@code gc.alloc.rate.norm} of {@link TrieBenchmark#insert()}, which counts every byte allocated per key,
+ * it leaves out garbage, such as child arrays replaced as nodes grow.
+ * Collections are requested by {@link System#gc()}, so results should be compared only on the same JVM and collector.
+ * </p>
+ */
+public final class RetainedSize {
+
+    private static final int KEYS = 100_000;
+    private static final int COLLECTIONS = 5;
+
+    private RetainedSize() {
+    }
+
+    public static void main(String[] args) {
+        System.out.println("dataset,retained bytes per key");
+        for (Dataset dataset : Dataset.values()) {
+            String[] keys = dataset.keys(KEYS, 42).toArray(String[]::new);
+            long before = usedAfterCollection();
+            Trie trie = Trie.empty();
+            for (String key : keys)
+                trie.insert(key);
+
+            long after = usedAfterCollection();
+            Reference.reachabilityFence(trie);
+            System.out.printf("%s,%.1f%n", dataset, (after - before) / (double) keys.length);
+        }
+    }
+
+    /**
+     * @return the lowest heap in use after each of a few requested collections.
+     */
+    private static long usedAfterCollection() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < COLLECTIONS; i++) {
+            System.gc();
+            used = Math.min(used, memory.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+}
@@ -0,0 +1,61 @@
+package com.lucasmalara.datastruct.trie;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of writing and reading a {@link Trie} in its binary encoding,
+ * compared with rebuilding it by inserting every word.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private static final int KEYS = 100_000;
+
+    @Param({"WORDS", "URLS", "UUIDS", "SHARED_PREFIX"})
+    private Dataset dataset;
+
+    private String[] keys;
+    private Trie trie;
+    private byte[] bytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        keys = dataset.keys(KEYS, 42).toArray(String[]::new);
+        trie = Trie.empty();
+        for (String key : keys)
+            trie.insert(key);
+
+        bytes = write();
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes != null ? bytes.length : 1 << 20);
+        trie.writeTo(out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public Trie read() throws IOException {
+        return Trie.readFrom(new ByteArrayInputStream(bytes));
+    }
+
+    @Benchmark
+    public Trie reinsert() {
+        Trie rebuilt = Trie.empty();
+        for (String key : keys)
+            rebuilt.insert(key);
+
+        return rebuilt;
+    }
+}
@@ -0,0 +1,98 @@
+package com.lucasmalara.datastruct.trie;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the basic operations of {@link Trie} over datasets of different shapes.
+ * Run with the GC profiler, {@code gc.alloc.rate.norm} of {@link #insert()} is the number of bytes
+ * allocated per inserted key, including garbage; memory retained per key is measured by {@link RetainedSize}.
+ * Two forks are run, so a baseline reflects variance between JVMs as well as between iterations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class TrieBenchmark {
+
+    private static final int KEYS = 100_000;
+
+    @Param({"WORDS", "URLS", "UUIDS", "SHARED_PREFIX"})
+    private Dataset dataset;
+
+    private String[] keys;
+    private String[] misses;
+    private Trie trie;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = dataset.keys(KEYS, 42).toArray(String[]::new);
+        Set<String> stored = Set.of(keys);
+        Set<String> absent = new HashSet<>();
+        for (String key : dataset.keys(KEYS * 2, 7)) {
+            if (!stored.contains(key) && absent.add(key) && absent.size() == KEYS)
+                break;
+        }
+        misses = absent.toArray(String[]::new);
+        trie = Trie.empty();
+        for (String key : keys)
+            trie.insert(key);
+    }
+
+    /**
+     * The position of the next key of a benchmark thread, so keys are visited in a fixed cycle.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        private int next(int length) {
+            int index = next;
+            next = index + 1 == length ? 0 : index + 1;
+            return index;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEYS)
+    public Trie insert() {
+        Trie built = Trie.empty();
+        for (String key : keys)
+            built.insert(key);
+
+        return built;
+    }
+
+    @Benchmark
+    public boolean searchHit(Cursor cursor) {
+        return trie.search(keys[cursor.next(keys.length)]);
+    }
+
+    @Benchmark
+    public boolean searchMiss(Cursor cursor) {
+        return trie.search(misses[cursor.next(misses.length)]);
+    }
+
+    @Benchmark
+    public Optional<TrieNode> depthFirstSearch(Cursor cursor) {
+        return trie.depthFirstSearch(keys[cursor.next(keys.length)]);
+    }
+
+    /**
+     * Each key is inserted back right after it is erased, so the trie keeps its size during a run.
+     */
+    @Benchmark
+    public boolean eraseAndInsert(Cursor cursor) {
+        String key = keys[cursor.next(keys.length)];
+        boolean erased = trie.erase(key);
+        trie.insert(key);
+        return erased;
+    }
+}
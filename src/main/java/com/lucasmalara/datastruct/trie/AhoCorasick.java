@@ -0,0 +1,299 @@
+package com.lucasmalara.datastruct.trie;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable {@code Aho-Corasick} automaton finding all occurrences of words of a trie in a text, in a single pass.
+ * States are nodes of a trie extended with failure links: a failure link of a state leads to the state
+ * of the longest proper suffix of its characters that is also a prefix of some word.
+ * An output link of a state leads to the nearest state on its failure chain that ends a word,
+ * so every word ending at a position is reported without walking the whole chain.
+ *
+ * @implNote States are numbered in breadth-first order and stored in flat arrays:
+ * transitions of a state are a sorted range of {@code keys} and {@code targets} searched by bisection.
+ * The automaton is never modified after it is built, so it can be shared by any number of threads.
+ * @see Trie#toAhoCorasick()
+ */
+public class AhoCorasick {
+
+    /**
+     * The state of the root, with no characters matched.
+     */
+    private static final int ROOT = 0;
+
+    /**
+     * A value of output links for states with no word on their failure chain.
+     */
+    private static final int NONE = -1;
+
+    /**
+     * A size of a buffer used to read characters of a {@code Reader}.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Offsets of transitions of states into {@link #keys} and {@link #targets}, indexed by state.
+     * Transitions of state {@code s} occupy range {@code [offsets[s], offsets[s + 1])}.
+     */
+    private final int[] offsets;
+
+    /**
+     * Characters of transitions, ascending within a state.
+     */
+    private final char[] keys;
+
+    /**
+     * Target states of transitions.
+     */
+    private final int[] targets;
+
+    /**
+     * Failure links indexed by state.
+     */
+    private final int[] failures;
+
+    /**
+     * Output links indexed by state, {@link #NONE} if there is no word on a failure chain.
+     */
+    private final int[] outputs;
+
+    /**
+     * Words ended by states, {@code null} for states not ending a word.
+     */
+    private final String[] words;
+
+    /**
+     * @param offsets  offsets of transitions of states.
+     * @param keys     characters of transitions.
+     * @param targets  target states of transitions.
+     * @param failures failure links.
+     * @param outputs  output links.
+     * @param words    words ended by states.
+     */
+    private AhoCorasick(int[] offsets, char[] keys, int[] targets, int[] failures, int[] outputs, String[] words) {
+        this.offsets = offsets;
+        this.keys = keys;
+        this.targets = targets;
+        this.failures = failures;
+        this.outputs = outputs;
+        this.words = words;
+    }
+
+    /**
+     * This method compiles an automaton finding words of a given trie.
+     * A given trie is not modified.
+     *
+     * @param trie a trie to compile.
+     * @return an automaton finding words of a given trie.
+     */
+    static AhoCorasick of(Trie trie) {
+        // number states in breadth-first order, so each parent precedes its children
+        List<TrieNode> nodes = new ArrayList<>();
+        nodes.add(trie.root);
+        int transitions = 0;
+        for (int state = 0; state < nodes.size(); state++) {
+            TrieNode node = nodes.get(state);
+            for (int slot = node.nextSlot(-1); slot >= 0; slot = node.nextSlot(slot)) {
+                nodes.add(node.childAt(slot));
+                transitions++;
+            }
+        }
+
+        int states = nodes.size();
+        int[] offsets = new int[states + 1];
+        char[] keys = new char[transitions];
+        int[] targets = new int[transitions];
+        // the parent of each state, so only words of terminal states are spelled out, instead of every prefix
+        int[] parents = new int[states];
+        int next = 1;
+        for (int state = 0; state < states; state++) {
+            TrieNode node = nodes.get(state);
+            offsets[state] = next - 1;
+            for (int slot = node.nextSlot(-1); slot >= 0; slot = node.nextSlot(slot)) {
+                keys[next - 1] = node.keyAt(slot);
+                parents[next] = state;
+                targets[next - 1] = next++;
+            }
+        }
+        offsets[states] = transitions;
+
+        String[] words = new String[states];
+        StringBuilder word = new StringBuilder();
+        for (int state = 1; state < states; state++) {
+            if (!nodes.get(state).isTerminal())
+                continue;
+
+            word.setLength(0);
+            // the transition into a state is the only one targeting it, and targets are numbered like states
+            for (int current = state; current != ROOT; current = parents[current])
+                word.append(keys[current - 1]);
+
+            words[state] = word.reverse().toString();
+        }
+
+        int[] failures = new int[states];
+        int[] outputs = new int[states];
+        Arrays.fill(outputs, NONE);
+        AhoCorasick automaton = new AhoCorasick(offsets, keys, targets, failures, outputs, words);
+        // breadth-first order guarantees failure links of shallower states are already known
+        for (int state = 0; state < states; state++) {
+            for (int i = offsets[state]; i < offsets[state + 1]; i++) {
+                int child = targets[i];
+                int failure = state == ROOT ? ROOT : automaton.next(failures[state], keys[i]);
+                failures[child] = failure;
+                outputs[child] = words[failure] != null ? failure : outputs[failure];
+            }
+        }
+        return automaton;
+    }
+
+    /**
+     * This method finds all occurrences of words in a given text, in a single pass.
+     * Occurrences are reported in ascending order of their ends, and longer words before shorter ones
+     * ending at the same position. Overlapping occurrences are all reported.
+     * A {@link java.nio.CharBuffer} is scanned from its position to its limit.
+     *
+     * @param text    a text to scan.
+     * @param handler a callback receiving each occurrence.
+     */
+    public void scan(CharSequence text, MatchHandler handler) {
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+            report(state, i + 1, handler);
+        }
+    }
+
+    /**
+     * This method finds all occurrences of words in characters read from a given {@code Reader}, in a single pass,
+     * reading through a fixed-size buffer. A given {@code Reader} is read to its end but not closed.
+     *
+     * @param reader  a source of a text to scan.
+     * @param handler a callback receiving each occurrence.
+     * @throws IOException if reading from a given {@code Reader} fails.
+     * @see #scan(CharSequence, MatchHandler)
+     */
+    public void scan(Reader reader, MatchHandler handler) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        long position = 0;
+        int state = ROOT;
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                state = next(state, buffer[i]);
+                report(state, ++position, handler);
+            }
+        }
+    }
+
+    /**
+     * This method collects all occurrences of words in a given text.
+     *
+     * @param text a text to scan.
+     * @return occurrences in the order described by {@link #scan(CharSequence, MatchHandler)}.
+     */
+    public List<Match> findAll(CharSequence text) {
+        List<Match> matches = new ArrayList<>();
+        scan(text, (start, end, word) -> matches.add(new Match(start, end, word)));
+        return matches;
+    }
+
+    /**
+     * This method checks if any word occurs in a given text, stopping at the first occurrence.
+     *
+     * @param text a text to scan.
+     * @return {@code true} if a given text contains any word, {@code false} otherwise.
+     */
+    public boolean containsAny(CharSequence text) {
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+            if (words[state] != null || outputs[state] != NONE)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param state   a current state.
+     * @param end     an offset just past the last scanned character.
+     * @param handler a callback receiving occurrences ending at a given offset.
+     */
+    private void report(int state, long end, MatchHandler handler) {
+        if (words[state] == null)
+            state = outputs[state];
+
+        while (state != NONE) {
+            String word = words[state];
+            handler.onMatch(end - word.length(), end, word);
+            state = outputs[state];
+        }
+    }
+
+    /**
+     * @param state a current state.
+     * @param c     a scanned character.
+     * @return a state after scanning a given character, following failure links if needed.
+     */
+    private int next(int state, char c) {
+        while (true) {
+            int transition = transition(state, c);
+            if (transition >= 0)
+                return targets[transition];
+
+            if (state == ROOT)
+                return ROOT;
+
+            state = failures[state];
+        }
+    }
+
+    /**
+     * @param state a state to leave.
+     * @param c     a character of a transition.
+     * @return an index of a transition of a given state by a given character, a negative value if there is none.
+     */
+    private int transition(int state, char c) {
+        int low = offsets[state];
+        int high = offsets[state + 1] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char key = keys[middle];
+            if (key < c)
+                low = middle + 1;
+            else if (key > c)
+                high = middle - 1;
+            else
+                return middle;
+        }
+        return -1;
+    }
+
+    /**
+     * A callback receiving occurrences of words, so a scan allocates nothing per occurrence.
+     */
+    @FunctionalInterface
+    public interface MatchHandler {
+
+        /**
+         * @param start an offset of the first character of an occurrence.
+         * @param end   an offset just past the last character of an occurrence.
+         * @param word  a word that occurs.
+         */
+        void onMatch(long start, long end, String word);
+    }
+
+    /**
+     * An occurrence of a word in a text.
+     *
+     * @param start an offset of the first character of an occurrence.
+     * @param end   an offset just past the last character of an occurrence.
+     * @param word  a word that occurs.
+     */
+    public record Match(long start, long end, String word) {
+    }
+}
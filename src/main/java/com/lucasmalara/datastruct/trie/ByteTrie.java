@@ -0,0 +1,323 @@
+package com.lucasmalara.datastruct.trie;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Trie of byte sequences, such as keys encoded in UTF-8, with an edge for each of {@code 256} byte values.
+ * </p>
+ * <p>
+ * Keys are read in place from a {@code byte[]}, a {@code ByteBuffer} or a {@code MemorySegment},
+ * so keys arriving in a receive buffer are looked up without decoding them into a {@code String} or copying them.
+ * Bytes are compared as unsigned values, so keys encoded in UTF-8 are ordered as their code points.
+ * </p>
+ *
+ * @implNote Nodes are {@link TrieNode}s with a byte {@code b} stored as the character {@code (char) (b & 0xFF)},
+ * so a node with a wide fan-out keeps its children in a dense table of at most {@code 256} slots.
+ * Cores of operations read a key through {@link #byteAt(byte[], ByteBuffer, MemorySegment, long, long)},
+ * so each source is traversed by the same code without allocation.
+ * An empty key is a valid key, held by the root.
+ * This trie is not thread-safe.
+ * @see Trie
+ */
+public class ByteTrie {
+
+    /**
+     * The root node to iterate through the trie.
+     */
+    private final TrieNode root = new TrieNode();
+
+    /**
+     * This constructor restricts instantiation of a trie.
+     *
+     * @see #empty()
+     */
+    private ByteTrie() {
+    }
+
+    /**
+     * @return an empty byte trie.
+     */
+    public static ByteTrie empty() {
+        return new ByteTrie();
+    }
+
+    /**
+     * @return the number of keys in this trie.
+     */
+    public int size() {
+        return root.count();
+    }
+
+    /**
+     * @return {@code true} if this trie does not contain any key, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return root.count() == 0;
+    }
+
+    /**
+     * This method inserts a given key to this trie.
+     *
+     * @param key a key to insert in this trie.
+     * @return {@code true} if a given key was not in this trie, {@code false} otherwise.
+     */
+    public boolean insert(byte[] key) {
+        return insert(key, 0, key.length);
+    }
+
+    /**
+     * This method inserts bytes of a given range of a given array to this trie, reading them in place.
+     *
+     * @param key    an array containing a key to insert in this trie.
+     * @param offset an index of the first byte of a key.
+     * @param length the number of bytes of a key.
+     * @return {@code true} if a given key was not in this trie, {@code false} otherwise.
+     * @throws IndexOutOfBoundsException if a given range is out of bounds of a given array.
+     */
+    public boolean insert(byte[] key, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, key.length);
+        return insert(key, null, null, offset, length);
+    }
+
+    /**
+     * This method inserts remaining bytes of a given buffer to this trie, reading them in place.
+     * A position of a given buffer is not changed.
+     *
+     * @param key a buffer whose bytes between its position and its limit are a key to insert in this trie.
+     * @return {@code true} if a given key was not in this trie, {@code false} otherwise.
+     */
+    public boolean insert(ByteBuffer key) {
+        return insert(null, key, null, key.position(), key.remaining());
+    }
+
+    /**
+     * This method inserts bytes of a given range of a given segment to this trie, reading them in place.
+     *
+     * @param key    a segment containing a key to insert in this trie.
+     * @param offset an offset of the first byte of a key.
+     * @param length the number of bytes of a key.
+     * @return {@code true} if a given key was not in this trie, {@code false} otherwise.
+     * @throws IndexOutOfBoundsException if a given range is out of bounds of a given segment.
+     */
+    public boolean insert(MemorySegment key, long offset, long length) {
+        Objects.checkFromIndexSize(offset, length, key.byteSize());
+        return insert(null, null, key, offset, length);
+    }
+
+    /**
+     * This method searches for a given key in this trie.
+     *
+     * @param key a key to search for.
+     * @return {@code true} if this trie contains a given key, {@code false} otherwise.
+     */
+    public boolean search(byte[] key) {
+        return search(key, 0, key.length);
+    }
+
+    /**
+     * This method searches for bytes of a given range of a given array in this trie, reading them in place.
+     *
+     * @param key    an array containing a key to search for.
+     * @param offset an index of the first byte of a key.
+     * @param length the number of bytes of a key.
+     * @return {@code true} if this trie contains a given key, {@code false} otherwise.
+     * @throws IndexOutOfBoundsException if a given range is out of bounds of a given array.
+     */
+    public boolean search(byte[] key, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, key.length);
+        return search(key, null, null, offset, length);
+    }
+
+    /**
+     * This method searches for remaining bytes of a given buffer in this trie, reading them in place.
+     * A position of a given buffer is not changed.
+     *
+     * @param key a buffer whose bytes between its position and its limit are a key to search for.
+     * @return {@code true} if this trie contains a given key, {@code false} otherwise.
+     */
+    public boolean search(ByteBuffer key) {
+        return search(null, key, null, key.position(), key.remaining());
+    }
+
+    /**
+     * This method searches for bytes of a given range of a given segment in this trie, reading them in place.
+     *
+     * @param key    a segment containing a key to search for.
+     * @param offset an offset of the first byte of a key.
+     * @param length the number of bytes of a key.
+     * @return {@code true} if this trie contains a given key, {@code false} otherwise.
+     * @throws IndexOutOfBoundsException if a given range is out of bounds of a given segment.
+     */
+    public boolean search(MemorySegment key, long offset, long length) {
+        Objects.checkFromIndexSize(offset, length, key.byteSize());
+        return search(null, null, key, offset, length);
+    }
+
+    /**
+     * This method erases a given key from this trie, removing nodes that no longer lead to any key.
+     *
+     * @param key a key to erase from this trie.
+     * @return {@code true} if a given key was erased, {@code false} if it was not in this trie.
+     */
+    public boolean erase(byte[] key) {
+        return erase(key, 0, key.length);
+    }
+
+    /**
+     * This method erases bytes of a given range of a given array from this trie, reading them in place.
+     *
+     * @param key    an array containing a key to erase from this trie.
+     * @param offset an index of the first byte of a key.
+     * @param length the number of bytes of a key.
+     * @return {@code true} if a given key was erased, {@code false} if it was not in this trie.
+     * @throws IndexOutOfBoundsException if a given range is out of bounds of a given array.
+     */
+    public boolean erase(byte[] key, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, key.length);
+        return erase(key, null, null, offset, length);
+    }
+
+    /**
+     * This method erases remaining bytes of a given buffer from this trie, reading them in place.
+     * A position of a given buffer is not changed.
+     *
+     * @param key a buffer whose bytes between its position and its limit are a key to erase from this trie.
+     * @return {@code true} if a given key was erased, {@code false} if it was not in this trie.
+     */
+    public boolean erase(ByteBuffer key) {
+        return erase(null, key, null, key.position(), key.remaining());
+    }
+
+    /**
+     * This method erases bytes of a given range of a given segment from this trie, reading them in place.
+     *
+     * @param key    a segment containing a key to erase from this trie.
+     * @param offset an offset of the first byte of a key.
+     * @param length the number of bytes of a key.
+     * @return {@code true} if a given key was erased, {@code false} if it was not in this trie.
+     * @throws IndexOutOfBoundsException if a given range is out of bounds of a given segment.
+     */
+    public boolean erase(MemorySegment key, long offset, long length) {
+        Objects.checkFromIndexSize(offset, length, key.byteSize());
+        return erase(null, null, key, offset, length);
+    }
+
+    /**
+     * @param array   an array containing a key, {@code null} if a key is given by another source.
+     * @param buffer  a buffer containing a key, {@code null} if a key is given by another source.
+     * @param segment a segment containing a key, {@code null} if a key is given by another source.
+     * @param offset  an index of the first byte of a key in its source.
+     * @param length  the number of bytes of a key.
+     * @return {@code true} if a given key was not in this trie, {@code false} otherwise.
+     */
+    private boolean insert(byte[] array, ByteBuffer buffer, MemorySegment segment, long offset, long length) {
+        TrieNode current = root;
+        for (long i = 0; i < length; i++)
+            current = current.nearestChild(byteAt(array, buffer, segment, offset, i));
+
+        if (current.isTerminal())
+            return false;
+
+        current.setTerminal(true);
+        addCounts(array, buffer, segment, offset, length, 1);
+        return true;
+    }
+
+    /**
+     * @param array   an array containing a key, {@code null} if a key is given by another source.
+     * @param buffer  a buffer containing a key, {@code null} if a key is given by another source.
+     * @param segment a segment containing a key, {@code null} if a key is given by another source.
+     * @param offset  an index of the first byte of a key in its source.
+     * @param length  the number of bytes of a key.
+     * @return {@code true} if this trie contains a given key, {@code false} otherwise.
+     */
+    private boolean search(byte[] array, ByteBuffer buffer, MemorySegment segment, long offset, long length) {
+        TrieNode current = root;
+        for (long i = 0; i < length && current != null; i++)
+            current = current.getChild(byteAt(array, buffer, segment, offset, i));
+
+        return current != null && current.isTerminal();
+    }
+
+    /**
+     * This method erases a key in one walk, which remembers the deepest node that has to be kept:
+     * the root, a node ending another key or a node with more than one child.
+     * Its child on the path of a key is removed if the node of a key is left as a leaf.
+     *
+     * @param array   an array containing a key, {@code null} if a key is given by another source.
+     * @param buffer  a buffer containing a key, {@code null} if a key is given by another source.
+     * @param segment a segment containing a key, {@code null} if a key is given by another source.
+     * @param offset  an index of the first byte of a key in its source.
+     * @param length  the number of bytes of a key.
+     * @return {@code true} if a given key was erased, {@code false} if it was not in this trie.
+     */
+    private boolean erase(byte[] array, ByteBuffer buffer, MemorySegment segment, long offset, long length) {
+        TrieNode current = root;
+        TrieNode kept = root;
+        char removed = 0;
+        for (long i = 0; i < length; i++) {
+            char b = byteAt(array, buffer, segment, offset, i);
+            if (i == 0 || current.isTerminal() || current.childCount() > 1) {
+                kept = current;
+                removed = b;
+            }
+            current = current.getChild(b);
+            if (current == null)
+                return false;
+        }
+        if (!current.isTerminal())
+            return false;
+
+        current.setTerminal(false);
+        addCounts(array, buffer, segment, offset, length, -1);
+        if (current.isLeaf() && current != root)
+            kept.removeChild(removed);
+
+        return true;
+    }
+
+    /**
+     * @param array   an array containing a key, {@code null} if a key is given by another source.
+     * @param buffer  a buffer containing a key, {@code null} if a key is given by another source.
+     * @param segment a segment containing a key, {@code null} if a key is given by another source.
+     * @param offset  an index of the first byte of a key in its source.
+     * @param length  the number of bytes of a key, whose nodes exist.
+     * @param delta   a change of the number of keys.
+     */
+    private void addCounts(byte[] array, ByteBuffer buffer, MemorySegment segment, long offset, long length,
+                           int delta) {
+        TrieNode current = root;
+        current.addCount(delta);
+        for (long i = 0; i < length; i++) {
+            current = current.getChild(byteAt(array, buffer, segment, offset, i));
+            current.addCount(delta);
+        }
+    }
+
+    /**
+     * This method reads a byte of a key given by one of its sources,
+     * so that all of them are traversed by the same code without copying bytes.
+     *
+     * @param array   an array containing a key, {@code null} if a key is given by another source.
+     * @param buffer  a buffer containing a key, {@code null} if a key is given by another source.
+     * @param segment a segment containing a key, {@code null} if a key is given by another source.
+     * @param offset  an index of the first byte of a key in its source.
+     * @param i       an index of a byte of a key.
+     * @return an ith byte of a key as an unsigned value, the character of its edge.
+     */
+    private static char byteAt(byte[] array, ByteBuffer buffer, MemorySegment segment, long offset, long i) {
+        byte b;
+        if (array != null)
+            b = array[(int) (offset + i)];
+        else if (buffer != null)
+            b = buffer.get((int) (offset + i));
+        else
+            b = segment.get(ValueLayout.JAVA_BYTE, offset + i);
+
+        return (char) (b & 0xFF);
+    }
+}
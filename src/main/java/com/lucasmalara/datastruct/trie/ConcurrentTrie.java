@@ -0,0 +1,704 @@
+package com.lucasmalara.datastruct.trie;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Thread-safe, lock-free variant of a {@link Trie}, modeled after a concurrent hash trie ({@code Ctrie}).
+ *
+ * @implNote Every node is an indirection node holding a reference to an immutable main node,
+ * which contains the terminal mark and the children of that node.
+ * A modification copies one main node and publishes it with a single {@code compare-and-set}
+ * on the indirection node, so:
+ * <ul>
+ *     <li>{@link #search(String)} is wait-free: it only reads, once per character;</li>
+ *     <li>{@link #insert(String)} and {@link #erase(String)} are lock-free:
+ *     a failed {@code compare-and-set} means that another thread made progress.</li>
+ * </ul>
+ * A node left without children and without a terminal mark by an erasure is entombed:
+ * its main node is replaced with a tomb that is never replaced again.
+ * A thread that runs into a tomb removes it from the parent and restarts,
+ * so an insertion can never be published into a node detached from this trie.
+ * <br>
+ * Every indirection node belongs to a generation.
+ * {@link #snapshot()} replaces the root with a copy in a new generation,
+ * and writers copy lazily every indirection node of an older generation they pass through.
+ * A main node is published with a generation-compare-and-set ({@code GCAS}):
+ * it is committed only if the root still belongs to the generation of its indirection node,
+ * so nodes shared with a snapshot are never modified after that snapshot was taken.
+ * @see Trie
+ */
+public class ConcurrentTrie {
+
+    private static final VarHandle ROOT;
+
+    static {
+        try {
+            ROOT = MethodHandles.lookup().findVarHandle(ConcurrentTrie.class, "root", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * The root node to iterate through a whole trie,
+     * or a descriptor of a pending replacement of the root by a snapshot.
+     *
+     * @implNote Root node is never entombed nor marked as a terminal.
+     */
+    private volatile Object root;
+
+    /**
+     * {@code Boolean} value determining if this trie is a snapshot that rejects modifications.
+     */
+    private final boolean readOnly;
+
+    /**
+     * @param root     the root node.
+     * @param readOnly a value determining whether this trie rejects modifications.
+     */
+    private ConcurrentTrie(INode root, boolean readOnly) {
+        this.root = root;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * @return an empty concurrent trie.
+     */
+    public static ConcurrentTrie empty() {
+        return new ConcurrentTrie(new INode(CNode.empty(), new Generation()), false);
+    }
+
+    /**
+     * This method insert a given {@code String} to this trie.
+     * Missing nodes are published at once, as a chain hanging from the deepest existing node.
+     *
+     * @param word a {@code String} to insert in this trie.
+     * @throws UnsupportedOperationException if this trie is a snapshot.
+     */
+    public void insert(String word) {
+        requireWritable();
+        if (word == null || word.isEmpty())
+            return;
+
+        while (!tryInsert(readRoot(false), word)) {
+            // restart from the root after a tomb, a contention or a snapshot was encountered
+        }
+    }
+
+    /**
+     * This method checks if trie is empty.
+     *
+     * @return {@code true} if no word can be reached from the root, {@code false} otherwise.
+     * @implNote A root without children answers at once. Otherwise the first word is usually found
+     * along the lowest path, since erased leaves are removed from their parents.
+     */
+    public boolean isEmpty() {
+        INode root = stableRoot();
+        CNode main = read(root);
+        if (main.terminal)
+            return false;
+        if (main.isLeaf())
+            return true;
+
+        return visitWords(root, new StringBuilder(), _ -> false);
+    }
+
+    /**
+     * This method search through this trie to find if a given {@code String} is in this trie.
+     * On a trie that is not a snapshot it never waits for nor helps other threads.
+     *
+     * @param word a {@code String} to search for in this trie.
+     * @return {@code true} if this trie contains a given {@code String}, {@code false} otherwise.
+     */
+    public boolean search(String word) {
+        if (word == null)
+            return false;
+
+        INode current = stableRoot();
+        for (int i = 0; i < word.length(); i++) {
+            current = read(current).get(word.charAt(i));
+            if (current == null)
+                return false;
+        }
+        return read(current).terminal;
+    }
+
+    /**
+     * This method erases a given word stored in this trie.
+     * A node ending that word is no longer marked as terminal, or is entombed if it is a leaf.
+     * Entombed nodes are then removed from their parents bottom-up.
+     *
+     * @param word a word to erase from this trie.
+     * @return {@code true} if word was erased, {@code false} otherwise.
+     * @throws UnsupportedOperationException if this trie is a snapshot.
+     */
+    public boolean erase(String word) {
+        requireWritable();
+        if (word == null || word.isEmpty())
+            return false;
+
+        INode[] path = new INode[word.length() + 1];
+        while (true) {
+            Boolean erased = tryErase(readRoot(false), word, path);
+            if (erased != null)
+                return erased;
+        }
+    }
+
+    /**
+     * This method takes a point-in-time, read-only view of this trie in constant time.
+     * Nothing is copied up front: writers of this trie copy nodes shared with the snapshot
+     * the first time they modify them, so the snapshot is not affected by later modifications.
+     *
+     * @return a read-only snapshot of this trie.
+     */
+    public ConcurrentTrie snapshot() {
+        if (readOnly)
+            return this;
+
+        while (true) {
+            INode current = readRoot(false);
+            CNode main = gcasRead(current);
+            if (rdcssRoot(current, main, current.copyToGeneration(new Generation(), this)))
+                return new ConcurrentTrie(current, true);
+        }
+    }
+
+    /**
+     * @return {@code true} if this trie is a snapshot that rejects modifications, {@code false} otherwise.
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * This method performs a given action for each word of this trie in ascending order.
+     * Words are read from a snapshot, so writers are neither blocked nor observed midway.
+     *
+     * @param action an action to perform for each word.
+     */
+    public void forEachWord(Consumer<? super String> action) {
+        ConcurrentTrie view = snapshot();
+        view.visitWords(view.stableRoot(), new StringBuilder(), word -> {
+            action.accept(word);
+            return true;
+        });
+    }
+
+    /**
+     * This method lists words of this trie starting with a given prefix, in ascending order.
+     * Like {@link #search(String)}, it only reads, so writers are neither blocked nor helped;
+     * words inserted or erased during a traversal may or may not be listed.
+     *
+     * @param prefix a prefix of words to list; an empty {@code String} lists all words.
+     * @param limit  the maximum number of words to list.
+     * @return at most {@code limit} first words starting with a given prefix,
+     * an empty list if a given prefix is {@code null}.
+     * @throws IllegalArgumentException if a given limit is negative.
+     * @see #forEachWord(Consumer)
+     */
+    public List<String> wordsWithPrefix(String prefix, int limit) {
+        if (limit < 0)
+            throw new IllegalArgumentException(STR."Limit must not be negative: \{limit}");
+
+        List<String> words = new ArrayList<>();
+        if (prefix == null || limit == 0)
+            return words;
+
+        INode current = stableRoot();
+        for (int i = 0; i < prefix.length() && current != null; i++)
+            current = read(current).get(prefix.charAt(i));
+
+        if (current != null) {
+            visitWords(current, new StringBuilder(prefix), word -> {
+                words.add(word);
+                return words.size() < limit;
+            });
+        }
+
+        return words;
+    }
+
+    /**
+     * This method visits words below a given node in ascending order, until a given action stops it.
+     *
+     * @param start  a node to traverse from.
+     * @param prefix characters associated with nodes from the root to a given node.
+     * @param action an action to perform for each word, returning {@code false} to stop the traversal.
+     * @return {@code true} if every word was visited, {@code false} if a given action stopped the traversal.
+     * @implNote The traversal is a depth-first search with an explicit stack of main nodes,
+     * each with the index of its next child to visit, so long words do not deepen recursion.
+     */
+    private boolean visitWords(INode start, StringBuilder prefix, Predicate<String> action) {
+        CNode main = read(start);
+        if (main.terminal && !action.test(prefix.toString()))
+            return false;
+
+        CNode[] mains = new CNode[16];
+        int[] nextIndices = new int[16];
+        mains[0] = main;
+        int depth = 1;
+        while (depth > 0) {
+            int top = depth - 1;
+            CNode current = mains[top];
+            int i = nextIndices[top]++;
+            if (i == current.keys.length) {
+                mains[--depth] = null;
+                if (top > 0)
+                    prefix.setLength(prefix.length() - 1);
+
+                continue;
+            }
+
+            CNode child = read(current.children[i]);
+            prefix.append(current.keys[i]);
+            if (child.terminal && !action.test(prefix.toString()))
+                return false;
+
+            if (depth == mains.length) {
+                mains = Arrays.copyOf(mains, depth * 2);
+                nextIndices = Arrays.copyOf(nextIndices, depth * 2);
+            }
+            mains[depth] = child;
+            nextIndices[depth++] = 0;
+        }
+        return true;
+    }
+
+    /**
+     * @param root a root to start from.
+     * @param word a {@code String} to insert.
+     * @return {@code true} if a given {@code String} was inserted or was already present,
+     * {@code false} if an operation has to be restarted.
+     */
+    private boolean tryInsert(INode root, String word) {
+        Generation generation = root.generation;
+        INode parent = null;
+        INode current = root;
+        int i = 0;
+        while (true) {
+            CNode main = gcasRead(current);
+            if (main.tomb) {
+                clean(root, parent, word.charAt(i - 1), current);
+                return false;
+            }
+
+            if (i == word.length())
+                return main.terminal || gcas(current, main, main.withTerminal(true));
+
+            char c = word.charAt(i);
+            INode child = main.get(c);
+            if (child == null)
+                return gcas(current, main, main.inserted(c, chain(word, i + 1, generation)));
+
+            if (child.generation != generation) {
+                if (!gcas(current, main, main.renewed(generation, this)))
+                    return false;
+
+                continue;
+            }
+
+            parent = current;
+            current = child;
+            i++;
+        }
+    }
+
+    /**
+     * @param root a root to start from.
+     * @param word a {@code String} to erase.
+     * @param path an array to record visited nodes in.
+     * @return {@code true} if a given {@code String} was erased, {@code false} if it was not present,
+     * {@code null} if an operation has to be restarted.
+     */
+    private Boolean tryErase(INode root, String word, INode[] path) {
+        Generation generation = root.generation;
+        path[0] = root;
+        int i = 0;
+        while (i < word.length()) {
+            CNode main = gcasRead(path[i]);
+            if (main.tomb) {
+                clean(root, path[i - 1], word.charAt(i - 1), path[i]);
+                return null;
+            }
+
+            INode child = main.get(word.charAt(i));
+            if (child == null)
+                return false;
+
+            if (child.generation != generation) {
+                if (!gcas(path[i], main, main.renewed(generation, this)))
+                    return null;
+
+                continue;
+            }
+            path[++i] = child;
+        }
+
+        int last = word.length();
+        CNode main = gcasRead(path[last]);
+        if (main.tomb) {
+            clean(root, path[last - 1], word.charAt(last - 1), path[last]);
+            return null;
+        }
+        if (!main.terminal)
+            return false;
+
+        CNode updated = main.isLeaf() ? CNode.tomb() : main.withTerminal(false);
+        if (!gcas(path[last], main, updated))
+            return null;
+
+        for (i = last; updated.tomb && i > 0; i--) {
+            if (!clean(root, path[i - 1], word.charAt(i - 1), path[i]))
+                break;
+        }
+        return true;
+    }
+
+    /**
+     * This method removes an entombed node from its parent.
+     * The parent is entombed as well if it is left without children and without a terminal mark.
+     * It gives up once a snapshot was taken; a tomb left behind is removed by the next writer passing by.
+     *
+     * @param root   a root an operation started from.
+     * @param parent a parent of an entombed node.
+     * @param c      a character associated with an entombed node.
+     * @param child  an entombed node.
+     * @return {@code true} if the parent is entombed afterwards, {@code false} otherwise.
+     */
+    private boolean clean(INode root, INode parent, char c, INode child) {
+        while (true) {
+            CNode main = gcasRead(parent);
+            if (main.tomb)
+                return true;
+            if (main.get(c) != child)
+                return false;
+
+            CNode contracted = main.removed(c);
+            boolean entomb = parent != root && contracted.isLeaf() && !contracted.terminal;
+            if (gcas(parent, main, entomb ? CNode.tomb() : contracted))
+                return entomb;
+            if (readRoot(false) != root)
+                return false;
+        }
+    }
+
+    /**
+     * @param word       a {@code String} to insert.
+     * @param from       an index of a first character of a given {@code String} not yet in this trie.
+     * @param generation a generation of new nodes.
+     * @return a new node associated with a character preceding a given index,
+     * linked to new nodes for the remaining characters.
+     */
+    private static INode chain(String word, int from, Generation generation) {
+        INode node = new INode(CNode.empty().withTerminal(true), generation);
+        for (int i = word.length() - 1; i >= from; i--)
+            node = new INode(CNode.empty().inserted(word.charAt(i), node), generation);
+
+        return node;
+    }
+
+    /**
+     * @throws UnsupportedOperationException if this trie is a snapshot.
+     */
+    private void requireWritable() {
+        if (readOnly)
+            throw new UnsupportedOperationException("Snapshot of a concurrent trie is read-only");
+    }
+
+    /**
+     * @return the root node, or the root being replaced by a pending snapshot,
+     * which holds the same main node until the snapshot completes.
+     */
+    private INode stableRoot() {
+        Object current = root;
+        return current instanceof INode node ? node : ((Descriptor) current).expectedRoot;
+    }
+
+    /**
+     * This method reads a main node of a given node for a lookup.
+     * A snapshot completes pending modifications, so that all its readers agree on them.
+     * Otherwise, a pending modification is not yet visible, so the previous main node is returned.
+     *
+     * @param node a node to read.
+     * @return a committed main node of a given node.
+     */
+    private CNode read(INode node) {
+        if (readOnly)
+            return gcasRead(node);
+
+        CNode main = node.main;
+        Object previous = main.previous;
+        if (previous == null)
+            return main;
+
+        return previous instanceof Failed failed ? failed.previous : (CNode) previous;
+    }
+
+    /**
+     * @param node a node to read.
+     * @return a committed main node of a given node, completing a pending modification if needed.
+     */
+    private CNode gcasRead(INode node) {
+        CNode main = node.main;
+        return main.previous == null ? main : gcasComplete(node, main);
+    }
+
+    /**
+     * This method publishes a given main node if the root still belongs to the generation of a given node.
+     *
+     * @param node     a node to modify.
+     * @param expected a main node expected in a given node.
+     * @param updated  a main node to publish.
+     * @return {@code true} if a given main node was committed, {@code false} otherwise.
+     */
+    private boolean gcas(INode node, CNode expected, CNode updated) {
+        updated.previous = expected;
+        if (node.cas(expected, updated)) {
+            gcasComplete(node, updated);
+            return updated.previous == null;
+        }
+        return false;
+    }
+
+    /**
+     * This method commits a pending main node if the root belongs to the generation of a given node,
+     * or rolls it back to the previous main node otherwise.
+     *
+     * @param node a node to complete.
+     * @param main a main node of a given node.
+     * @return a committed main node of a given node.
+     */
+    private CNode gcasComplete(INode node, CNode main) {
+        while (true) {
+            Object previous = main.previous;
+            INode current = readRoot(true);
+            if (previous == null)
+                return main;
+
+            if (previous instanceof Failed failed) {
+                if (node.cas(main, failed.previous))
+                    return failed.previous;
+
+                main = node.main;
+            } else if (current.generation == node.generation && !readOnly) {
+                if (main.casPrevious(previous, null))
+                    return main;
+            } else {
+                main.casPrevious(previous, new Failed((CNode) previous));
+                main = node.main;
+            }
+        }
+    }
+
+    /**
+     * @param abort a value determining whether a pending snapshot is rolled back or completed.
+     * @return the root node.
+     */
+    private INode readRoot(boolean abort) {
+        Object current = root;
+        return current instanceof INode node ? node : rdcssComplete(abort);
+    }
+
+    /**
+     * This method replaces the root with a given node
+     * if the current root still holds a given main node (restricted double-compare single-swap).
+     *
+     * @param expectedRoot the current root.
+     * @param expectedMain a main node expected in the current root.
+     * @param updated      a new root.
+     * @return {@code true} if the root was replaced, {@code false} otherwise.
+     */
+    private boolean rdcssRoot(INode expectedRoot, CNode expectedMain, INode updated) {
+        Descriptor descriptor = new Descriptor(expectedRoot, expectedMain, updated);
+        if (ROOT.compareAndSet(this, expectedRoot, descriptor)) {
+            rdcssComplete(false);
+            return descriptor.committed;
+        }
+        return false;
+    }
+
+    /**
+     * @param abort a value determining whether a pending snapshot is rolled back or completed.
+     * @return the root node after a pending replacement was finished.
+     */
+    private INode rdcssComplete(boolean abort) {
+        while (true) {
+            Object current = root;
+            if (current instanceof INode node)
+                return node;
+
+            Descriptor descriptor = (Descriptor) current;
+            if (abort || gcasRead(descriptor.expectedRoot) != descriptor.expectedMain) {
+                if (ROOT.compareAndSet(this, descriptor, descriptor.expectedRoot))
+                    return descriptor.expectedRoot;
+            } else if (ROOT.compareAndSet(this, descriptor, descriptor.updated)) {
+                descriptor.committed = true;
+                return descriptor.updated;
+            }
+        }
+    }
+
+    /**
+     * This class is an identity token of a generation of nodes.
+     */
+    private static final class Generation {
+    }
+
+    /**
+     * This class describes a pending replacement of the root by a snapshot.
+     */
+    private static final class Descriptor {
+
+        private final INode expectedRoot;
+        private final CNode expectedMain;
+        private final INode updated;
+        private volatile boolean committed;
+
+        private Descriptor(INode expectedRoot, CNode expectedMain, INode updated) {
+            this.expectedRoot = expectedRoot;
+            this.expectedMain = expectedMain;
+            this.updated = updated;
+        }
+    }
+
+    /**
+     * This class marks a main node whose publication failed and has to be rolled back.
+     *
+     * @param previous a main node to roll back to.
+     */
+    private record Failed(CNode previous) {
+    }
+
+    /**
+     * This class represents an indirection node: a mutable reference to an immutable main node.
+     */
+    private static final class INode {
+
+        private static final VarHandle MAIN;
+
+        static {
+            try {
+                MAIN = MethodHandles.lookup().findVarHandle(INode.class, "main", CNode.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private volatile CNode main;
+        private final Generation generation;
+
+        private INode(CNode main, Generation generation) {
+            this.main = main;
+            this.generation = generation;
+        }
+
+        private boolean cas(CNode expected, CNode updated) {
+            return MAIN.compareAndSet(this, expected, updated);
+        }
+
+        private INode copyToGeneration(Generation generation, ConcurrentTrie trie) {
+            return new INode(trie.gcasRead(this), generation);
+        }
+    }
+
+    /**
+     * This class represents an immutable main node: a terminal mark and children sorted by character.
+     */
+    private static final class CNode {
+
+        private static final VarHandle PREVIOUS;
+
+        static {
+            try {
+                PREVIOUS = MethodHandles.lookup().findVarHandle(CNode.class, "previous", Object.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final INode[] NO_CHILDREN = new INode[0];
+
+        private final char[] keys;
+        private final INode[] children;
+        private final boolean terminal;
+        private final boolean tomb;
+
+        /**
+         * A main node replaced by this one while it is pending, a {@link Failed} marker when it is rolled back,
+         * {@code null} once it is committed.
+         */
+        private volatile Object previous;
+
+        private CNode(char[] keys, INode[] children, boolean terminal, boolean tomb) {
+            this.keys = keys;
+            this.children = children;
+            this.terminal = terminal;
+            this.tomb = tomb;
+        }
+
+        private static CNode empty() {
+            return new CNode(NO_KEYS, NO_CHILDREN, false, false);
+        }
+
+        private static CNode tomb() {
+            return new CNode(NO_KEYS, NO_CHILDREN, false, true);
+        }
+
+        private boolean casPrevious(Object expected, Object updated) {
+            return PREVIOUS.compareAndSet(this, expected, updated);
+        }
+
+        private boolean isLeaf() {
+            return keys.length == 0;
+        }
+
+        private INode get(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        private CNode withTerminal(boolean terminal) {
+            return new CNode(keys, children, terminal, false);
+        }
+
+        private CNode renewed(Generation generation, ConcurrentTrie trie) {
+            INode[] renewed = new INode[children.length];
+            for (int i = 0; i < children.length; i++)
+                renewed[i] = children[i].copyToGeneration(generation, trie);
+
+            return new CNode(keys, renewed, terminal, tomb);
+        }
+
+        private CNode inserted(char c, INode child) {
+            int at = -Arrays.binarySearch(keys, c) - 1;
+            char[] newKeys = new char[keys.length + 1];
+            INode[] newChildren = new INode[keys.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            newKeys[at] = c;
+            newChildren[at] = child;
+            System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, keys.length - at);
+            return new CNode(newKeys, newChildren, terminal, false);
+        }
+
+        private CNode removed(char c) {
+            int at = Arrays.binarySearch(keys, c);
+            char[] newKeys = new char[keys.length - 1];
+            INode[] newChildren = new INode[keys.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            System.arraycopy(keys, at + 1, newKeys, at, newKeys.length - at);
+            System.arraycopy(children, at + 1, newChildren, at, newKeys.length - at);
+            return new CNode(newKeys, newChildren, terminal, false);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.lucasmalara.datastruct.trie;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe {@link TrieMetrics} counting operations, their durations and depths, and nodes of a trie.
+ * One instance may be shared by many tries to aggregate their metrics.
+ */
+public class CountingTrieMetrics implements TrieMetrics {
+
+    /**
+     * The deepest depth counted separately, deeper operations are counted together with it.
+     */
+    public static final int MAX_DEPTH = 64;
+
+    /**
+     * An estimated number of bytes retained per node with compressed references:
+     * a node with its fields, and its share of the child arrays of its parent holding a reference and a character.
+     */
+    static final int BYTES_PER_NODE = 64;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final LongAdder[] counts = adders(OPERATIONS.length);
+    private final LongAdder[] nanos = adders(OPERATIONS.length);
+    private final AtomicLongArray depths = new AtomicLongArray(MAX_DEPTH + 1);
+    private final LongAdder nodesCreated = new LongAdder();
+    private final LongAdder nodesRemoved = new LongAdder();
+
+    @Override
+    public void onOperation(Operation operation, int depth, long nanos) {
+        counts[operation.ordinal()].increment();
+        this.nanos[operation.ordinal()].add(nanos);
+        depths.incrementAndGet(Math.min(depth, MAX_DEPTH));
+    }
+
+    @Override
+    public void onNodesCreated(int count) {
+        nodesCreated.add(count);
+    }
+
+    @Override
+    public void onNodesRemoved(int count) {
+        nodesRemoved.add(count);
+    }
+
+    /**
+     * @param operation a kind of an operation.
+     * @return the number of operations of a given kind.
+     */
+    public long count(Operation operation) {
+        return counts[operation.ordinal()].sum();
+    }
+
+    /**
+     * @param operation a kind of an operation.
+     * @return the total duration of operations of a given kind in nanoseconds.
+     */
+    public long totalNanos(Operation operation) {
+        return nanos[operation.ordinal()].sum();
+    }
+
+    /**
+     * @return the numbers of operations indexed by their depth,
+     * the last element counting operations of depth {@link #MAX_DEPTH} or deeper.
+     */
+    public long[] depthHistogram() {
+        long[] histogram = new long[depths.length()];
+        for (int i = 0; i < histogram.length; i++)
+            histogram[i] = depths.get(i);
+
+        return histogram;
+    }
+
+    /**
+     * @return the number of created nodes, including nodes of a trie when this listener was set.
+     */
+    public long nodesCreated() {
+        return nodesCreated.sum();
+    }
+
+    /**
+     * @return the number of removed nodes.
+     */
+    public long nodesRemoved() {
+        return nodesRemoved.sum();
+    }
+
+    /**
+     * @return the number of nodes currently in instrumented tries, not counting their roots.
+     */
+    public long liveNodes() {
+        return nodesCreated() - nodesRemoved();
+    }
+
+    /**
+     * @return an estimated number of bytes retained by nodes currently in instrumented tries.
+     * @implNote It is an approximation: it assumes compressed references
+     * and ignores the sorted and dense child arrays of nodes with many children.
+     */
+    public long estimatedRetainedBytes() {
+        return liveNodes() * BYTES_PER_NODE;
+    }
+
+    private static LongAdder[] adders(int length) {
+        LongAdder[] adders = new LongAdder[length];
+        for (int i = 0; i < length; i++)
+            adders[i] = new LongAdder();
+
+        return adders;
+    }
+}
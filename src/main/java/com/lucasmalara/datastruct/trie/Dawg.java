@@ -0,0 +1,304 @@
+package com.lucasmalara.datastruct.trie;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Immutable, minimal {@code directed acyclic word graph}: a trie in which equivalent subtries are merged.
+ * Two subtries are equivalent if they contain the same set of suffixes,
+ * so common endings of words are stored once, no matter how many words share them.
+ *
+ * @implNote Nodes are {@link TrieNode}s shared by many parents, hence they are never exposed.
+ * A node is merged with an equivalent one already registered by its signature:
+ * a terminal mark together with characters and identities of its already merged children.
+ * @see Trie#minimize()
+ */
+public class Dawg {
+
+    /**
+     * The root node to iterate through a whole graph.
+     */
+    private final TrieNode root;
+
+    /**
+     * The number of distinct nodes of this graph.
+     */
+    private final int nodeCount;
+
+    /**
+     * @param root      the root node.
+     * @param nodeCount the number of distinct nodes.
+     */
+    private Dawg(TrieNode root, int nodeCount) {
+        this.root = root;
+        this.nodeCount = nodeCount;
+    }
+
+    /**
+     * This method builds a minimal graph containing the same words as a given trie.
+     * A given trie is not modified.
+     *
+     * @param trie a trie to minimize.
+     * @return a minimal graph of a given trie.
+     */
+    static Dawg of(Trie trie) {
+        Register register = new Register();
+        TrieNode root = new TrieNode();
+        TrieNode source = trie.root;
+        for (int slot = source.nextSlot(-1); slot >= 0; slot = source.nextSlot(slot))
+            root.putChild(source.keyAt(slot), register.copyOf(source.childAt(slot)));
+
+        root.trimToSize();
+        return new Dawg(root, register.size() + 1);
+    }
+
+    /**
+     * <p>
+     * This method builds a minimal graph from words given in ascending order,
+     * as defined by {@link String#compareTo(String)}, without building a whole trie first.
+     * </p>
+     * <p>
+     * Nodes associated with the previous word are kept on a stack.
+     * Once a word diverges from the previous one, nodes below the common prefix are final,
+     * so they are merged bottom-up with equivalent nodes registered before.
+     * </p>
+     *
+     * @param words words in ascending order; {@code null} elements are skipped and duplicates are allowed.
+     * @return a minimal graph containing given words.
+     * @throws IllegalArgumentException if given words are not in ascending order.
+     */
+    public static Dawg fromSorted(Iterator<String> words) {
+        Register register = new Register();
+        TrieNode[] path = new TrieNode[16];
+        path[0] = new TrieNode();
+        String previous = "";
+        while (words.hasNext()) {
+            String word = words.next();
+            if (word == null)
+                continue;
+
+            int common = 0;
+            int max = Math.min(previous.length(), word.length());
+            while (common < max && previous.charAt(common) == word.charAt(common))
+                common++;
+
+            if (common < previous.length()
+                    && (common == word.length() || word.charAt(common) < previous.charAt(common)))
+                throw new IllegalArgumentException(STR."Words are not sorted: \"\{word}\" after \"\{previous}\"");
+
+            register.merge(path, previous, common);
+            if (path.length <= word.length())
+                path = Arrays.copyOf(path, Math.max(path.length * 2, word.length() + 1));
+
+            for (int i = common; i < word.length(); i++)
+                path[i + 1] = path[i].nearestChild(word.charAt(i));
+
+            if (!word.isEmpty())
+                path[word.length()].setTerminal(true);
+
+            previous = word;
+        }
+        register.merge(path, previous, 0);
+        path[0].trimToSize();
+        return new Dawg(path[0], register.size() + 1);
+    }
+
+    /**
+     * This method builds a minimal graph from words given in ascending order.
+     *
+     * @param words words in ascending order; {@code null} elements are skipped and duplicates are allowed.
+     * @return a minimal graph containing given words.
+     * @throws IllegalArgumentException if given words are not in ascending order.
+     * @see #fromSorted(Iterator)
+     */
+    public static Dawg fromSorted(Stream<String> words) {
+        return fromSorted(words.iterator());
+    }
+
+    /**
+     * This method search through this graph to find if a given {@code String} is in this graph.
+     *
+     * @param word a {@code String} to search for in this graph.
+     * @return {@code true} if this graph contains a given {@code String}, {@code false} otherwise.
+     */
+    public boolean search(String word) {
+        TrieNode node = find(word);
+        return node != null && node.isTerminal();
+    }
+
+    /**
+     * This method checks if a given {@code String} is a prefix of any word in this graph.
+     *
+     * @param prefix a {@code String} to iterate through.
+     * @return {@code true} if a given {@code String} can be iterated from the root, {@code false} otherwise.
+     */
+    public boolean startsWith(String prefix) {
+        return find(prefix) != null;
+    }
+
+    /**
+     * This method lazily iterates through words of this graph starting with a given prefix, in ascending order.
+     *
+     * @param prefix a prefix of words to iterate through; an empty {@code String} iterates through all words.
+     * @return an iterator of words starting with a given prefix,
+     * an empty iterator if a given prefix is {@code null} or is not a prefix of any word.
+     * @see Trie#prefixIterator(String)
+     */
+    public Iterator<String> prefixIterator(String prefix) {
+        return new WordIterator(find(prefix), prefix);
+    }
+
+    /**
+     * This method lazily streams words of this graph starting with a given prefix, in ascending order.
+     *
+     * @param prefix a prefix of words to stream; an empty {@code String} streams all words.
+     * @return a sequential stream of words starting with a given prefix.
+     * @see Trie#wordsWithPrefix(String)
+     */
+    public Stream<String> wordsWithPrefix(String prefix) {
+        return Trie.words(prefixIterator(prefix));
+    }
+
+    /**
+     * @return {@code true} if this graph does not contain any word, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return root.isLeaf();
+    }
+
+    /**
+     * @return the number of distinct nodes of this graph, including the root.
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @param word a {@code String} to iterate through.
+     * @return a node associated with the last character of a given {@code String} if exists, {@code null} otherwise.
+     */
+    private TrieNode find(String word) {
+        if (word == null)
+            return null;
+
+        TrieNode current = root;
+        for (int i = 0; i < word.length() && current != null; i++)
+            current = current.getChild(word.charAt(i));
+
+        return current;
+    }
+
+    /**
+     * This class registers distinct nodes by their signatures.
+     */
+    private static final class Register {
+
+        private final Map<Signature, TrieNode> nodes = new HashMap<>();
+
+        private int size() {
+            return nodes.size();
+        }
+
+        /**
+         * @param source a node of a trie.
+         * @return a registered node equivalent to a given one, built from merged copies of its descendants.
+         * @implNote Descendants are copied in post-order with an explicit stack of source nodes, their copies
+         * and the slots of their children being copied, so long words do not deepen recursion.
+         */
+        private TrieNode copyOf(TrieNode source) {
+            TrieNode[] sources = new TrieNode[16];
+            TrieNode[] copies = new TrieNode[16];
+            int[] slots = new int[16];
+            sources[0] = source;
+            copies[0] = new TrieNode();
+            copies[0].setTerminal(source.isTerminal());
+            slots[0] = -1;
+            int depth = 1;
+            while (true) {
+                int top = depth - 1;
+                TrieNode node = sources[top];
+                int slot = node.nextSlot(slots[top]);
+                if (slot >= 0) {
+                    slots[top] = slot;
+                    if (depth == sources.length) {
+                        sources = Arrays.copyOf(sources, depth * 2);
+                        copies = Arrays.copyOf(copies, depth * 2);
+                        slots = Arrays.copyOf(slots, depth * 2);
+                    }
+                    TrieNode child = node.childAt(slot);
+                    sources[depth] = child;
+                    copies[depth] = new TrieNode();
+                    copies[depth].setTerminal(child.isTerminal());
+                    slots[depth++] = -1;
+                    continue;
+                }
+
+                TrieNode merged = merge(copies[top]);
+                sources[top] = null;
+                copies[top] = null;
+                if (--depth == 0)
+                    return merged;
+
+                copies[depth - 1].putChild(sources[depth - 1].keyAt(slots[depth - 1]), merged);
+            }
+        }
+
+        /**
+         * This method merges final nodes associated with a given word below a given depth, deepest first.
+         *
+         * @param path   nodes associated with consecutive characters of a given word.
+         * @param word   a word associated with nodes on a given path.
+         * @param common a depth of the deepest node that may still change.
+         */
+        private void merge(TrieNode[] path, String word, int common) {
+            for (int i = word.length(); i > common; i--) {
+                TrieNode merged = merge(path[i]);
+                if (merged != path[i])
+                    path[i - 1].putChild(word.charAt(i - 1), merged);
+            }
+        }
+
+        /**
+         * @param node a node whose children are already merged.
+         * @return a registered node equivalent to a given one, a given node itself if it is the first of its kind.
+         */
+        private TrieNode merge(TrieNode node) {
+            node.trimToSize();
+            char[] keys = new char[node.childCount()];
+            TrieNode[] children = new TrieNode[keys.length];
+            int i = 0;
+            for (int slot = node.nextSlot(-1); slot >= 0; slot = node.nextSlot(slot)) {
+                keys[i] = node.keyAt(slot);
+                children[i++] = node.childAt(slot);
+            }
+            return nodes.computeIfAbsent(new Signature(node.isTerminal(), keys, children), _ -> node);
+        }
+    }
+
+    /**
+     * This class identifies a node by its terminal mark and its children.
+     * Children are compared by identity, since they are already merged.
+     *
+     * @param isTerminal a terminal mark of a node.
+     * @param keys       characters of the children of a node in ascending order.
+     * @param children   the children of a node.
+     */
+    private record Signature(boolean isTerminal, char[] keys, TrieNode[] children) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Signature other
+                    && isTerminal == other.isTerminal
+                    && Arrays.equals(keys, other.keys)
+                    && Arrays.equals(children, other.children);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Boolean.hashCode(isTerminal) + Arrays.hashCode(keys)) + Arrays.hashCode(children);
+        }
+    }
+}
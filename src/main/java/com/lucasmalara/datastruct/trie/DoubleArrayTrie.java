@@ -0,0 +1,346 @@
+package com.lucasmalara.datastruct.trie;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Immutable trie compiled into a {@code double-array} structure, for read-only lookups.
+ * A state is an index into two {@code int} arrays: {@code BASE} and {@code CHECK}.
+ * A transition from state {@code s} by a character with code {@code c} leads to state {@code t := BASE[s] + c},
+ * which is valid iff {@code CHECK[t] == s}.
+ *
+ * @implNote Characters are remapped to dense codes before indexing,
+ * so the arrays stay proportional to the number of nodes rather than to the size of the alphabet.
+ * Lookups allocate nothing and touch a few array slots per character.
+ * @see Trie#freeze()
+ */
+public class DoubleArrayTrie {
+
+    /**
+     * A value of {@code CHECK} marking an unused slot.
+     */
+    static final int FREE = -1;
+
+    /**
+     * Codes of characters indexed by a character, {@code 0} for characters not present in this trie.
+     */
+    final char[] codes;
+
+    /**
+     * Offsets of the children of states, indexed by state.
+     */
+    final int[] base;
+
+    /**
+     * Parents of states, indexed by state, {@link #FREE} for unused slots.
+     */
+    final int[] check;
+
+    /**
+     * A bit set of states associated with a last character of a word.
+     */
+    final long[] terminals;
+
+    /**
+     * The number of words contained by this trie.
+     */
+    final int size;
+
+    /**
+     * @param codes     codes of characters indexed by a character.
+     * @param base      offsets of the children of states.
+     * @param check     parents of states.
+     * @param terminals a bit set of states ending a word.
+     * @param size      the number of words.
+     */
+    DoubleArrayTrie(char[] codes, int[] base, int[] check, long[] terminals, int size) {
+        this.codes = codes;
+        this.base = base;
+        this.check = check;
+        this.terminals = terminals;
+        this.size = size;
+    }
+
+    /**
+     * This method compiles a given trie into a double-array trie.
+     * States are laid out in breadth-first order, each placed at the first offset
+     * where all of its children fit into unused slots.
+     *
+     * @param trie a trie to compile.
+     * @return a double-array trie containing the same words as a given trie.
+     */
+    static DoubleArrayTrie of(Trie trie) {
+        char[] codes = alphabet(trie.root);
+        Builder builder = new Builder(codes);
+        return builder.build(trie.root);
+    }
+
+    /**
+     * This method search through this trie to find if a given {@code String} is in this trie.
+     *
+     * @param word a {@code String} to search for in this trie.
+     * @return {@code true} if this trie contains a given {@code String}, {@code false} otherwise.
+     */
+    public boolean search(String word) {
+        if (word == null)
+            return false;
+
+        int state = walk(word);
+        return state >= 0 && (terminals[state >>> 6] & 1L << state) != 0;
+    }
+
+    /**
+     * This method checks if a given {@code String} can be iterated from the root of this trie,
+     * which for a trie built by insertions means that some word starts with it.
+     *
+     * @param prefix a {@code String} to iterate through.
+     * @return {@code true} if a given {@code String} can be iterated, {@code false} otherwise.
+     */
+    public boolean startsWith(String prefix) {
+        return prefix != null && walk(prefix) >= 0;
+    }
+
+    /**
+     * @return the number of words contained by this trie.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if this trie does not contain any word, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of bytes occupied by the arrays of this trie.
+     */
+    public long sizeInBytes() {
+        return 2L * codes.length + 4L * base.length + 4L * check.length + 8L * terminals.length;
+    }
+
+    /**
+     * This method writes this trie to a given file in the binary layout read by {@link MappedTrie#open(Path)}.
+     * An existing file is replaced atomically: this trie is written to a temporary file in the same directory,
+     * forced to disk and renamed over it, so a {@link MappedTrie} still mapping the previous file keeps reading it
+     * rather than a truncated or partly written one.
+     *
+     * @param file a file to write to.
+     * @throws IOException if an I/O error occurs.
+     * @see MappedTrie
+     */
+    public void writeTo(Path file) throws IOException {
+        Path temporary = Files.createTempFile(file.toAbsolutePath().getParent(), STR."\{file.getFileName()}.", ".tmp");
+        try {
+            write(temporary);
+            Files.move(temporary, file, ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * @param file a new file to write this trie to.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void write(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, WRITE, TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(MappedTrie.BUFFER_SIZE);
+            buffer.putInt(MappedTrie.MAGIC)
+                    .putInt(MappedTrie.VERSION)
+                    .putInt(size)
+                    .putInt(codes.length)
+                    .putInt(check.length)
+                    .putInt(terminals.length);
+            for (char code : codes)
+                flushIfFull(channel, buffer, Character.BYTES).putChar(code);
+            for (int i = MappedTrie.align(2 * codes.length) - 2 * codes.length; i > 0; i--)
+                flushIfFull(channel, buffer, 1).put((byte) 0);
+            for (int offset : base)
+                flushIfFull(channel, buffer, Integer.BYTES).putInt(offset);
+            for (int parent : check)
+                flushIfFull(channel, buffer, Integer.BYTES).putInt(parent);
+            for (long bits : terminals)
+                flushIfFull(channel, buffer, Long.BYTES).putLong(bits);
+
+            buffer.flip();
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * @param channel a channel to write a full buffer to.
+     * @param buffer  a buffer to write.
+     * @param needed  the number of bytes about to be put into a given buffer.
+     * @return a given buffer with at least a given number of bytes remaining.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static ByteBuffer flushIfFull(FileChannel channel, ByteBuffer buffer, int needed) throws IOException {
+        if (buffer.remaining() < needed) {
+            buffer.flip();
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            buffer.clear();
+        }
+        return buffer;
+    }
+
+    /**
+     * This method follows transitions by consecutive characters of a given {@code String}.
+     *
+     * @param word a {@code String} to iterate through.
+     * @return a state reached by the last character, {@code -1} if a transition is missing.
+     */
+    private int walk(String word) {
+        int state = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c >= codes.length || codes[c] == 0)
+                return -1;
+
+            int next = base[state] + codes[c];
+            if (next >= check.length || check[next] != state)
+                return -1;
+
+            state = next;
+        }
+        return state;
+    }
+
+    /**
+     * This method assigns consecutive codes, starting from {@code 1},
+     * to characters present in a subtrie in ascending order of characters.
+     *
+     * @param root a root of a subtrie.
+     * @return codes of characters indexed by a character.
+     */
+    private static char[] alphabet(TrieNode root) {
+        BitSet present = new BitSet();
+        Deque<TrieNode> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            TrieNode node = stack.pop();
+            for (int slot = node.nextSlot(-1); slot >= 0; slot = node.nextSlot(slot)) {
+                present.set(node.keyAt(slot));
+                stack.push(node.childAt(slot));
+            }
+        }
+
+        char[] codes = new char[present.length()];
+        char code = 0;
+        for (int c = present.nextSetBit(0); c >= 0; c = present.nextSetBit(c + 1))
+            codes[c] = ++code;
+
+        return codes;
+    }
+
+    /**
+     * This class places the states of a trie into the double arrays.
+     */
+    private static final class Builder {
+
+        private final char[] codes;
+        private int[] base = new int[1024];
+        private int[] check = new int[1024];
+        private final BitSet terminals = new BitSet();
+        private int length = 1;
+        private int firstFree = 2;
+        private int size;
+
+        private Builder(char[] codes) {
+            this.codes = codes;
+            Arrays.fill(check, FREE);
+        }
+
+        private DoubleArrayTrie build(TrieNode root) {
+            // breadth-first queue of nodes and their states
+            List<TrieNode> nodes = new ArrayList<>();
+            int[] states = new int[16];
+            nodes.add(root);
+            char[] childCodes = new char[16];
+            for (int head = 0; head < nodes.size(); head++) {
+                TrieNode node = nodes.get(head);
+                nodes.set(head, null);
+                int state = states[head];
+                if (node.isTerminal()) {
+                    terminals.set(state);
+                    size++;
+                }
+                if (node.isLeaf())
+                    continue;
+
+                if (childCodes.length < node.childCount())
+                    childCodes = new char[node.childCount()];
+
+                int n = 0;
+                for (int slot = node.nextSlot(-1); slot >= 0; slot = node.nextSlot(slot))
+                    childCodes[n++] = codes[node.keyAt(slot)];
+
+                int offset = place(childCodes, n);
+                base[state] = offset;
+                if (states.length < nodes.size() + n)
+                    states = Arrays.copyOf(states, Math.max(states.length * 2, nodes.size() + n));
+
+                n = 0;
+                for (int slot = node.nextSlot(-1); slot >= 0; slot = node.nextSlot(slot)) {
+                    int child = offset + childCodes[n++];
+                    check[child] = state;
+                    states[nodes.size()] = child;
+                    nodes.add(node.childAt(slot));
+                }
+            }
+            long[] terminalBits = Arrays.copyOf(terminals.toLongArray(), (length + 63) >>> 6);
+            return new DoubleArrayTrie(codes, Arrays.copyOf(base, length), Arrays.copyOf(check, length),
+                    terminalBits, size);
+        }
+
+        /**
+         * @param childCodes codes of children in ascending order.
+         * @param n          the number of codes.
+         * @return the lowest offset at which every child falls into an unused slot.
+         */
+        private int place(char[] childCodes, int n) {
+            while (firstFree < check.length && check[firstFree] != FREE)
+                firstFree++;
+
+            int first = childCodes[0];
+            int last = childCodes[n - 1];
+            search:
+            for (int at = Math.max(firstFree, first + 1); ; at++) {
+                ensureCapacity(at - first + last + 1);
+                if (check[at] != FREE)
+                    continue;
+
+                int offset = at - first;
+                for (int i = 1; i < n; i++) {
+                    if (check[offset + childCodes[i]] != FREE)
+                        continue search;
+                }
+                length = Math.max(length, offset + last + 1);
+                return offset;
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= check.length)
+                return;
+
+            int grown = Math.max(capacity, check.length * 2);
+            base = Arrays.copyOf(base, grown);
+            int from = check.length;
+            check = Arrays.copyOf(check, grown);
+            Arrays.fill(check, from, grown, FREE);
+        }
+    }
+}
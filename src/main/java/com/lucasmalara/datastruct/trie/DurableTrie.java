@@ -0,0 +1,857 @@
+package com.lucasmalara.datastruct.trie;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * <p>
+ * Thread-safe trie persisted in a directory: every change is appended to a write-ahead log
+ * before it is acknowledged, and the log is periodically compacted into a snapshot.
+ * After a crash, {@link #open(Path, Options)} loads the latest snapshot and replays the log written after it.
+ * </p>
+ * <p>
+ * A directory holds files of a single generation {@code g}: {@code snapshot-g.bin},
+ * written by {@link Trie#writeTo(java.nio.channels.WritableByteChannel)}, and {@code wal-g.log}
+ * with changes made after that snapshot. A log record is
+ * {@code [int length][int CRC32C][byte operation][varint characters...]}, where the length and the checksum
+ * cover the operation and the characters. A torn or corrupted tail left by a crash is truncated on recovery.
+ * A record holds at most {@code 16 MiB}, so longer words are rejected before they are logged.
+ * </p>
+ * <p>
+ * A checkpoint starts the log of the next generation before it writes the snapshot of that generation,
+ * so until the snapshot is durable a directory may also hold {@code wal-(g+1).log},
+ * which is replayed after {@code wal-g.log} on recovery.
+ * The snapshot may already hold changes logged to the log of its generation, which replaying them leaves unchanged,
+ * since a change only sets whether a word is present.
+ * Files of older generations are deleted only once both the new log and the new snapshot are durable.
+ * </p>
+ *
+ * @implNote Writers append records to an in-memory buffer under a lock and then wait for durability
+ * according to {@link Durability}. With {@link Durability#GROUP_COMMIT} the first waiting writer
+ * becomes a leader: it writes everything buffered so far and forces it to disk once,
+ * releasing all writers whose records were included, so concurrent writers share a single {@code fsync}.
+ * Reads take the read side of that lock, so they run concurrently with each other,
+ * and a snapshot is written from a copy of the words taken under the read lock, without holding it.
+ * A checkpoint triggered by the size of the log runs on a background thread rather than on the writer that crossed it.
+ */
+public class DurableTrie implements Closeable {
+
+    private static final byte INSERT = 1;
+    private static final byte ERASE = 2;
+    private static final int RECORD_HEADER = 2 * Integer.BYTES;
+    private static final int MAX_RECORD = 1 << 24;
+
+    private final Path directory;
+    private final Options options;
+    private final Trie trie;
+
+    /**
+     * Guards the trie, the buffer of records and the numbering of records. Reads take its read lock.
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Serializes checkpoints, whose snapshots are written without holding other locks.
+     */
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+
+    /**
+     * Guards the log file, which is written by one leader at a time.
+     */
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition synced = syncLock.newCondition();
+
+    private ByteBuffer pending = ByteBuffer.allocate(TrieCodec.BUFFER_SIZE);
+    private ByteBuffer writing = ByteBuffer.allocate(TrieCodec.BUFFER_SIZE);
+    private long appended;
+    private long logBytes;
+
+    private FileChannel log;
+    private long generation;
+    private long durable;
+    private boolean syncing;
+    private IOException failure;
+    private boolean closed;
+
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService checkpointer = Executors.newSingleThreadExecutor(Thread.ofPlatform().daemon().factory());
+    private final AtomicBoolean checkpointScheduled = new AtomicBoolean();
+
+    /**
+     * @param directory  a directory of files of a trie.
+     * @param options    options of durability and compaction.
+     * @param trie       a recovered trie.
+     * @param log        an open log of a given generation.
+     * @param generation a generation of a snapshot and a log.
+     * @param logBytes   the number of bytes of a log.
+     */
+    private DurableTrie(Path directory, Options options, Trie trie, FileChannel log, long generation, long logBytes) {
+        this.directory = directory;
+        this.options = options;
+        this.trie = trie;
+        this.log = log;
+        this.generation = generation;
+        this.logBytes = logBytes;
+        if (options.durability() == Durability.PERIODIC) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().factory());
+            long nanos = options.syncInterval().toNanos();
+            scheduler.scheduleWithFixedDelay(this::syncQuietly, nanos, nanos, TimeUnit.NANOSECONDS);
+        } else {
+            scheduler = null;
+        }
+    }
+
+    /**
+     * This method opens a trie stored in a given directory with default options, creating it if needed.
+     *
+     * @param directory a directory of files of a trie.
+     * @return a recovered trie.
+     * @throws IOException if an I/O error occurs or a snapshot is corrupted.
+     * @see #open(Path, Options)
+     */
+    public static DurableTrie open(Path directory) throws IOException {
+        return open(directory, Options.defaults());
+    }
+
+    /**
+     * This method opens a trie stored in a given directory, creating it if needed.
+     * It loads the latest snapshot, replays valid records of its log, and of the log of an unfinished checkpoint
+     * if there is one, and truncates the last log after them.
+     *
+     * @param directory a directory of files of a trie.
+     * @param options   options of durability and compaction.
+     * @return a recovered trie.
+     * @throws IOException if an I/O error occurs or a snapshot is corrupted.
+     */
+    public static DurableTrie open(Path directory, Options options) throws IOException {
+        Objects.requireNonNull(options);
+        Files.createDirectories(directory);
+        long snapshotGeneration = -1;
+        long generation = -1;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp"))
+                    Files.delete(file);
+                else if (name.startsWith("snapshot-") && name.endsWith(".bin"))
+                    snapshotGeneration = Math.max(snapshotGeneration, Long.parseLong(name, 9, name.length() - 4, 10));
+                else if (name.startsWith("wal-") && name.endsWith(".log"))
+                    generation = Math.max(generation, Long.parseLong(name, 4, name.length() - 4, 10));
+            }
+        }
+
+        Trie trie;
+        if (snapshotGeneration < 0) {
+            snapshotGeneration = 0;
+            trie = Trie.empty();
+        } else {
+            try (FileChannel snapshot = FileChannel.open(snapshot(directory, snapshotGeneration), READ)) {
+                trie = Trie.readFrom(snapshot);
+            }
+        }
+        // a log newer than the snapshot was started by a checkpoint whose snapshot never became durable
+        generation = Math.max(generation, snapshotGeneration);
+        for (long older = snapshotGeneration; older < generation; older++) {
+            if (Files.exists(log(directory, older))) {
+                try (FileChannel log = FileChannel.open(log(directory, older), READ)) {
+                    replay(log, trie);
+                }
+            }
+        }
+
+        FileChannel log = FileChannel.open(log(directory, generation), CREATE, READ, WRITE);
+        try {
+            long valid = replay(log, trie);
+            if (valid < log.size()) {
+                log.truncate(valid);
+                log.force(false);
+            }
+            log.position(valid);
+            syncDirectory(directory);
+            deleteOlderThan(directory, snapshotGeneration);
+            return new DurableTrie(directory, options, trie, log, generation, valid);
+        } catch (IOException | RuntimeException e) {
+            log.close();
+            throw e;
+        }
+    }
+
+    /**
+     * This method inserts a given word and returns once it is as durable as required by the options.
+     * A word already in this trie is not logged again.
+     *
+     * @param word a word to insert; {@code null} and empty words are ignored.
+     * @throws IOException              if writing the log fails, or has failed before.
+     * @throws IllegalArgumentException if a record of a given word would exceed {@code 16 MiB}.
+     */
+    public void insert(String word) throws IOException {
+        if (word == null || word.isEmpty())
+            return;
+
+        requireLoggable(word);
+        long sequence;
+        lock.writeLock().lock();
+        try {
+            ensureWritable();
+            if (trie.search(word))
+                return;
+
+            trie.insert(word);
+            sequence = append(INSERT, word);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        afterAppend(sequence);
+    }
+
+    /**
+     * This method erases a given word and returns once it is as durable as required by the options.
+     *
+     * @param word a word to erase.
+     * @return {@code true} if this trie contained a given word, {@code false} otherwise.
+     * @throws IOException              if writing the log fails, or has failed before.
+     * @throws IllegalArgumentException if a record of a given word would exceed {@code 16 MiB}.
+     */
+    public boolean erase(String word) throws IOException {
+        if (word != null)
+            requireLoggable(word);
+
+        long sequence;
+        lock.writeLock().lock();
+        try {
+            ensureWritable();
+            if (!trie.search(word))
+                return false;
+
+            trie.erase(word);
+            sequence = append(ERASE, word);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        afterAppend(sequence);
+        return true;
+    }
+
+    /**
+     * @param word a {@code String} to search for.
+     * @return {@code true} if this trie contains a given {@code String}, {@code false} otherwise.
+     */
+    public boolean search(String word) {
+        lock.readLock().lock();
+        try {
+            return trie.search(word);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param prefix a prefix of words to return; an empty {@code String} returns all words.
+     * @return words starting with a given prefix in ascending order, copied at the time of a call.
+     */
+    public List<String> wordsWithPrefix(String prefix) {
+        lock.readLock().lock();
+        try {
+            return trie.wordsWithPrefix(prefix).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of words of this trie.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return trie.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return {@code true} if this trie does not contain any word, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * This method forces every change made so far to disk, regardless of the durability of the options.
+     *
+     * @throws IOException if writing the log fails, or has failed before.
+     */
+    public void sync() throws IOException {
+        long sequence;
+        lock.readLock().lock();
+        try {
+            sequence = appended;
+        } finally {
+            lock.readLock().unlock();
+        }
+        awaitDurable(sequence);
+    }
+
+    /**
+     * This method compacts the log into a new snapshot of the current words and starts an empty log.
+     * The words are copied while changes wait and reads proceed, and the snapshot is written from the copy
+     * while both proceed; the log itself is neither written nor forced while changes wait.
+     * Files of the previous generation are deleted once the new log and the new snapshot are durable.
+     * It is also called automatically in the background once the log exceeds {@link Options#checkpointBytes()}.
+     *
+     * @throws IOException if writing the snapshot or the log fails.
+     */
+    public void checkpoint() throws IOException {
+        checkpoint(true);
+    }
+
+    /**
+     * This method forces every change to disk and closes the log. Further changes are rejected.
+     * A background sync or checkpoint in progress is awaited rather than interrupted,
+     * since interrupting a thread forcing a file would close the file under it.
+     *
+     * @throws IOException if writing the log fails.
+     */
+    @Override
+    public void close() throws IOException {
+        if (scheduler != null)
+            awaitTermination(scheduler);
+        awaitTermination(checkpointer);
+
+        try {
+            sync();
+        } finally {
+            acquireSyncRole();
+            try {
+                lock.writeLock().lock();
+                try {
+                    if (!closed) {
+                        closed = true;
+                        log.close();
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                releaseSyncRole();
+            }
+        }
+    }
+
+    /**
+     * @param operation an operation of a record.
+     * @param word      a word of a record.
+     * @return a sequence number of an appended record.
+     */
+    private long append(byte operation, String word) {
+        int needed = RECORD_HEADER + 1 + 3 * word.length();
+        if (pending.remaining() < needed) {
+            int capacity = Math.max(pending.capacity() * 2, pending.position() + needed);
+            pending = ByteBuffer.allocate(capacity).put(pending.flip());
+        }
+
+        int start = pending.position();
+        pending.position(start + RECORD_HEADER);
+        pending.put(operation);
+        for (int i = 0; i < word.length(); i++) {
+            int c = word.charAt(i);
+            while ((c & ~0x7F) != 0) {
+                pending.put((byte) (c & 0x7F | 0x80));
+                c >>>= 7;
+            }
+            pending.put((byte) c);
+        }
+        int length = pending.position() - start - RECORD_HEADER;
+        CRC32C crc = new CRC32C();
+        crc.update(pending.slice(start + RECORD_HEADER, length));
+        pending.putInt(start, length).putInt(start + Integer.BYTES, (int) crc.getValue());
+        logBytes += RECORD_HEADER + length;
+        return ++appended;
+    }
+
+    /**
+     * @param sequence a sequence number of an appended record.
+     * @throws IOException if writing the log fails.
+     */
+    private void afterAppend(long sequence) throws IOException {
+        if (options.durability() == Durability.GROUP_COMMIT || pendingBytes() >= TrieCodec.BUFFER_SIZE)
+            awaitDurable(sequence);
+
+        if (logBytes() >= options.checkpointBytes() && checkpointScheduled.compareAndSet(false, true)) {
+            try {
+                checkpointer.execute(this::checkpointQuietly);
+            } catch (RejectedExecutionException _) {
+                // this trie is being closed
+                checkpointScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * This method returns once a record of a given sequence number is forced to disk,
+     * either by the calling thread acting as a leader or by another leader.
+     *
+     * @param sequence a sequence number of a record.
+     * @throws IOException if writing the log fails, or has failed before.
+     */
+    private void awaitDurable(long sequence) throws IOException {
+        syncLock.lock();
+        try {
+            while (durable < sequence && syncing && failure == null)
+                synced.awaitUninterruptibly();
+            if (failure != null)
+                throw new IOException("Writing the log has failed", failure);
+            if (durable >= sequence)
+                return;
+
+            syncing = true;
+        } finally {
+            syncLock.unlock();
+        }
+
+        try {
+            writeBatch();
+        } finally {
+            releaseSyncRole();
+        }
+    }
+
+    /**
+     * This method writes every buffered record to the log and forces it to disk. It requires the sync role.
+     *
+     * @throws IOException if writing the log fails.
+     */
+    private void writeBatch() throws IOException {
+        long sequence;
+        FileChannel channel;
+        lock.writeLock().lock();
+        try {
+            ByteBuffer batch = pending;
+            pending = writing.clear();
+            writing = batch.flip();
+            sequence = appended;
+            channel = log;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            while (writing.hasRemaining())
+                channel.write(writing);
+            channel.force(false);
+        } catch (IOException e) {
+            syncLock.lock();
+            try {
+                failure = e;
+            } finally {
+                syncLock.unlock();
+            }
+            throw e;
+        }
+
+        syncLock.lock();
+        try {
+            durable = Math.max(durable, sequence);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * This method starts the log of the next generation, copies the words and writes the snapshot of that generation.
+     * Records buffered when the log is switched go to the next log, while earlier ones are already forced
+     * to the previous log by the leaders that wrote them, so switching needs no I/O while changes wait.
+     * Every change stays recoverable from the previous snapshot and both logs until the next snapshot is durable.
+     *
+     * @param force {@code true} to compact regardless of the size of the log,
+     *              {@code false} to compact only if the log is large enough and no other checkpoint is running.
+     * @throws IOException if writing the snapshot or the log fails.
+     */
+    private void checkpoint(boolean force) throws IOException {
+        if (force)
+            checkpointLock.lock();
+        else if (!checkpointLock.tryLock())
+            return;
+
+        try {
+            long next;
+            lock.readLock().lock();
+            try {
+                ensureWritable();
+                if (!force && logBytes < options.checkpointBytes())
+                    return;
+
+                // changed only by checkpoints, which hold checkpointLock
+                next = generation + 1;
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            FileChannel nextLog = FileChannel.open(log(directory, next), CREATE, WRITE, TRUNCATE_EXISTING);
+            syncDirectory(directory);
+            FileChannel previous;
+            acquireSyncRole();
+            try {
+                lock.writeLock().lock();
+                try {
+                    if (closed) {
+                        nextLog.close();
+                        ensureWritable();
+                    }
+                    previous = log;
+                    log = nextLog;
+                    generation = next;
+                    logBytes = pending.position();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                releaseSyncRole();
+            }
+            previous.close();
+
+            Trie copy;
+            lock.readLock().lock();
+            try {
+                copy = Trie.fromSorted(trie.stream());
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            Path temporary = directory.resolve(STR."snapshot-\{next}.bin.tmp");
+            try (FileChannel snapshot = FileChannel.open(temporary, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                copy.writeTo(snapshot);
+                snapshot.force(true);
+            }
+            Files.move(temporary, snapshot(directory, next), ATOMIC_MOVE);
+            syncDirectory(directory);
+            deleteOlderThan(directory, next);
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    /**
+     * This method waits until no other thread writes the log and reserves writing it for the calling thread.
+     */
+    private void acquireSyncRole() {
+        syncLock.lock();
+        try {
+            while (syncing)
+                synced.awaitUninterruptibly();
+            syncing = true;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * This method releases writing the log and wakes up waiting writers.
+     */
+    private void releaseSyncRole() {
+        syncLock.lock();
+        try {
+            syncing = false;
+            synced.signalAll();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * This method forces changes in the background; a failure is rethrown to the next writer.
+     */
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException _) {
+            // kept in failure and rethrown to the next writer
+        }
+    }
+
+    /**
+     * This method compacts the log in the background; a failed checkpoint is retried once the log grows again.
+     * Changes stay recoverable from the files of the previous generation until a checkpoint succeeds.
+     */
+    private void checkpointQuietly() {
+        checkpointScheduled.set(false);
+        try {
+            checkpoint(false);
+        } catch (IOException _) {
+            // retried once a writer crosses checkpointBytes again
+        }
+    }
+
+    /**
+     * This method stops background tasks, waiting for a task in progress to finish.
+     *
+     * @param executor an executor of background tasks.
+     */
+    private static void awaitTermination(ExecutorService executor) {
+        executor.shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.MINUTES))
+                    break;
+            } catch (InterruptedException _) {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    /**
+     * @throws IOException if this trie is closed.
+     */
+    private void ensureWritable() throws IOException {
+        if (closed)
+            throw new IOException("Durable trie is closed");
+    }
+
+    private int pendingBytes() {
+        lock.readLock().lock();
+        try {
+            return pending.position();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long logBytes() {
+        lock.readLock().lock();
+        try {
+            return logBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param word a word of a record.
+     * @throws IllegalArgumentException if a record of a given word would exceed {@link #MAX_RECORD} bytes.
+     */
+    private static void requireLoggable(String word) {
+        // an operation byte, followed by 1 to 3 bytes per character
+        long length = 1;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            length += c < 0x80 ? 1 : c < 0x4000 ? 2 : 3;
+        }
+        if (length > MAX_RECORD)
+            throw new IllegalArgumentException(STR."Word is too long to be logged: \{word.length()} characters");
+    }
+
+    /**
+     * This method makes a creation or a rename of a file durable, where a file system supports forcing directories.
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, READ)) {
+            channel.force(true);
+        } catch (IOException _) {
+            // not supported by every platform; the files themselves are already forced
+        }
+    }
+
+    /**
+     * This method applies valid records of a given log to a given trie.
+     *
+     * @param log  a log to read from its start.
+     * @param trie a trie to apply records to.
+     * @return a position just past the last valid record.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static long replay(FileChannel log, Trie trie) throws IOException {
+        long size = log.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+        ByteBuffer record = ByteBuffer.allocate(TrieCodec.BUFFER_SIZE);
+        CRC32C crc = new CRC32C();
+        StringBuilder word = new StringBuilder();
+        while (position + RECORD_HEADER <= size) {
+            header.clear();
+            readFully(log, header, position);
+            int length = header.getInt(0);
+            if (length < 1 || length > MAX_RECORD || position + RECORD_HEADER + length > size)
+                break;
+
+            if (record.capacity() < length)
+                record = ByteBuffer.allocate(Math.max(length, record.capacity() * 2));
+            record.clear().limit(length);
+            readFully(log, record, position + RECORD_HEADER);
+            crc.reset();
+            crc.update(record.flip());
+            if ((int) crc.getValue() != header.getInt(Integer.BYTES) || !decode(record.rewind(), word))
+                break;
+
+            byte operation = record.get(0);
+            if (operation == INSERT)
+                trie.insert(word);
+            else if (operation == ERASE)
+                trie.erase(word);
+            else
+                break;
+
+            position += RECORD_HEADER + length;
+        }
+        return position;
+    }
+
+    /**
+     * @param record a record without its header.
+     * @param word   a builder to decode characters of a record into.
+     * @return {@code true} if characters are well-formed, {@code false} otherwise.
+     */
+    private static boolean decode(ByteBuffer record, StringBuilder word) {
+        word.setLength(0);
+        record.get();
+        while (record.hasRemaining()) {
+            int c = 0;
+            for (int shift = 0; ; shift += 7) {
+                if (!record.hasRemaining() || shift > 14)
+                    return false;
+
+                int b = record.get();
+                c |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0)
+                    break;
+            }
+            if (c > Character.MAX_VALUE)
+                return false;
+
+            word.append((char) c);
+        }
+        return true;
+    }
+
+    /**
+     * This method reads bytes of a channel from a given position until a given buffer is full.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0)
+                throw new IOException("Log ended while reading it");
+            position += read;
+        }
+    }
+
+    /**
+     * This method deletes snapshots and logs of generations older than a given one.
+     */
+    private static void deleteOlderThan(Path directory, long generation) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "{snapshot-*.bin,wal-*.log}")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String number = name.substring(name.indexOf('-') + 1, name.lastIndexOf('.'));
+                if (Long.parseLong(number) < generation)
+                    Files.delete(file);
+            }
+        }
+    }
+
+    private static Path snapshot(Path directory, long generation) {
+        return directory.resolve(STR."snapshot-\{generation}.bin");
+    }
+
+    private static Path log(Path directory, long generation) {
+        return directory.resolve(STR."wal-\{generation}.log");
+    }
+
+    /**
+     * Guarantees given by a completed change.
+     */
+    public enum Durability {
+
+        /**
+         * A change is forced to disk before it completes. Concurrent changes share a single {@code fsync}.
+         */
+        GROUP_COMMIT,
+
+        /**
+         * A change is written and forced to disk in the background every {@link Options#syncInterval()},
+         * so a crash may lose changes of the last interval in exchange for higher throughput.
+         */
+        PERIODIC
+    }
+
+    /**
+     * Options of a durable trie.
+     *
+     * @param durability      guarantees given by a completed change.
+     * @param syncInterval    an interval of forcing changes to disk with {@link Durability#PERIODIC}.
+     * @param checkpointBytes a size of a log that triggers compacting it into a snapshot.
+     */
+    public record Options(Durability durability, Duration syncInterval, long checkpointBytes) {
+
+        /**
+         * @throws IllegalArgumentException if an interval or a size is not positive.
+         */
+        public Options {
+            Objects.requireNonNull(durability);
+            if (syncInterval.isNegative() || syncInterval.isZero())
+                throw new IllegalArgumentException(STR."syncInterval must be positive: \{syncInterval}");
+            if (checkpointBytes <= 0)
+                throw new IllegalArgumentException(STR."checkpointBytes must be positive: \{checkpointBytes}");
+        }
+
+        /**
+         * @return group commit, a sync interval of {@code 10 ms} and checkpoints every {@code 64 MiB} of a log.
+         */
+        public static Options defaults() {
+            return new Options(Durability.GROUP_COMMIT, Duration.ofMillis(10), 64L << 20);
+        }
+
+        /**
+         * @param durability guarantees given by a completed change.
+         * @return these options with a given value.
+         */
+        public Options withDurability(Durability durability) {
+            return new Options(durability, syncInterval, checkpointBytes);
+        }
+
+        /**
+         * @param syncInterval an interval of forcing changes to disk with {@link Durability#PERIODIC}.
+         * @return these options with a given value.
+         */
+        public Options withSyncInterval(Duration syncInterval) {
+            return new Options(durability, syncInterval, checkpointBytes);
+        }
+
+        /**
+         * A checkpoint triggered by this size runs on a background thread, so the writer that crosses it
+         * does not wait for the snapshot to be written. Changes still wait while the words are copied,
+         * for a time proportional to the size of the trie, so a small size trades more frequent pauses
+         * for a shorter log to replay on recovery.
+         *
+         * @param checkpointBytes a size of a log that triggers compacting it into a snapshot.
+         * @return these options with a given value.
+         */
+        public Options withCheckpointBytes(long checkpointBytes) {
+            return new Options(durability, syncInterval, checkpointBytes);
+        }
+    }
+}
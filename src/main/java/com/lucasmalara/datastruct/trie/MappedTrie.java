@@ -0,0 +1,174 @@
+package com.lucasmalara.datastruct.trie;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Read-only trie served directly from a memory-mapped file written by {@link DoubleArrayTrie#writeTo(Path)}.
+ * Nothing is deserialized when a file is opened:
+ * lookups read the double arrays straight from the mapped pages,
+ * so opening is near-instant and processes mapping the same file share its pages in the page cache.
+ *
+ * @implNote The file starts with a header of six {@code int} values:
+ * magic number, version, number of words, number of character codes, number of states
+ * and number of {@code long} words of the terminal bit set.
+ * It is followed by the character codes padded to a multiple of eight bytes,
+ * the {@code BASE} array, the {@code CHECK} array and the terminal bit set.
+ * Lookups use absolute reads only, so a trie can be shared between threads.
+ * <br>
+ * A file is read through a {@link MappedByteBuffer}, which is indexed by {@code int},
+ * so a file cannot exceed {@link Integer#MAX_VALUE} bytes;
+ * a larger one is rejected by {@link #open(Path)}.
+ * Offsets of the double arrays are {@code int} values as well, matching the arrays of a {@link DoubleArrayTrie}.
+ * @see DoubleArrayTrie
+ */
+public class MappedTrie {
+
+    /**
+     * A magic number identifying the file format: {@code "TRIE"} in ASCII.
+     */
+    static final int MAGIC = 0x54524945;
+
+    /**
+     * A version of the file format.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * The size of a buffer used to write a file.
+     */
+    static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The size of the header in bytes.
+     */
+    private static final int HEADER_SIZE = 6 * Integer.BYTES;
+
+    private final MappedByteBuffer buffer;
+    private final int size;
+    private final int codesLength;
+    private final int stateCount;
+    private final int codesOffset;
+    private final int baseOffset;
+    private final int checkOffset;
+    private final int terminalsOffset;
+
+    /**
+     * @param buffer a buffer mapping the whole file.
+     * @throws IOException if a file does not have the expected layout.
+     */
+    private MappedTrie(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+            throw new IOException("Not a mapped trie file");
+        if (buffer.getInt(4) != VERSION)
+            throw new IOException(STR."Unsupported mapped trie version: \{buffer.getInt(4)}");
+
+        size = buffer.getInt(8);
+        codesLength = buffer.getInt(12);
+        stateCount = buffer.getInt(16);
+        int terminalsLength = buffer.getInt(20);
+        codesOffset = HEADER_SIZE;
+        baseOffset = codesOffset + align(2 * codesLength);
+        checkOffset = baseOffset + 4 * stateCount;
+        terminalsOffset = checkOffset + 4 * stateCount;
+        if ((long) terminalsOffset + 8L * terminalsLength != buffer.capacity()
+                || 64L * terminalsLength < stateCount)
+            throw new IOException("Truncated or corrupted mapped trie file");
+    }
+
+    /**
+     * This method maps a given file into memory.
+     * The file must not be modified while a trie is in use.
+     *
+     * @param file a file written by {@link DoubleArrayTrie#writeTo(Path)}.
+     * @return a trie reading a given file.
+     * @throws IOException if an I/O error occurs, a file does not have the expected layout,
+     *                     or a file is longer than {@link Integer#MAX_VALUE} bytes.
+     */
+    public static MappedTrie open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException(STR."Mapped trie file exceeds \{Integer.MAX_VALUE} bytes: \{file}");
+
+            return new MappedTrie(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * This method search through this trie to find if a given {@code String} is in this trie.
+     *
+     * @param word a {@code String} to search for in this trie.
+     * @return {@code true} if this trie contains a given {@code String}, {@code false} otherwise.
+     */
+    public boolean search(String word) {
+        if (word == null)
+            return false;
+
+        int state = walk(word);
+        return state >= 0 && (buffer.getLong(terminalsOffset + 8 * (state >>> 6)) & 1L << state) != 0;
+    }
+
+    /**
+     * This method checks if a given {@code String} can be iterated from the root of this trie,
+     * which for a trie built by insertions means that some word starts with it.
+     *
+     * @param prefix a {@code String} to iterate through.
+     * @return {@code true} if a given {@code String} can be iterated, {@code false} otherwise.
+     */
+    public boolean startsWith(String prefix) {
+        return prefix != null && walk(prefix) >= 0;
+    }
+
+    /**
+     * @return the number of words contained by this trie.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if this trie does not contain any word, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * This method follows transitions by consecutive characters of a given {@code String}.
+     *
+     * @param word a {@code String} to iterate through.
+     * @return a state reached by the last character, {@code -1} if a transition is missing.
+     */
+    private int walk(String word) {
+        int state = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c >= codesLength)
+                return -1;
+
+            char code = buffer.getChar(codesOffset + 2 * c);
+            if (code == 0)
+                return -1;
+
+            int next = buffer.getInt(baseOffset + 4 * state) + code;
+            if (next >= stateCount || buffer.getInt(checkOffset + 4 * next) != state)
+                return -1;
+
+            state = next;
+        }
+        return state;
+    }
+
+    /**
+     * @param bytes a number of bytes.
+     * @return a given number of bytes rounded up to a multiple of eight.
+     */
+    static int align(int bytes) {
+        return (bytes + 7) & ~7;
+    }
+}
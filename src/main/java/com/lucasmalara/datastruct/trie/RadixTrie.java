@@ -0,0 +1,239 @@
+package com.lucasmalara.datastruct.trie;
+
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * Path-compressed variant of a {@link Trie}, known also as a {@code radix tree} or a {@code Patricia trie}.
+ * It fulfils the same contract as a trie.
+ *
+ * @implNote Every run of nodes that neither branch nor end a word is collapsed into a single edge
+ * labeled with a substring of a key.
+ * Labels are split on insertion and merged back on erasure,
+ * so no node other than the root has exactly one child unless it ends a word.
+ * @see RadixTrieNode
+ */
+public class RadixTrie {
+
+    /**
+     * The root node to iterate through a whole trie.
+     *
+     * @implNote Root node is never marked as a terminal and its label is always empty.
+     */
+    public final RadixTrieNode root = new RadixTrieNode("", false);
+
+    /**
+     * This constructor restricts instantiation of a trie.
+     *
+     * @see #empty()
+     */
+    private RadixTrie() {
+    }
+
+    /**
+     * @return an empty radix trie.
+     */
+    public static RadixTrie empty() {
+        return new RadixTrie();
+    }
+
+    /**
+     * <p>
+     * This method insert a given {@code String} to this trie.
+     * </p>
+     * <p>
+     * If a node {@code N} does not have a child {@code C} whose label starts with the next character,
+     * then the remaining part of a given {@code String} becomes a label of a new leaf.
+     * <br>
+     * If a label of {@code C} is a prefix of the remaining part, we move into {@code C};
+     * <br>
+     * Otherwise the label of {@code C} is split at the first mismatch into a new intermediate node.
+     * </p>
+     *
+     * @param word a {@code String} to insert in this trie.
+     */
+    public void insert(String word) {
+        if (word == null || word.isEmpty())
+            return;
+
+        RadixTrieNode current = root;
+        int i = 0;
+        while (i < word.length()) {
+            RadixTrieNode child = current.getChild(word.charAt(i));
+            if (child == null) {
+                current.putChild(new RadixTrieNode(word.substring(i), true));
+                return;
+            }
+
+            String label = child.getLabel();
+            int common = commonPrefixLength(label, word, i);
+            if (common < label.length()) {
+                RadixTrieNode split = new RadixTrieNode(label.substring(0, common), i + common == word.length());
+                child.setLabel(label.substring(common));
+                split.putChild(child);
+                if (!split.isTerminal())
+                    split.putChild(new RadixTrieNode(word.substring(i + common), true));
+
+                current.putChild(split);
+                return;
+            }
+
+            current = child;
+            i += common;
+        }
+        current.setTerminal(true);
+    }
+
+    /**
+     * This method checks if trie is empty.
+     *
+     * @return {@code true} if {@link #root} does not have a child, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return root.isLeaf();
+    }
+
+    /**
+     * This method search through this trie to find if a given {@code String} is in this trie.
+     *
+     * @param word a {@code String} to search for in this trie.
+     * @return {@code true} if this trie contains a given {@code String}
+     * that ends exactly at a node marked as terminal,
+     * {@code false} otherwise.
+     * @see RadixTrieNode#isTerminal()
+     */
+    public boolean search(String word) {
+        RadixTrieNode node = find(word);
+        return node != null && node.isTerminal();
+    }
+
+    /**
+     * This method is a modified implementation of a depth-first search algorithm.
+     * Iteration starts from {@link #root} by labels matching consecutive parts of a given {@code String}.
+     *
+     * @param word a {@code String} to iterate through.
+     * @return {@code Optional} of the nearest node whose path from {@link #root} starts with a given {@code String},
+     * which may end in the middle of the label of that node,
+     * empty {@code Optional} otherwise.
+     */
+    public Optional<RadixTrieNode> depthFirstSearch(String word) {
+        if (word == null)
+            return Optional.empty();
+
+        RadixTrieNode current = root;
+        int i = 0;
+        while (i < word.length()) {
+            RadixTrieNode child = current.getChild(word.charAt(i));
+            if (child == null)
+                return Optional.empty();
+
+            String label = child.getLabel();
+            int common = commonPrefixLength(label, word, i);
+            if (common < label.length() && i + common < word.length())
+                return Optional.empty();
+
+            current = child;
+            i += common;
+        }
+        return Optional.of(current);
+    }
+
+    /**
+     * <p>
+     * This method erases a given word stored in this trie.
+     * </p>
+     * <p>
+     * A node ending that word is no longer marked as terminal.
+     * If it becomes a leaf, it is removed from its parent.
+     * Afterwards, a node left with a single child and no terminal mark is merged with that child,
+     * so that labels stay as long as possible.
+     * </p>
+     *
+     * @param word a word to erase from this trie.
+     * @return {@code true} if word was erased, {@code false} otherwise.
+     */
+    public boolean erase(String word) {
+        if (word == null || word.isEmpty())
+            return false;
+
+        RadixTrieNode parent = null;
+        RadixTrieNode current = root;
+        int i = 0;
+        while (i < word.length()) {
+            RadixTrieNode child = current.getChild(word.charAt(i));
+            if (child == null || !word.startsWith(child.getLabel(), i))
+                return false;
+
+            parent = current;
+            current = child;
+            i += child.getLabel().length();
+        }
+        if (!current.isTerminal())
+            return false;
+
+        current.setTerminal(false);
+        if (current.isLeaf()) {
+            parent.removeChild(word.charAt(word.length() - current.getLabel().length()));
+            if (parent != root && !parent.isTerminal() && parent.childCount() == 1)
+                parent.mergeWithOnlyChild();
+        } else if (current.childCount() == 1) {
+            current.mergeWithOnlyChild();
+        }
+        return true;
+    }
+
+    /**
+     * This method iterates through labels matching consecutive parts of a given {@code String}.
+     *
+     * @param word a {@code String} to iterate through.
+     * @return a node ending exactly at the last character of a given {@code String} if exists,
+     * {@code null} otherwise.
+     */
+    private RadixTrieNode find(String word) {
+        if (word == null)
+            return null;
+
+        RadixTrieNode current = root;
+        int i = 0;
+        while (i < word.length()) {
+            current = current.getChild(word.charAt(i));
+            if (current == null || !word.startsWith(current.getLabel(), i))
+                return null;
+
+            i += current.getLabel().length();
+        }
+        return current;
+    }
+
+    /**
+     * @param label a label of an edge.
+     * @param word  a word to compare with.
+     * @param from  an index of a first character of a given word to compare.
+     * @return the number of leading characters of a given label equal to the characters of a given word
+     * starting from a given index.
+     */
+    private static int commonPrefixLength(String label, String word, int from) {
+        int max = Math.min(label.length(), word.length() - from);
+        int i = 0;
+        while (i < max && label.charAt(i) == word.charAt(from + i))
+            i++;
+
+        return i;
+    }
+
+    /**
+     * @return {@code String} representation of this trie.
+     */
+    @Override
+    public String toString() {
+        if (root.isLeaf())
+            return "{}";
+
+        StringJoiner joiner = new StringJoiner("\n");
+        for (int i = 0; i < root.childCount(); i++) {
+            RadixTrieNode child = root.childAt(i);
+            joiner.add(STR."{\{child.getLabel()} -> \{child}}");
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,194 @@
+package com.lucasmalara.datastruct.trie;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a node in a radix trie.
+ * A node is linked to its parent by an edge labeled with a non-empty substring of a key,
+ * instead of a single character.
+ *
+ * @see RadixTrie
+ */
+public class RadixTrieNode {
+
+    /**
+     * Child arrays shared by nodes without children, replaced by copies before the first child is added.
+     */
+    private static final char[] NO_KEYS = {};
+    private static final RadixTrieNode[] NO_NODES = {};
+
+    /**
+     * The first characters of labels of the children, sorted ascending.
+     */
+    private char[] keys = NO_KEYS;
+
+    /**
+     * Children parallel to {@link #keys}.
+     */
+    private RadixTrieNode[] nodes = NO_NODES;
+
+    /**
+     * The number of children of this node.
+     */
+    private int size;
+
+    /**
+     * A label of an edge linking this node to its parent.
+     */
+    private String label;
+
+    /**
+     * {@code Boolean} value determining if this node is associated with
+     * a last character of a word contained by the trie.
+     */
+    private boolean isTerminal;
+
+    /**
+     * @param label      a label of an edge linking this node to its parent.
+     * @param isTerminal a value determining whether this node ends a word in the trie.
+     */
+    RadixTrieNode(String label, boolean isTerminal) {
+        this.label = label;
+        this.isTerminal = isTerminal;
+    }
+
+    /**
+     * @return a label of an edge linking this node to its parent, an empty {@code String} for a root.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return {@code true} if this node is associated with a last character of a word contained by the trie,
+     * {@code false} otherwise.
+     */
+    public boolean isTerminal() {
+        return isTerminal;
+    }
+
+    /**
+     * This method checks if this node is a leaf.
+     *
+     * @return {@code true} if this node does not have a child, {@code false} otherwise.
+     */
+    public boolean isLeaf() {
+        return size == 0;
+    }
+
+    /**
+     * This method returns a child of this node by a first character of its label.
+     *
+     * @param c a first character of a label of a node to retrieve.
+     * @return a child whose label starts with a given character if exists, null otherwise.
+     */
+    public RadixTrieNode getChild(char c) {
+        int i = Arrays.binarySearch(keys, 0, size, c);
+        return i >= 0 ? nodes[i] : null;
+    }
+
+    /**
+     * @return the number of children of this node.
+     */
+    public int childCount() {
+        return size;
+    }
+
+    /**
+     * @param label a new label of an edge linking this node to its parent.
+     */
+    void setLabel(String label) {
+        this.label = label;
+    }
+
+    /**
+     * @param isTerminal a value determining whether this node ends a word in the trie.
+     */
+    void setTerminal(boolean isTerminal) {
+        this.isTerminal = isTerminal;
+    }
+
+    /**
+     * This method adds a given node as a child of this node,
+     * replacing a child whose label starts with the same character.
+     *
+     * @param node a node to become a child of this node.
+     */
+    void putChild(RadixTrieNode node) {
+        char c = node.label.charAt(0);
+        int i = Arrays.binarySearch(keys, 0, size, c);
+        if (i >= 0) {
+            nodes[i] = node;
+            return;
+        }
+
+        int at = -i - 1;
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(2, size * 2));
+            nodes = Arrays.copyOf(nodes, keys.length);
+        }
+        System.arraycopy(keys, at, keys, at + 1, size - at);
+        System.arraycopy(nodes, at, nodes, at + 1, size - at);
+        keys[at] = c;
+        nodes[at] = node;
+        size++;
+    }
+
+    /**
+     * This method removes a child of this node by a first character of its label.
+     *
+     * @param c a first character of a label of a node to remove.
+     * @return removed child if exists, {@code null} otherwise.
+     */
+    RadixTrieNode removeChild(char c) {
+        int i = Arrays.binarySearch(keys, 0, size, c);
+        if (i < 0)
+            return null;
+
+        RadixTrieNode removed = nodes[i];
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(nodes, i + 1, nodes, i, size - i - 1);
+        nodes[--size] = null;
+        return removed;
+    }
+
+    /**
+     * This method merges the only child of this node into this node.
+     * The label of the child is appended to the label of this node,
+     * and this node takes over the children and the terminal mark of the child.
+     */
+    void mergeWithOnlyChild() {
+        RadixTrieNode child = nodes[0];
+        label = label + child.label;
+        isTerminal = child.isTerminal;
+        keys = child.keys;
+        nodes = child.nodes;
+        size = child.size;
+    }
+
+    /**
+     * @param slot an index of a child, from {@code 0} inclusive to {@link #childCount()} exclusive.
+     * @return a child at a given index in ascending order of labels.
+     */
+    RadixTrieNode childAt(int slot) {
+        return nodes[slot];
+    }
+
+    /**
+     * @return {@code String} representation of this node.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (!isLeaf()) {
+            sb.append('{');
+            for (int i = 0; i < size; i++) {
+                if (i > 0)
+                    sb.append(", ");
+                sb.append(nodes[i].label).append('=').append(nodes[i]);
+            }
+            sb.append("}, ");
+        }
+        return sb.append(isTerminal).toString();
+    }
+}
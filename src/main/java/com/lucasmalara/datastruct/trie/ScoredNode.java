@@ -0,0 +1,79 @@
+package com.lucasmalara.datastruct.trie;
+
+/**
+ * This class represents a node of a trie whose words have scores, inserted by {@link Trie#insert(String, long)}.
+ * A trie switches to these nodes the first time a word is given a score other than {@code 0},
+ * so tries that never use scores do not pay for them in every node.
+ *
+ * @see Trie#topK(String, int)
+ */
+final class ScoredNode extends TrieNode {
+
+    /**
+     * A score of a word ending at this node.
+     */
+    private long score;
+
+    /**
+     * An upper bound of scores of words ending at this node or below it,
+     * {@link Long#MIN_VALUE} if there is no such word.
+     */
+    private long maxScore = Long.MIN_VALUE;
+
+    /**
+     * This constructor creates a node without children, not marked as terminal.
+     */
+    ScoredNode() {
+    }
+
+    /**
+     * This constructor creates a node taking over a given node, which must not be used afterwards.
+     * The upper bound of scores is left to be recomputed once the children are converted as well.
+     *
+     * @param other a node to take over.
+     * @param score a score of a word ending at this node.
+     */
+    ScoredNode(TrieNode other, long score) {
+        super(other);
+        this.score = score;
+    }
+
+    @Override
+    public long getScore() {
+        return score;
+    }
+
+    @Override
+    void setScore(long score) {
+        this.score = score;
+    }
+
+    /**
+     * @implNote The bound is maintained by the operations of a trie.
+     * It may overestimate the highest score, but it never underestimates it.
+     */
+    @Override
+    long maxScore() {
+        return maxScore;
+    }
+
+    @Override
+    void raiseMaxScore(long score) {
+        if (score > maxScore)
+            maxScore = score;
+    }
+
+    @Override
+    void refreshMaxScore() {
+        long max = isTerminal() ? score : Long.MIN_VALUE;
+        for (int slot = nextSlot(-1); slot >= 0; slot = nextSlot(slot))
+            max = Math.max(max, childAt(slot).maxScore());
+
+        maxScore = max;
+    }
+
+    @Override
+    TrieNode newNode() {
+        return new ScoredNode();
+    }
+}
@@ -1,8 +1,17 @@
 package com.lucasmalara.datastruct.trie;
 
-import java.util.Map;
-import java.util.Optional;
+import com.lucasmalara.datastruct.trie.TrieMetrics.Operation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Tree-based data structure known also as a {@code digital tree} or a {@code prefix tree}.
@@ -25,8 +34,42 @@ public class Trie {
             // This overridden method ensures
             // that root is always not terminal - that is defined by a definition.
         }
+
+        @Override
+        long maxScore() {
+            if (!scored)
+                return super.maxScore();
+
+            // the root stays a plain node, so its bound is taken from its children
+            long max = Long.MIN_VALUE;
+            for (int slot = nextSlot(-1); slot >= 0; slot = nextSlot(slot))
+                max = Math.max(max, childAt(slot).maxScore());
+
+            return max;
+        }
+
+        @Override
+        TrieNode newNode() {
+            return scored ? new ScoredNode() : new TrieNode();
+        }
     };
 
+    /**
+     * {@code Boolean} value determining if nodes below the {@link #root} are {@link ScoredNode}s.
+     *
+     * @implNote A trie starts without scores, and switches to scored nodes
+     * the first time a word is given a score other than {@code 0}.
+     */
+    private boolean scored;
+
+    /**
+     * A listener of operations of this trie, {@code null} if instrumentation is disabled.
+     *
+     * @implNote Operations check this field once and take an uninstrumented path if it is {@code null},
+     * so a disabled instrumentation neither reads a clock nor allocates.
+     */
+    private TrieMetrics metrics;
+
     /**
      * This constructor restricts instantiation of a trie.
      *
@@ -42,6 +85,112 @@ public class Trie {
         return new Trie();
     }
 
+    /**
+     * <p>
+     * This method builds a trie from words given in ascending order, as defined by {@link String#compareTo(String)}.
+     * It is equivalent to inserting every word into an empty trie, but it runs in linear time.
+     * </p>
+     * <p>
+     * Nodes associated with the previous word are kept on a stack,
+     * so only the suffix following a common prefix with the previous word is iterated.
+     * Since words are sorted, a child is always appended after the existing children of its parent,
+     * and a node is trimmed to its final size as soon as no more children can be appended to it.
+     * </p>
+     *
+     * @param words words in ascending order; {@code null} elements are skipped and duplicates are allowed.
+     * @return a trie containing given words.
+     * @throws IllegalArgumentException if given words are not in ascending order.
+     */
+    public static Trie fromSorted(Iterator<String> words) {
+        Trie trie = new Trie();
+        TrieNode[] path = new TrieNode[16];
+        path[0] = trie.root;
+        String previous = "";
+        while (words.hasNext()) {
+            String word = words.next();
+            if (word == null)
+                continue;
+
+            int common = commonPrefixLength(previous, word);
+            if (common < previous.length()
+                    && (common == word.length() || word.charAt(common) < previous.charAt(common)))
+                throw new IllegalArgumentException(STR."Words are not sorted: \"\{word}\" after \"\{previous}\"");
+
+            // nodes below the common prefix will never get another child
+            for (int i = previous.length(); i > common; i--) {
+                path[i].trimToSize();
+                path[i].refreshMaxScore();
+                path[i].refreshCount();
+            }
+
+            if (path.length <= word.length())
+                path = Arrays.copyOf(path, Math.max(path.length * 2, word.length() + 1));
+
+            for (int i = common; i < word.length(); i++)
+                path[i + 1] = path[i].nearestChild(word.charAt(i));
+
+            path[word.length()].setTerminal(true);
+            previous = word;
+        }
+
+        for (int i = previous.length(); i >= 0; i--) {
+            path[i].trimToSize();
+            path[i].refreshMaxScore();
+            path[i].refreshCount();
+        }
+        return trie;
+    }
+
+    /**
+     * This method builds a trie from words given in ascending order.
+     *
+     * @param words words in ascending order; {@code null} elements are skipped and duplicates are allowed.
+     * @return a trie containing given words.
+     * @throws IllegalArgumentException if given words are not in ascending order.
+     * @see #fromSorted(Iterator)
+     */
+    public static Trie fromSorted(Stream<String> words) {
+        return fromSorted(words.iterator());
+    }
+
+    /**
+     * <p>
+     * This method reads a trie written by {@link #writeTo(WritableByteChannel)}.
+     * Nodes are rebuilt directly from their preorder encoding, without building or inserting any word,
+     * and cached counts are recomputed as each node is finished.
+     * Nodes are converted to scored ones afterwards only if any word was written with a score.
+     * </p>
+     * <p>
+     * A given channel is read through a buffer of a fixed size, so it may be read past the end of a trie.
+     * It is not closed.
+     * </p>
+     *
+     * @param channel a channel to read from.
+     * @return a trie equal to the trie that was written.
+     * @throws IOException if an I/O error occurs or a channel does not contain a valid trie.
+     */
+    public static Trie readFrom(ReadableByteChannel channel) throws IOException {
+        Trie trie = new Trie();
+        Map<TrieNode, Long> scores = TrieCodec.decode(trie.root, channel);
+        if (!scores.isEmpty())
+            trie.toScored(scores);
+
+        return trie;
+    }
+
+    /**
+     * This method reads a trie written by {@link #writeTo(OutputStream)}.
+     * A given stream may be read past the end of a trie and it is not closed.
+     *
+     * @param in a stream to read from.
+     * @return a trie equal to the trie that was written.
+     * @throws IOException if an I/O error occurs or a stream does not contain a valid trie.
+     * @see #readFrom(ReadableByteChannel)
+     */
+    public static Trie readFrom(InputStream in) throws IOException {
+        return readFrom(Channels.newChannel(in));
+    }
+
     /**
      * <p>
      * This method insert a given {@code String} to this trie.
@@ -57,15 +206,452 @@ public class Trie {
      * and we check the same condition for that node.
      * </p>
      *
+     * <p>
+     * A new word is given a score of {@code 0}; a score of a word already in this trie is kept.
+     * </p>
+     *
      * @param word a {@code String} to insert in this trie.
+     * @see #insert(String, long)
      */
     public void insert(String word) {
-        if (word != null) {
-            TrieNode current = root;
-            for (Character c : word.toCharArray())
-                current = current.nearestChild(c);
+        insert((CharSequence) word);
+    }
+
+    /**
+     * This method insert a given {@code CharSequence} to this trie, reading its characters in place.
+     *
+     * @param word a {@code CharSequence} to insert in this trie.
+     * @see #insert(String)
+     */
+    public void insert(CharSequence word) {
+        if (word != null)
+            insert(word, null, 0, word.length());
+    }
+
+    /**
+     * This method insert characters of a given range of a given array to this trie, reading them in place.
+     *
+     * @param buffer an array containing a word to insert in this trie.
+     * @param offset an index of the first character of a word.
+     * @param length the number of characters of a word.
+     * @throws IndexOutOfBoundsException if a given range is out of bounds of a given array.
+     * @see #insert(String)
+     */
+    public void insert(char[] buffer, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        insert(null, buffer, offset, length);
+    }
+
+    /**
+     * <p>
+     * This method inserts given words to this trie, walking shared prefixes only once.
+     * </p>
+     * <p>
+     * Words are inserted in ascending order, and nodes associated with the previous word are kept on a stack,
+     * so an insertion of a word continues from the node of its common prefix with the previous word
+     * instead of starting again from the root.
+     * Counts of words are updated along that stack, without walking a word again.
+     * </p>
+     * <p>
+     * A new word is given a score of {@code 0}; a score of a word already in this trie is kept.
+     * </p>
+     *
+     * @param words words to insert in this trie; {@code null} and empty words are skipped.
+     * @implNote While instrumentation is enabled, each word is inserted by {@link #insert(String)},
+     * so each of them is reported.
+     * @see #insert(String)
+     */
+    public void insertAll(Collection<String> words) {
+        if (metrics != null) {
+            words.forEach(this::insert);
+            return;
+        }
 
+        String[] sorted = words.toArray(String[]::new);
+        Arrays.sort(sorted, Comparator.nullsFirst(Comparator.naturalOrder()));
+        TrieNode[] path = new TrieNode[16];
+        path[0] = root;
+        root.raiseMaxScore(0);
+        String previous = "";
+        for (String word : sorted) {
+            if (word == null || word.isEmpty())
+                continue;
+
+            int common = commonPrefixLength(previous, word);
+            if (path.length <= word.length())
+                path = Arrays.copyOf(path, Math.max(path.length * 2, word.length() + 1));
+
+            // nodes of the common prefix were created and had their bounds raised by the previous word
+            for (int i = common; i < word.length(); i++) {
+                path[i + 1] = path[i].nearestChild(word.charAt(i));
+                path[i + 1].raiseMaxScore(0);
+            }
+
+            TrieNode last = path[word.length()];
+            if (!last.isTerminal()) {
+                last.setTerminal(true);
+                last.setScore(0);
+                for (int i = 0; i <= word.length(); i++)
+                    path[i].addCount(1);
+            }
+            previous = word;
+        }
+    }
+
+    /**
+     * This method insert a word given either as a {@code CharSequence} or as a range of an array.
+     *
+     * @param chars  a word to insert, {@code null} if a word is given by an array.
+     * @param buffer an array containing a word to insert, {@code null} if a word is given by a {@code CharSequence}.
+     * @param offset an index of the first character of a word in a given array.
+     * @param length the number of characters of a word.
+     */
+    private void insert(CharSequence chars, char[] buffer, int offset, int length) {
+        if (length == 0)
+            return;
+
+        TrieMetrics metrics = this.metrics;
+        if (metrics == null) {
+            insertPath(chars, buffer, offset, length);
+            return;
+        }
+
+        TrieOperationEvent event = TrieOperationEvent.started();
+        long start = System.nanoTime();
+        int existing = matchedLength(chars, buffer, offset, length);
+        insertPath(chars, buffer, offset, length);
+        report(metrics, event, Operation.INSERT, length, length, start, length - existing, 0);
+    }
+
+    /**
+     * @param chars  a word to insert, {@code null} if a word is given by an array.
+     * @param buffer an array containing a word to insert, {@code null} if a word is given by a {@code CharSequence}.
+     * @param offset an index of the first character of a word in a given array.
+     * @param length the number of characters of a word, at least {@code 1}.
+     * @see #insert(CharSequence, char[], int, int)
+     */
+    private void insertPath(CharSequence chars, char[] buffer, int offset, int length) {
+        TrieNode current = root;
+        current.raiseMaxScore(0);
+        for (int i = 0; i < length; i++) {
+            current = current.nearestChild(charAt(chars, buffer, offset, i));
+            current.raiseMaxScore(0);
+        }
+
+        if (!current.isTerminal()) {
             current.setTerminal(true);
+            current.setScore(0);
+            addCounts(chars, buffer, offset, length, 1);
+        }
+    }
+
+    /**
+     * This method reads a character of a word given either as a {@code CharSequence} or as a range of an array,
+     * so that both are traversed by the same code without copying characters.
+     *
+     * @param chars  a word, {@code null} if a word is given by an array.
+     * @param buffer an array containing a word, {@code null} if a word is given by a {@code CharSequence}.
+     * @param offset an index of the first character of a word in a given array.
+     * @param i      an index of a character of a word.
+     * @return an ith character of a word.
+     */
+    private static char charAt(CharSequence chars, char[] buffer, int offset, int i) {
+        return buffer != null ? buffer[offset + i] : chars.charAt(i);
+    }
+
+    /**
+     * This method insert a given {@code String} to this trie with a given score,
+     * replacing a score of that {@code String} if it is already in this trie.
+     * Each node on the path of that {@code String} keeps the highest score of the words below it,
+     * which lets {@link #topK(String, int)} skip subtries that cannot contain a better word.
+     * <p>
+     * Nodes store scores only once a score other than {@code 0} is inserted: the first such score
+     * replaces every node below the root with a copy storing scores. Nodes obtained before,
+     * from {@link #depthFirstSearch(String)} or from the children of {@link #root}, no longer belong to this trie,
+     * and changes made through them do not affect it.
+     * </p>
+     *
+     * @param word  a {@code String} to insert in this trie.
+     * @param score a score of a given {@code String}.
+     * @see #insert(String)
+     */
+    public void insert(String word, long score) {
+        if (word == null || word.isEmpty())
+            return;
+
+        TrieMetrics metrics = this.metrics;
+        if (metrics == null) {
+            insertPath(word, score);
+            return;
+        }
+
+        TrieOperationEvent event = TrieOperationEvent.started();
+        long start = System.nanoTime();
+        int existing = matchedLength(word, null, 0, word.length());
+        insertPath(word, score);
+        report(metrics, event, Operation.INSERT, word.length(), word.length(), start, word.length() - existing, 0);
+    }
+
+    /**
+     * @param word  a non-empty {@code String} to insert in this trie.
+     * @param score a score of a given {@code String}.
+     * @see #insert(String, long)
+     */
+    private void insertPath(String word, long score) {
+        if (score != 0 && !scored)
+            toScored(Map.of());
+
+        TrieNode current = root;
+        current.raiseMaxScore(score);
+        for (int i = 0; i < word.length(); i++) {
+            current = current.nearestChild(word.charAt(i));
+            current.raiseMaxScore(score);
+        }
+
+        boolean inserted = !current.isTerminal();
+        boolean lowered = !inserted && current.getScore() > score;
+        current.setTerminal(true);
+        // a score other than 0 has made every node a ScoredNode above
+        current.setScore(score);
+        if (inserted)
+            addCounts(word, null, 0, word.length(), 1);
+        else if (lowered)
+            refreshMaxScores(root, word, 0);
+    }
+
+    /**
+     * This method replaces every node below the {@link #root} with a {@link ScoredNode}
+     * copying its children, and computes upper bounds of scores bottom-up.
+     * Replaced nodes keep their own child arrays, so changes made through them cannot corrupt this trie.
+     *
+     * @param scores scores of words ending at given nodes; other words get a score of {@code 0}.
+     */
+    private void toScored(Map<TrieNode, Long> scores) {
+        scored = true;
+        List<TrieNode> preorder = new ArrayList<>();
+        Deque<TrieNode> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            TrieNode node = stack.pop();
+            preorder.add(node);
+            // replacing a child keeps its slot, so slots can be iterated meanwhile
+            for (int slot = node.nextSlot(-1); slot >= 0; slot = node.nextSlot(slot)) {
+                TrieNode child = node.childAt(slot);
+                TrieNode copy = new ScoredNode(child, scores.getOrDefault(child, 0L));
+                node.putChild(node.keyAt(slot), copy);
+                stack.push(copy);
+            }
+        }
+        for (int i = preorder.size() - 1; i >= 0; i--)
+            preorder.get(i).refreshMaxScore();
+    }
+
+    /**
+     * This method changes the numbers of words of nodes on the path of a given word.
+     * It is called once per change of the words of this trie, after the path is already created.
+     *
+     * @param chars  a word whose path is updated, {@code null} if a word is given by an array.
+     * @param buffer an array containing a word, {@code null} if a word is given by a {@code CharSequence}.
+     * @param offset an index of the first character of a word in a given array.
+     * @param length the number of characters of a word.
+     * @param delta  a change of the number of words.
+     */
+    private void addCounts(CharSequence chars, char[] buffer, int offset, int length, int delta) {
+        TrieNode current = root;
+        current.addCount(delta);
+        for (int i = 0; i < length; i++) {
+            current = current.getChild(charAt(chars, buffer, offset, i));
+            current.addCount(delta);
+        }
+    }
+
+    /**
+     * This method recomputes the upper bounds of scores of nodes on the path of a given word, bottom-up.
+     *
+     * @param fromNode       a node to start iteration from.
+     * @param word           a word whose path is recomputed.
+     * @param characterIndex an index of an ith character of a given {@code String}.
+     */
+    private void refreshMaxScores(TrieNode fromNode, String word, int characterIndex) {
+        if (characterIndex < word.length())
+            refreshMaxScores(fromNode.getChild(word.charAt(characterIndex)), word, characterIndex + 1);
+
+        fromNode.refreshMaxScore();
+    }
+
+    /**
+     * <p>
+     * This method returns up to {@code k} words starting with a given prefix that have the highest scores,
+     * in descending order of scores.
+     * </p>
+     * <p>
+     * It is a best-first search: candidates are polled from a priority queue ordered by the highest score
+     * they can lead to, that is a score of a word or an upper bound of scores of a subtrie.
+     * A subtrie is expanded only if its bound beats the words found so far,
+     * so the cost depends on {@code k} and the length of words rather than on the size of a subtrie.
+     * </p>
+     *
+     * @param prefix a prefix of words to return; an empty {@code String} considers all words.
+     * @param k      the maximum number of words to return.
+     * @return words with the highest scores, ties broken by ascending order of words.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     * @see #insert(String, long)
+     */
+    public List<String> topK(String prefix, int k) {
+        if (k < 0)
+            throw new IllegalArgumentException(STR."k must not be negative: \{k}");
+
+        TrieNode start = depthFirstSearch(prefix).orElse(null);
+        if (start == null || k == 0)
+            return List.of();
+
+        List<String> result = new ArrayList<>(Math.min(k, 64));
+        PriorityQueue<Candidate> queue = new PriorityQueue<>();
+        queue.add(new Candidate(start, prefix, start.maxScore()));
+        while (!queue.isEmpty() && result.size() < k) {
+            Candidate candidate = queue.poll();
+            TrieNode node = candidate.node();
+            if (node == null) {
+                result.add(candidate.word());
+                continue;
+            }
+
+            if (node.isTerminal())
+                queue.add(new Candidate(null, candidate.word(), node.getScore()));
+
+            for (int slot = node.nextSlot(-1); slot >= 0; slot = node.nextSlot(slot)) {
+                TrieNode child = node.childAt(slot);
+                if (child.maxScore() != Long.MIN_VALUE)
+                    queue.add(new Candidate(child, candidate.word() + node.keyAt(slot), child.maxScore()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * <p>
+     * This method finds the longest word of this trie that is a prefix of a given input,
+     * for example the most specific route matching a path.
+     * </p>
+     * <p>
+     * The input is walked forward once, remembering the length of the last terminal node passed,
+     * and a {@code String} is created only for the result.
+     * </p>
+     *
+     * @param input a {@code CharSequence} to match words against.
+     * @return an {@code Optional} describing the longest word that is a prefix of a given input,
+     * an empty {@code Optional} if there is none or a given input is {@code null}.
+     * @see #prefixesOf(CharSequence)
+     */
+    public Optional<String> longestPrefixOf(CharSequence input) {
+        if (input == null)
+            return Optional.empty();
+
+        int longest = -1;
+        TrieNode current = root;
+        for (int i = 0; i < input.length(); i++) {
+            current = current.getChild(input.charAt(i));
+            if (current == null)
+                break;
+
+            if (current.isTerminal())
+                longest = i + 1;
+        }
+        return longest < 0 ? Optional.empty() : Optional.of(input.subSequence(0, longest).toString());
+    }
+
+    /**
+     * This method finds all words of this trie that are prefixes of a given input, in one forward walk.
+     *
+     * @param input a {@code CharSequence} to match words against.
+     * @return words that are prefixes of a given input from the shortest to the longest,
+     * an empty list if there is none or a given input is {@code null}.
+     * @see #longestPrefixOf(CharSequence)
+     */
+    public List<String> prefixesOf(CharSequence input) {
+        if (input == null)
+            return List.of();
+
+        List<String> result = new ArrayList<>();
+        TrieNode current = root;
+        for (int i = 0; i < input.length(); i++) {
+            current = current.getChild(input.charAt(i));
+            if (current == null)
+                break;
+
+            if (current.isTerminal())
+                result.add(input.subSequence(0, i + 1).toString());
+        }
+        return result;
+    }
+
+    /**
+     * <p>
+     * This method returns words of this trie within a given Levenshtein distance of a given {@code String},
+     * that is words reachable from it by at most {@code maxEdits} insertions, deletions or substitutions
+     * of single characters.
+     * </p>
+     * <p>
+     * The trie is traversed once, carrying a row of the edit distance table per visited node:
+     * distances between a prefix associated with a node and each prefix of a given {@code String}.
+     * A child row is computed from its parent row only, and a branch is pruned as soon as
+     * the minimum of its row exceeds {@code maxEdits}, since distances never decrease further down.
+     * </p>
+     *
+     * @param word     a {@code String} to search for similar words.
+     * @param maxEdits the maximum edit distance of returned words.
+     * @return words within a given edit distance in ascending order,
+     * an empty list if a given {@code String} is {@code null}.
+     * @throws IllegalArgumentException if {@code maxEdits} is negative.
+     */
+    public List<String> fuzzySearch(String word, int maxEdits) {
+        if (maxEdits < 0)
+            throw new IllegalArgumentException(STR."maxEdits must not be negative: \{maxEdits}");
+
+        if (word == null)
+            return List.of();
+
+        int[] row = new int[word.length() + 1];
+        for (int i = 0; i < row.length; i++)
+            row[i] = i;
+
+        List<String> result = new ArrayList<>();
+        fuzzySearch(root, word, maxEdits, row, new StringBuilder(), result);
+        return result;
+    }
+
+    /**
+     * @param fromNode    a node whose children are visited.
+     * @param word        a {@code String} to search for similar words.
+     * @param maxEdits    the maximum edit distance of collected words.
+     * @param previousRow edit distances between characters associated with a given node
+     *                    and each prefix of a given {@code String}.
+     * @param path        characters associated with a given node.
+     * @param result      a list to collect words to.
+     */
+    private void fuzzySearch(TrieNode fromNode, String word, int maxEdits, int[] previousRow,
+                             StringBuilder path, List<String> result) {
+        for (int slot = fromNode.nextSlot(-1); slot >= 0; slot = fromNode.nextSlot(slot)) {
+            char c = fromNode.keyAt(slot);
+            int[] row = new int[previousRow.length];
+            row[0] = previousRow[0] + 1;
+            int min = row[0];
+            for (int i = 1; i < row.length; i++) {
+                int substitution = previousRow[i - 1] + (word.charAt(i - 1) == c ? 0 : 1);
+                row[i] = Math.min(substitution, Math.min(row[i - 1], previousRow[i]) + 1);
+                min = Math.min(min, row[i]);
+            }
+
+            if (min > maxEdits)
+                continue;
+
+            TrieNode child = fromNode.childAt(slot);
+            path.append(c);
+            if (child.isTerminal() && row[row.length - 1] <= maxEdits)
+                result.add(path.toString());
+
+            fuzzySearch(child, word, maxEdits, row, path, result);
+            path.setLength(path.length() - 1);
         }
     }
 
@@ -78,6 +664,101 @@ public class Trie {
         return root.isLeaf();
     }
 
+    /**
+     * @return the number of words contained by this trie.
+     */
+    public int size() {
+        return root.count();
+    }
+
+    /**
+     * This method counts words of this trie starting with a given prefix,
+     * reading a number cached by a node associated with that prefix instead of visiting the subtrie.
+     *
+     * @param prefix a prefix of words to count; an empty {@code String} counts all words.
+     * @return the number of words starting with a given prefix, {@code 0} if a given prefix is {@code null}.
+     */
+    public int countWithPrefix(String prefix) {
+        return depthFirstSearch(prefix).map(TrieNode::count).orElse(0);
+    }
+
+    /**
+     * <p>
+     * This method returns the number of words of this trie preceding a given {@code String}
+     * in ascending order, as defined by {@link String#compareTo(String)}.
+     * A given {@code String} does not have to be contained by this trie.
+     * </p>
+     * <p>
+     * Along the path of a given {@code String}, it sums the cached numbers of words of the siblings
+     * associated with smaller characters, and counts words that are proper prefixes of a given {@code String}.
+     * </p>
+     *
+     * @param word a {@code String} to rank.
+     * @return the number of words smaller than a given {@code String}, {@code 0} if it is {@code null}.
+     * @see #select(int)
+     */
+    public int rank(String word) {
+        if (word == null)
+            return 0;
+
+        int rank = 0;
+        TrieNode current = root;
+        for (int i = 0; i < word.length(); i++) {
+            if (current.isTerminal())
+                rank++;
+
+            char c = word.charAt(i);
+            TrieNode next = null;
+            for (int slot = current.nextSlot(-1); slot >= 0; slot = current.nextSlot(slot)) {
+                if (current.keyAt(slot) >= c) {
+                    if (current.keyAt(slot) == c)
+                        next = current.childAt(slot);
+
+                    break;
+                }
+                rank += current.childAt(slot).count();
+            }
+            if (next == null)
+                return rank;
+
+            current = next;
+        }
+        return rank;
+    }
+
+    /**
+     * This method returns a word of this trie at a given position in ascending order,
+     * descending by the cached numbers of words of children instead of enumerating preceding words.
+     *
+     * @param index a position of a word, starting from {@code 0}.
+     * @return a word preceded by exactly {@code index} words of this trie.
+     * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size()}.
+     * @see #rank(String)
+     */
+    public String select(int index) {
+        Objects.checkIndex(index, size());
+        StringBuilder word = new StringBuilder();
+        TrieNode current = root;
+        while (true) {
+            if (current.isTerminal()) {
+                if (index == 0)
+                    return word.toString();
+
+                index--;
+            }
+
+            for (int slot = current.nextSlot(-1); ; slot = current.nextSlot(slot)) {
+                TrieNode child = current.childAt(slot);
+                if (index < child.count()) {
+                    word.append(current.keyAt(slot));
+                    current = child;
+                    break;
+                }
+                index -= child.count();
+            }
+        }
+    }
+
     /**
      * This method search through this trie to find if a given {@code String} is in this trie
      * and a node associated with a last character of that {@code String} is marked as a terminal.
@@ -89,8 +770,230 @@ public class Trie {
      * @see TrieNode#isTerminal()
      */
     public boolean search(String word) {
-        Optional<TrieNode> nodeOptional = depthFirstSearch(word);
-        return nodeOptional.map(TrieNode::isTerminal).orElse(false);
+        return search((CharSequence) word);
+    }
+
+    /**
+     * This method search through this trie to find if a given {@code CharSequence} is in this trie,
+     * reading its characters in place.
+     *
+     * @param word a {@code CharSequence} to search for in this trie.
+     * @return {@code true} if this trie contains a given {@code CharSequence}, {@code false} otherwise.
+     * @see #search(String)
+     */
+    public boolean search(CharSequence word) {
+        return word != null && search(word, null, 0, word.length());
+    }
+
+    /**
+     * This method search through this trie to find if characters of a given range of a given array
+     * are in this trie, reading them in place.
+     *
+     * @param buffer an array containing a word to search for in this trie.
+     * @param offset an index of the first character of a word.
+     * @param length the number of characters of a word.
+     * @return {@code true} if this trie contains a given word, {@code false} otherwise.
+     * @throws IndexOutOfBoundsException if a given range is out of bounds of a given array.
+     * @see #search(String)
+     */
+    public boolean search(char[] buffer, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        return search(null, buffer, offset, length);
+    }
+
+    /**
+     * <p>
+     * This method searches for each of given words in this trie, walking shared prefixes only once.
+     * </p>
+     * <p>
+     * Words are grouped by their prefixes while the trie is walked, as in a multikey quicksort:
+     * a group of words sharing a prefix of length {@code d} is partitioned around the {@code d}th character
+     * of one of them, and words equal to it descend to a single child together,
+     * so a node is visited once per group rather than once per word.
+     * A group whose prefix is not in this trie is not found without reading the rest of its words,
+     * and a group of one word is walked directly.
+     * </p>
+     *
+     * @param words words to search for; a {@code null} word is never found.
+     * @return an array whose ith element is the result of {@link #search(String)} of an ith word.
+     * @implNote Groups are kept on an explicit stack, so long words do not deepen recursion.
+     * While instrumentation is enabled, each word is searched by {@link #search(String)},
+     * so each of them is reported.
+     * @see #search(String)
+     */
+    public boolean[] searchAll(List<String> words) {
+        boolean[] found = new boolean[words.size()];
+        if (metrics != null) {
+            for (int i = 0; i < found.length; i++)
+                found[i] = search(words.get(i));
+
+            return found;
+        }
+
+        String[] keys = words.toArray(String[]::new);
+        int[] order = new int[keys.length];
+        int size = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null)
+                order[size++] = i;
+        }
+
+        // a group is order[from, to) of words sharing a prefix of length depth, which leads to node
+        int[] froms = new int[16];
+        int[] tos = new int[16];
+        int[] depths = new int[16];
+        TrieNode[] nodes = new TrieNode[16];
+        int groups = 0;
+        froms[groups] = 0;
+        tos[groups] = size;
+        depths[groups] = 0;
+        nodes[groups++] = root;
+        while (groups > 0) {
+            int from = froms[--groups];
+            int to = tos[groups];
+            int depth = depths[groups];
+            TrieNode node = nodes[groups];
+            nodes[groups] = null;
+            if (node == null)
+                continue;
+
+            if (to - from == 1) {
+                String key = keys[order[from]];
+                for (int i = depth; i < key.length() && node != null; i++)
+                    node = node.getChild(key.charAt(i));
+
+                found[order[from]] = node != null && node.isTerminal();
+                continue;
+            }
+
+            // words ending at this node are moved to the front of a group
+            int ended = from;
+            for (int i = from; i < to; i++) {
+                if (keys[order[i]].length() == depth)
+                    swap(order, ended++, i);
+            }
+            for (int i = from; i < ended; i++)
+                found[order[i]] = node.isTerminal();
+            if (to - ended == 0)
+                continue;
+
+            // three-way partition of the rest by their character at depth
+            char pivot = keys[order[ended + (to - ended) / 2]].charAt(depth);
+            int lower = ended;
+            int greater = to;
+            for (int i = ended; i < greater; ) {
+                char c = keys[order[i]].charAt(depth);
+                if (c < pivot)
+                    swap(order, lower++, i++);
+                else if (c > pivot)
+                    swap(order, i, --greater);
+                else
+                    i++;
+            }
+
+            if (groups + 3 > froms.length) {
+                froms = Arrays.copyOf(froms, groups * 2 + 3);
+                tos = Arrays.copyOf(tos, groups * 2 + 3);
+                depths = Arrays.copyOf(depths, groups * 2 + 3);
+                nodes = Arrays.copyOf(nodes, groups * 2 + 3);
+            }
+            if (lower > ended) {
+                froms[groups] = ended;
+                tos[groups] = lower;
+                depths[groups] = depth;
+                nodes[groups++] = node;
+            }
+            if (to > greater) {
+                froms[groups] = greater;
+                tos[groups] = to;
+                depths[groups] = depth;
+                nodes[groups++] = node;
+            }
+            froms[groups] = lower;
+            tos[groups] = greater;
+            depths[groups] = depth + 1;
+            nodes[groups++] = node.getChild(pivot);
+        }
+        return found;
+    }
+
+    /**
+     * @param array an array.
+     * @param i     an index of an element to swap.
+     * @param j     an index of another element to swap.
+     */
+    private static void swap(int[] array, int i, int j) {
+        int element = array[i];
+        array[i] = array[j];
+        array[j] = element;
+    }
+
+    /**
+     * @param first  a {@code String}.
+     * @param second a {@code String}.
+     * @return the length of the longest common prefix of given {@code String}s.
+     */
+    private static int commonPrefixLength(String first, String second) {
+        int common = 0;
+        int max = Math.min(first.length(), second.length());
+        while (common < max && first.charAt(common) == second.charAt(common))
+            common++;
+
+        return common;
+    }
+
+    /**
+     * @param chars  a word to search for, {@code null} if a word is given by an array.
+     * @param buffer an array containing a word, {@code null} if a word is given by a {@code CharSequence}.
+     * @param offset an index of the first character of a word in a given array.
+     * @param length the number of characters of a word.
+     * @return {@code true} if this trie contains a given word, {@code false} otherwise.
+     * @see #search(String)
+     */
+    private boolean search(CharSequence chars, char[] buffer, int offset, int length) {
+        TrieMetrics metrics = this.metrics;
+        if (metrics == null) {
+            TrieNode node = find(chars, buffer, offset, length);
+            return node != null && node.isTerminal();
+        }
+
+        TrieOperationEvent event = TrieOperationEvent.started();
+        long start = System.nanoTime();
+        TrieNode node = find(chars, buffer, offset, length);
+        int depth = node != null ? length : matchedLength(chars, buffer, offset, length);
+        report(metrics, event, Operation.SEARCH, length, depth, start, 0, 0);
+        return node != null && node.isTerminal();
+    }
+
+    /**
+     * @param chars  a word to iterate through, {@code null} if a word is given by an array.
+     * @param buffer an array containing a word, {@code null} if a word is given by a {@code CharSequence}.
+     * @param offset an index of the first character of a word in a given array.
+     * @param length the number of characters of a word.
+     * @return a node associated with the last character of a word if exists, {@code null} otherwise.
+     */
+    private TrieNode find(CharSequence chars, char[] buffer, int offset, int length) {
+        TrieNode current = root;
+        for (int i = 0; i < length && current != null; i++)
+            current = current.getChild(charAt(chars, buffer, offset, i));
+
+        return current;
+    }
+
+    /**
+     * @param chars  a word to iterate through, {@code null} if a word is given by an array.
+     * @param buffer an array containing a word, {@code null} if a word is given by a {@code CharSequence}.
+     * @param offset an index of the first character of a word in a given array.
+     * @param length the number of characters of a word.
+     * @return the number of leading characters of a word that can be iterated from {@link #root}.
+     */
+    private int matchedLength(CharSequence chars, char[] buffer, int offset, int length) {
+        TrieNode current = root;
+        int depth = 0;
+        while (depth < length && (current = current.getChild(charAt(chars, buffer, offset, depth))) != null)
+            depth++;
+
+        return depth;
     }
 
     /**
@@ -102,7 +1005,16 @@ public class Trie {
      * empty {@code Optional} otherwise.
      */
     public Optional<TrieNode> depthFirstSearch(String word) {
-        return depthFirstSearch(root, word);
+        TrieMetrics metrics = this.metrics;
+        if (metrics == null || word == null)
+            return depthFirstSearch(root, word);
+
+        TrieOperationEvent event = TrieOperationEvent.started();
+        long start = System.nanoTime();
+        Optional<TrieNode> node = depthFirstSearch(root, word);
+        int depth = node.isPresent() ? word.length() : matchedLength(word, null, 0, word.length());
+        report(metrics, event, Operation.DEPTH_FIRST_SEARCH, word.length(), depth, start, 0, 0);
+        return node;
     }
 
     /**
@@ -119,8 +1031,8 @@ public class Trie {
         if (word == null)
             return Optional.empty();
 
-        for (Character c : word.toCharArray()) {
-            TrieNode byChar = current.getChild(c);
+        for (int i = 0; i < word.length(); i++) {
+            TrieNode byChar = current.getChild(word.charAt(i));
             if (byChar == null)
                 return Optional.empty();
 
@@ -129,6 +1041,54 @@ public class Trie {
         return Optional.of(current);
     }
 
+    /**
+     * This method lazily iterates through words of this trie starting with a given prefix, in ascending order.
+     * Words are found one at a time, as they are requested,
+     * so consuming a few words costs proportionally to these words rather than to the size of the subtrie.
+     * This trie must not be modified during an iteration.
+     *
+     * @param prefix a prefix of words to iterate through; an empty {@code String} iterates through all words.
+     * @return an iterator of words starting with a given prefix,
+     * an empty iterator if a given prefix is {@code null} or cannot be iterated from {@link #root}.
+     */
+    public Iterator<String> prefixIterator(String prefix) {
+        return new WordIterator(depthFirstSearch(prefix).orElse(null), prefix);
+    }
+
+    /**
+     * This method lazily streams words of this trie starting with a given prefix, in ascending order.
+     * A short-circuiting operation, e.g. {@link Stream#limit(long)}, stops the traversal early.
+     *
+     * @param prefix a prefix of words to stream; an empty {@code String} streams all words.
+     * @return a sequential stream of words starting with a given prefix.
+     * @see #prefixIterator(String)
+     */
+    public Stream<String> wordsWithPrefix(String prefix) {
+        return words(prefixIterator(prefix));
+    }
+
+    /**
+     * This method streams all words of this trie, in ascending order.
+     * A stream is sized, and a parallel one splits this trie into subtrees holding about the same number of words,
+     * going deeper below a character which starts most of the words.
+     * This trie must not be modified during a traversal.
+     *
+     * @return a sequential stream of all words of this trie, which can be turned parallel.
+     * @see #wordsWithPrefix(String)
+     */
+    public Stream<String> stream() {
+        return StreamSupport.stream(new WordSpliterator(root, ""), false);
+    }
+
+    /**
+     * @param iterator an iterator of words in ascending order.
+     * @return a sequential stream of words of a given iterator.
+     */
+    static Stream<String> words(Iterator<String> iterator) {
+        int characteristics = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL;
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, characteristics), false);
+    }
+
     /**
      * <p>
      * This method erases a given word stored in this trie by iterate through that word with nodes.
@@ -156,10 +1116,74 @@ public class Trie {
      * @return {@code true} if word was erased, {@code false} otherwise.
      */
     public boolean erase(String word) {
-        Optional<TrieNode> nodeOptional = depthFirstSearch(word);
-        boolean nodeFound = nodeOptional.isPresent();
-        if (nodeFound)
-            removeNodes(root, word, 0);
+        return erase((CharSequence) word);
+    }
+
+    /**
+     * This method erases a given {@code CharSequence} from this trie, reading its characters in place.
+     *
+     * @param word a word to erase from this trie.
+     * @return {@code true} if word was erased, {@code false} otherwise.
+     * @see #erase(String)
+     */
+    public boolean erase(CharSequence word) {
+        return word != null && erase(word, null, 0, word.length());
+    }
+
+    /**
+     * This method erases characters of a given range of a given array from this trie, reading them in place.
+     *
+     * @param buffer an array containing a word to erase from this trie.
+     * @param offset an index of the first character of a word.
+     * @param length the number of characters of a word.
+     * @return {@code true} if word was erased, {@code false} otherwise.
+     * @throws IndexOutOfBoundsException if a given range is out of bounds of a given array.
+     * @see #erase(String)
+     */
+    public boolean erase(char[] buffer, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        return erase(null, buffer, offset, length);
+    }
+
+    /**
+     * @param chars  a word to erase, {@code null} if a word is given by an array.
+     * @param buffer an array containing a word, {@code null} if a word is given by a {@code CharSequence}.
+     * @param offset an index of the first character of a word in a given array.
+     * @param length the number of characters of a word.
+     * @return {@code true} if word was erased, {@code false} otherwise.
+     * @see #erase(String)
+     */
+    private boolean erase(CharSequence chars, char[] buffer, int offset, int length) {
+        TrieMetrics metrics = this.metrics;
+        if (metrics == null)
+            return removeWord(chars, buffer, offset, length);
+
+        TrieOperationEvent event = TrieOperationEvent.started();
+        long start = System.nanoTime();
+        boolean erased = removeWord(chars, buffer, offset, length);
+        int remaining = matchedLength(chars, buffer, offset, length);
+        report(metrics, event, Operation.ERASE, length, erased ? length : remaining, start, 0,
+                erased ? length - remaining : 0);
+        return erased;
+    }
+
+    /**
+     * @param chars  a word to erase, {@code null} if a word is given by an array.
+     * @param buffer an array containing a word, {@code null} if a word is given by a {@code CharSequence}.
+     * @param offset an index of the first character of a word in a given array.
+     * @param length the number of characters of a word.
+     * @return {@code true} if word was erased, {@code false} otherwise.
+     * @see #erase(CharSequence, char[], int, int)
+     */
+    private boolean removeWord(CharSequence chars, char[] buffer, int offset, int length) {
+        TrieNode node = find(chars, buffer, offset, length);
+        boolean nodeFound = node != null;
+        if (nodeFound) {
+            if (node.isTerminal())
+                addCounts(chars, buffer, offset, length, -1);
+
+            removeNodes(root, chars, buffer, offset, length, 0);
+        }
 
         return nodeFound;
     }
@@ -191,52 +1215,253 @@ public class Trie {
      * </p>
      *
      * @param fromNode       a node to start iteration from.
-     * @param word           a word to erase from this trie.
-     * @param characterIndex an index of an ith character of a given {@code String}.
+     * @param chars          a word to erase from this trie, {@code null} if a word is given by an array.
+     * @param buffer         an array containing a word, {@code null} if a word is given by a {@code CharSequence}.
+     * @param offset         an index of the first character of a word in a given array.
+     * @param length         the number of characters of a word.
+     * @param characterIndex an index of an ith character of a given word.
      * @return {@code true} if a node
-     * associated with an ith character of the {@code String}
+     * associated with an ith character of the word
      * was removed from the subtrie,
      * {@code false} otherwise.
      */
-    private boolean removeNodes(TrieNode fromNode, String word, int characterIndex) {
-        if (word == null)
-            return false;
-
-        if (word.length() == characterIndex) {
+    private boolean removeNodes(TrieNode fromNode, CharSequence chars, char[] buffer, int offset, int length,
+                                int characterIndex) {
+        if (length == characterIndex) {
             if (!fromNode.isTerminal())
                 return false;
 
             // setTerminal(false) if isTerminal(): true
             fromNode.setTerminal(false);
+            fromNode.setScore(0);
+            fromNode.refreshMaxScore();
             return fromNode.isLeaf();
         }
 
-        if (word.length() > characterIndex) {
-            char c = word.charAt(characterIndex);
+        if (length > characterIndex) {
+            char c = charAt(chars, buffer, offset, characterIndex);
             TrieNode byChar = fromNode.getChild(c);
             if (byChar == null)
                 return false;
 
             // recursion
             boolean removeNext =
-                    removeNodes(byChar, word, ++characterIndex) && !byChar.isTerminal();
+                    removeNodes(byChar, chars, buffer, offset, length, ++characterIndex) && !byChar.isTerminal();
 
             if (removeNext) {
                 // remove a child associated with a given character
                 // fromNode.removeChild(c): byChar
                 fromNode.removeChild(c);
-                return true;
             }
+            fromNode.refreshMaxScore();
+            // fromNode may be removed only if it has no other child left
+            return removeNext && fromNode.isLeaf();
         }
         return false;
     }
 
+    /**
+     * <p>
+     * This method rebuilds the child storage of every node of this trie at its minimal size.
+     * </p>
+     * <p>
+     * {@link #erase(String)} removes nodes of erased words, but the child storage of a node left behind
+     * is downgraded only once it becomes sparse, so after a mass erasure the footprint of this trie
+     * stays closer to its peak than to its live words.
+     * </p>
+     *
+     * @return an estimated number of bytes reclaimed, assuming compressed references.
+     * @see #compaction()
+     */
+    public long compact() {
+        return compaction().finish();
+    }
+
+    /**
+     * This method starts an incremental compaction of this trie, to be continued in time slices
+     * by {@link TrieCompaction#step(java.time.Duration)} between other operations of this trie.
+     *
+     * @return a compaction of this trie, which has not compacted any node yet.
+     * @see #compact()
+     */
+    public TrieCompaction compaction() {
+        return new TrieCompaction(root);
+    }
+
+    /**
+     * <p>
+     * This method enables instrumentation of this trie with a given listener, or disables it if it is {@code null}.
+     * </p>
+     * <p>
+     * While it is enabled, insertions, searches and erasures report their depth and duration to a given listener,
+     * together with the numbers of nodes created and removed,
+     * and operations slower than a threshold are recorded as {@link TrieOperationEvent}s by JDK Flight Recorder.
+     * A given listener is first told about nodes already in this trie as created,
+     * and a replaced listener is told about them as removed, so live nodes of neither are left inflated.
+     * Setting the current listener again changes nothing.
+     * </p>
+     *
+     * @param metrics a listener of operations of this trie, {@code null} to disable instrumentation.
+     * @see TrieMetrics#NONE
+     * @see CountingTrieMetrics
+     */
+    public void setMetrics(TrieMetrics metrics) {
+        TrieMetrics previous = this.metrics;
+        if (metrics == previous)
+            return;
+
+        this.metrics = metrics;
+        int count = nodeCount();
+        if (previous != null)
+            previous.onNodesRemoved(count);
+        if (metrics != null)
+            metrics.onNodesCreated(count);
+    }
+
+    /**
+     * @return the number of nodes of this trie, not counting the {@link #root}.
+     */
+    private int nodeCount() {
+        int count = 0;
+        Deque<TrieNode> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            TrieNode node = stack.pop();
+            for (int slot = node.nextSlot(-1); slot >= 0; slot = node.nextSlot(slot)) {
+                stack.push(node.childAt(slot));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * This method reports a finished operation to a given listener and to JDK Flight Recorder.
+     *
+     * @param metrics   a listener of operations.
+     * @param event     an event started with an operation.
+     * @param operation a kind of an operation.
+     * @param length    the number of characters of a word.
+     * @param depth     the number of nodes below the {@link #root} visited by an operation.
+     * @param start     a value of {@link System#nanoTime()} when an operation started.
+     * @param created   the number of nodes created by an operation.
+     * @param removed   the number of nodes removed by an operation.
+     */
+    private static void report(TrieMetrics metrics, TrieOperationEvent event, Operation operation,
+                               int length, int depth, long start, int created, int removed) {
+        long nanos = System.nanoTime() - start;
+        metrics.onOperation(operation, depth, nanos);
+        if (created > 0)
+            metrics.onNodesCreated(created);
+
+        if (removed > 0)
+            metrics.onNodesRemoved(removed);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation.name();
+            event.length = length;
+            event.depth = depth;
+            event.nodesCreated = created;
+            event.nodesRemoved = removed;
+            event.commit();
+        }
+    }
+
+    /**
+     * <p>
+     * This method writes this trie to a given channel in a compact binary encoding read by
+     * {@link #readFrom(ReadableByteChannel)}: nodes in preorder, each as a varint of the number of its children
+     * and its terminal mark, a score of a word if it is not {@code 0}, and a character of each child.
+     * </p>
+     * <p>
+     * Nodes are streamed through a buffer of a fixed size, so memory used by writing
+     * does not depend on the size of this trie. A given channel is not closed.
+     * </p>
+     *
+     * @param channel a channel to write to.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        TrieCodec.encode(root, channel);
+    }
+
+    /**
+     * This method writes this trie to a given stream. A given stream is neither flushed nor closed.
+     *
+     * @param out a stream to write to.
+     * @throws IOException if an I/O error occurs.
+     * @see #writeTo(WritableByteChannel)
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        writeTo(Channels.newChannel(out));
+    }
+
+    /**
+     * This method compiles this trie into an immutable double-array trie for read-only lookups.
+     * Further modifications of this trie are not reflected by the returned trie.
+     *
+     * @return a double-array trie containing the same words as this trie.
+     * @see DoubleArrayTrie
+     */
+    public DoubleArrayTrie freeze() {
+        return DoubleArrayTrie.of(this);
+    }
+
+    /**
+     * This method builds a minimal directed acyclic word graph containing the same words as this trie,
+     * in which equivalent subtries, such as common endings of words, are stored once.
+     * Further modifications of this trie are not reflected by the returned graph.
+     *
+     * @return a minimal graph of this trie.
+     * @see Dawg
+     */
+    public Dawg minimize() {
+        return Dawg.of(this);
+    }
+
+    /**
+     * This method compiles this trie into an immutable Aho-Corasick automaton,
+     * finding all occurrences of words of this trie in a text in a single pass.
+     * Further modifications of this trie are not reflected by the returned automaton.
+     *
+     * @return an automaton finding words of this trie.
+     * @see AhoCorasick
+     */
+    public AhoCorasick toAhoCorasick() {
+        return AhoCorasick.of(this);
+    }
+
+    /**
+     * This record is a candidate of a best-first search:
+     * a word with a given score if a node is {@code null}, a subtrie with a given upper bound of scores otherwise.
+     *
+     * @param node  a root of a subtrie, {@code null} for a word.
+     * @param word  a word or a prefix of a subtrie.
+     * @param score a score of a word or an upper bound of scores of a subtrie.
+     */
+    private record Candidate(TrieNode node, String word, long score) implements Comparable<Candidate> {
+
+        @Override
+        public int compareTo(Candidate other) {
+            int byScore = Long.compare(other.score, score);
+            if (byScore != 0)
+                return byScore;
+
+            // a word is emitted before a subtrie that cannot beat it
+            if ((node == null) != (other.node == null))
+                return node == null ? -1 : 1;
+
+            return word.compareTo(other.word);
+        }
+    }
+
     /**
      * @return {@code String} representation of this trie.
      */
     @Override
     public String toString() {
-        Map<Character, TrieNode> children = root.children;
+        Map<Character, TrieNode> children = root.children();
         if (children.isEmpty())
             return "{}";
 
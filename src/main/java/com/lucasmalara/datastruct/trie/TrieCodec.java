@@ -0,0 +1,253 @@
+package com.lucasmalara.datastruct.trie;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * This class encodes nodes of a {@link Trie} into a compact binary stream and decodes them back.
+ * <p>
+ * A stream starts with {@link #MAGIC} and {@link #VERSION}, followed by nodes in preorder, starting with the root.
+ * A node is a varint of {@code childCount << 2 | hasScore << 1 | isTerminal},
+ * followed by a zigzag varint of its score if {@code hasScore} is set,
+ * and by each of its children in ascending order: a varint of a character followed by an encoded child.
+ * </p>
+ *
+ * @implNote Both directions stream through a single buffer of {@link #BUFFER_SIZE} bytes
+ * and an explicit stack of nodes, so neither words nor deep recursion are ever built.
+ * @see Trie#writeTo(WritableByteChannel)
+ * @see Trie#readFrom(ReadableByteChannel)
+ */
+final class TrieCodec {
+
+    /**
+     * The first four bytes of a stream: {@code "TRIS"}.
+     */
+    static final int MAGIC = 0x54524953;
+
+    /**
+     * A version of the encoding.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * A size of a buffer of a stream.
+     */
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private static final int TERMINAL = 1;
+    private static final int SCORED = 2;
+
+    private TrieCodec() {
+    }
+
+    /**
+     * @param root    a root of nodes to encode.
+     * @param channel a channel to write to; it is not closed.
+     * @throws IOException if an I/O error occurs.
+     */
+    static void encode(TrieNode root, WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.putInt(MAGIC).put((byte) VERSION);
+        TrieNode[] nodes = new TrieNode[16];
+        int[] slots = new int[16];
+        int depth = 0;
+        writeNode(channel, buffer, root);
+        nodes[depth] = root;
+        slots[depth++] = -1;
+        while (depth > 0) {
+            int top = depth - 1;
+            TrieNode node = nodes[top];
+            int slot = node.nextSlot(slots[top]);
+            if (slot < 0) {
+                nodes[--depth] = null;
+                continue;
+            }
+
+            slots[top] = slot;
+            TrieNode child = node.childAt(slot);
+            writeVarLong(channel, buffer, node.keyAt(slot));
+            writeNode(channel, buffer, child);
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                slots = Arrays.copyOf(slots, depth * 2);
+            }
+            nodes[depth] = child;
+            slots[depth++] = -1;
+        }
+        flush(channel, buffer);
+    }
+
+    /**
+     * This method decodes nodes into a given root, recomputing cached counts bottom-up.
+     * Nodes are decoded without scores, which are returned instead,
+     * so a trie pays for scores only if a stream contains any.
+     *
+     * @param root    a root of an empty trie to decode nodes into.
+     * @param channel a channel to read from; it is not closed and may be read past the end of nodes.
+     * @return scores other than {@code 0} of words ending at decoded nodes.
+     * @throws IOException if an I/O error occurs or a stream is not a valid encoding of a trie.
+     */
+    static Map<TrieNode, Long> decode(TrieNode root, ReadableByteChannel channel) throws IOException {
+        Source source = new Source(channel);
+        if (source.readInt() != MAGIC)
+            throw new IOException("Not a trie stream");
+        int version = source.readByte();
+        if (version != VERSION)
+            throw new IOException(STR."Unsupported trie stream version: \{version}");
+
+        Map<TrieNode, Long> scores = new IdentityHashMap<>();
+        TrieNode[] nodes = new TrieNode[16];
+        int[] remaining = new int[16];
+        int[] lastKeys = new int[16];
+        int depth = 0;
+        nodes[depth] = root;
+        remaining[depth] = readNode(source, root, scores);
+        lastKeys[depth++] = -1;
+        while (depth > 0) {
+            int top = depth - 1;
+            TrieNode node = nodes[top];
+            if (remaining[top] == 0) {
+                node.trimToSize();
+                node.refreshCount();
+                nodes[--depth] = null;
+                continue;
+            }
+
+            long key = source.readVarLong();
+            if (key <= lastKeys[top] || key > Character.MAX_VALUE)
+                throw new IOException("Corrupted trie stream: children are not in ascending order");
+
+            remaining[top]--;
+            lastKeys[top] = (int) key;
+            TrieNode child = new TrieNode();
+            node.putChild((char) key, child);
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                remaining = Arrays.copyOf(remaining, depth * 2);
+                lastKeys = Arrays.copyOf(lastKeys, depth * 2);
+            }
+            nodes[depth] = child;
+            remaining[depth] = readNode(source, child, scores);
+            lastKeys[depth++] = -1;
+        }
+        return scores;
+    }
+
+    /**
+     * @param channel a channel to flush a full buffer to.
+     * @param buffer  a buffer to write to.
+     * @param node    a node to encode, without its children.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void writeNode(WritableByteChannel channel, ByteBuffer buffer, TrieNode node) throws IOException {
+        boolean scored = node.isTerminal() && node.getScore() != 0;
+        long header = (long) node.childCount() << 2 | (scored ? SCORED : 0) | (node.isTerminal() ? TERMINAL : 0);
+        writeVarLong(channel, buffer, header);
+        if (scored)
+            writeVarLong(channel, buffer, node.getScore() << 1 ^ node.getScore() >> 63);
+    }
+
+    /**
+     * @param source a source to read from.
+     * @param node   a node to decode into, without its children.
+     * @param scores scores of decoded nodes to add a score of a given node to.
+     * @return the number of children of a decoded node.
+     * @throws IOException if an I/O error occurs or a stream is corrupted.
+     */
+    private static int readNode(Source source, TrieNode node, Map<TrieNode, Long> scores) throws IOException {
+        long header = source.readVarLong();
+        long children = header >>> 2;
+        if (children > Character.MAX_VALUE + 1)
+            throw new IOException(STR."Corrupted trie stream: \{children} children");
+
+        node.setTerminal((header & TERMINAL) != 0);
+        if ((header & SCORED) != 0) {
+            long zigzag = source.readVarLong();
+            long score = zigzag >>> 1 ^ -(zigzag & 1);
+            if (score != 0)
+                scores.put(node, score);
+        }
+        return (int) children;
+    }
+
+    /**
+     * @param channel a channel to flush a full buffer to.
+     * @param buffer  a buffer to write to.
+     * @param value   an unsigned value to write in 7-bit groups, least significant first.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void writeVarLong(WritableByteChannel channel, ByteBuffer buffer, long value) throws IOException {
+        if (buffer.remaining() < 10)
+            flush(channel, buffer);
+
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * @param channel a channel to write to.
+     * @param buffer  a buffer to write and clear.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void flush(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * This class reads a channel through a fixed-size buffer.
+     */
+    private static final class Source {
+
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+
+        private Source(ReadableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        private int readByte() throws IOException {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int read;
+                do {
+                    read = channel.read(buffer);
+                } while (read == 0);
+                buffer.flip();
+                if (read < 0)
+                    throw new EOFException("Truncated trie stream");
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        private int readInt() throws IOException {
+            int value = 0;
+            for (int i = 0; i < Integer.BYTES; i++)
+                value = value << 8 | readByte();
+
+            return value;
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0)
+                    return value;
+            }
+            throw new IOException("Corrupted trie stream: varint is too long");
+        }
+    }
+}
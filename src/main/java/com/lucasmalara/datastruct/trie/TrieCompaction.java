@@ -0,0 +1,181 @@
+package com.lucasmalara.datastruct.trie;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * This class compacts the child storage of nodes of a {@link Trie} incrementally, in time slices,
+ * so a large trie can be compacted between other operations without pausing them for a whole pass.
+ * </p>
+ * <p>
+ * Nodes are compacted in depth-first order.
+ * A slice remembers characters leading to the next node to compact, rather than the nodes themselves,
+ * so a trie may be modified between slices: a removed node is skipped, and a node added before that position
+ * is left as it was created.
+ * </p>
+ *
+ * @see Trie#compaction()
+ * @see Trie#compact()
+ */
+public final class TrieCompaction {
+
+    /**
+     * The number of nodes compacted between checks of a deadline.
+     */
+    private static final int CHECK_INTERVAL = 64;
+
+    private final TrieNode root;
+
+    /**
+     * Characters leading from the root to the next node to compact, {@code null} once a pass has finished.
+     */
+    private String next = "";
+
+    private long reclaimedBytes;
+
+    private TrieNode[] path = new TrieNode[16];
+    private final StringBuilder keys = new StringBuilder();
+
+    /**
+     * @param root a root of a trie to compact.
+     */
+    TrieCompaction(TrieNode root) {
+        this.root = root;
+    }
+
+    /**
+     * This method compacts nodes until a given time slice elapses or a pass over the trie has finished.
+     * At least one node is compacted by each call, unless a pass has already finished.
+     *
+     * @param slice a time to spend compacting nodes.
+     * @return {@code true} if a pass over the trie has finished, {@code false} if there are nodes left to compact.
+     */
+    public boolean step(Duration slice) {
+        return run(System.nanoTime() + slice.toNanos(), true);
+    }
+
+    /**
+     * This method compacts all nodes left to compact, without a time limit.
+     *
+     * @return an estimated number of bytes reclaimed since this compaction started.
+     */
+    public long finish() {
+        run(0, false);
+        return reclaimedBytes;
+    }
+
+    /**
+     * @param deadline a value of {@link System#nanoTime()} to stop compacting at.
+     * @param timed    {@code true} if a given deadline applies, {@code false} to compact all nodes left.
+     * @return {@code true} if a pass over the trie has finished, {@code false} if there are nodes left to compact.
+     */
+    private boolean run(long deadline, boolean timed) {
+        if (next == null)
+            return true;
+
+        int depth = resume();
+        int compacted = 0;
+        while (depth >= 0) {
+            reclaimedBytes += path[depth].compact();
+            depth = advance(depth);
+            if (timed && ++compacted % CHECK_INTERVAL == 0 && depth >= 0 && System.nanoTime() - deadline >= 0) {
+                next = keys.toString();
+                return false;
+            }
+        }
+        next = null;
+        return true;
+    }
+
+    /**
+     * @return {@code true} if a pass over the trie has finished, {@code false} otherwise.
+     */
+    public boolean isDone() {
+        return next == null;
+    }
+
+    /**
+     * @return an estimated number of bytes reclaimed since this compaction started, assuming compressed references.
+     */
+    public long reclaimedBytes() {
+        return reclaimedBytes;
+    }
+
+    /**
+     * This method rebuilds a path from the root to the next node to compact, from its characters.
+     * If that node no longer exists, the path leads to the node following it in depth-first order.
+     *
+     * @return the depth of the next node to compact, {@code -1} if there is none.
+     */
+    private int resume() {
+        keys.setLength(0);
+        path[0] = root;
+        int depth = 0;
+        for (int i = 0; i < next.length(); i++) {
+            char c = next.charAt(i);
+            TrieNode node = path[depth];
+            TrieNode child = node.getChild(c);
+            if (child != null) {
+                push(++depth, c, child);
+                continue;
+            }
+
+            int slot = node.ceilingSlot(c);
+            if (slot >= 0) {
+                push(++depth, node.keyAt(slot), node.childAt(slot));
+                return depth;
+            }
+            return skip(depth);
+        }
+        return depth;
+    }
+
+    /**
+     * @param depth the depth of a node just compacted.
+     * @return the depth of the next node to compact in depth-first order, {@code -1} if there is none.
+     */
+    private int advance(int depth) {
+        TrieNode node = path[depth];
+        int slot = node.nextSlot(-1);
+        if (slot >= 0) {
+            push(depth + 1, node.keyAt(slot), node.childAt(slot));
+            return depth + 1;
+        }
+        return skip(depth);
+    }
+
+    /**
+     * @param depth the depth of a node whose subtree has been compacted.
+     * @return the depth of the next sibling of a given node or of its nearest ancestor,
+     * {@code -1} if there is none.
+     */
+    private int skip(int depth) {
+        for (; depth > 0; depth--) {
+            char c = keys.charAt(depth - 1);
+            TrieNode parent = path[depth - 1];
+            path[depth] = null;
+            keys.setLength(depth - 1);
+            int slot = c < Character.MAX_VALUE ? parent.ceilingSlot((char) (c + 1)) : -1;
+            if (slot >= 0) {
+                push(depth, parent.keyAt(slot), parent.childAt(slot));
+                return depth;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param depth the depth of a given node.
+     * @param c     a character associated with a given node.
+     * @param node  a node to put on a path.
+     */
+    private void push(int depth, char c, TrieNode node) {
+        if (depth == path.length)
+            path = Arrays.copyOf(path, depth * 2);
+
+        path[depth] = node;
+        keys.setLength(depth - 1);
+        keys.append(c);
+    }
+}
@@ -0,0 +1,658 @@
+package com.lucasmalara.datastruct.trie;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Map from {@code String} keys to values sorted in ascending order of keys, as defined by
+ * {@link String#compareTo(String)}, stored in a trie: a value is held by the node associated with
+ * the last character of its key, so a lookup is a single walk from the root without hashing a key.
+ * </p>
+ * <p>
+ * Besides the usual views bounded by keys, {@link #prefixMap(String)} returns a view of keys starting with a prefix.
+ * Views are backed by this map. Keys are not {@code null}; values may be {@code null}.
+ * </p>
+ *
+ * @param <V> a type of values.
+ * @implNote This map is not thread-safe. Its iterators are fail-fast.
+ * An empty {@code String} is a valid key, held by the root.
+ */
+public class TrieMap<V> extends AbstractMap<String, V> implements SortedMap<String, V> {
+
+    /**
+     * The root node to iterate through a whole map.
+     */
+    private TrieNode root = new ValueNode();
+
+    /**
+     * The number of structural modifications, which add or remove keys.
+     */
+    private int modCount;
+
+    /**
+     * This constructor restricts instantiation of a map.
+     *
+     * @see #empty()
+     */
+    private TrieMap() {
+    }
+
+    /**
+     * @param <V> a type of values.
+     * @return an empty map.
+     */
+    public static <V> TrieMap<V> empty() {
+        return new TrieMap<>();
+    }
+
+    @Override
+    public int size() {
+        return root.count();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root.count() == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        TrieNode node = find((String) Objects.requireNonNull(key));
+        return node != null && node.isTerminal();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        TrieNode node = find((String) Objects.requireNonNull(key));
+        return node != null && node.isTerminal() ? (V) ((ValueNode) node).value : null;
+    }
+
+    /**
+     * This method associates a given value with a given key, creating missing nodes of that key in one walk.
+     *
+     * @param key   a key.
+     * @param value a value to associate with a given key.
+     * @return the previous value associated with a given key, {@code null} if there was none.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(String key, V value) {
+        TrieNode current = root;
+        for (int i = 0; i < key.length(); i++)
+            current = current.nearestChild(key.charAt(i));
+
+        ValueNode node = (ValueNode) current;
+        if (node.isTerminal()) {
+            V previous = (V) node.value;
+            node.value = value;
+            return previous;
+        }
+
+        node.setTerminal(true);
+        node.value = value;
+        addCounts(key, 1);
+        modCount++;
+        return null;
+    }
+
+    /**
+     * This method removes a given key, together with nodes that no longer lead to any key.
+     * Nodes are found in one walk, which remembers the deepest node that has to be kept.
+     *
+     * @param key a key to remove.
+     * @return a value associated with a given key, {@code null} if there was none.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        String word = (String) Objects.requireNonNull(key);
+        TrieNode current = root;
+        TrieNode kept = root;
+        int removedIndex = 0;
+        for (int i = 0; i < word.length(); i++) {
+            if (current.isTerminal() || current.childCount() > 1) {
+                kept = current;
+                removedIndex = i;
+            }
+            current = current.getChild(word.charAt(i));
+            if (current == null)
+                return null;
+        }
+        if (!current.isTerminal())
+            return null;
+
+        V previous = (V) ((ValueNode) current).value;
+        current.setTerminal(false);
+        ((ValueNode) current).value = null;
+        addCounts(word, -1);
+        if (current.isLeaf() && current != root)
+            kept.removeChild(word.charAt(removedIndex));
+
+        modCount++;
+        return previous;
+    }
+
+    /**
+     * This method returns a value associated with a given key, computing and associating it if there is none.
+     * Existing nodes of a given key are walked once, and missing nodes are created only if a value is computed.
+     *
+     * @param key             a key.
+     * @param mappingFunction a function computing a value of a key.
+     * @return the current, possibly computed, value associated with a given key,
+     * {@code null} if a computed value is {@code null}.
+     * @throws ConcurrentModificationException if a given function modifies this map.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(String key, Function<? super String, ? extends V> mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        TrieNode current = root;
+        int i = 0;
+        for (; i < key.length(); i++) {
+            TrieNode next = current.getChild(key.charAt(i));
+            if (next == null)
+                break;
+
+            current = next;
+        }
+        if (i == key.length() && current.isTerminal() && ((ValueNode) current).value != null)
+            return (V) ((ValueNode) current).value;
+
+        int expectedModCount = modCount;
+        V value = mappingFunction.apply(key);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+        if (value == null)
+            return null;
+
+        for (; i < key.length(); i++)
+            current = current.nearestChild(key.charAt(i));
+
+        if (!current.isTerminal()) {
+            current.setTerminal(true);
+            addCounts(key, 1);
+            modCount++;
+        }
+        ((ValueNode) current).value = value;
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        root = new ValueNode();
+        modCount++;
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return new EntrySet(null, null, null);
+    }
+
+    /**
+     * @return {@code null}, since keys are sorted by their natural ordering.
+     */
+    @Override
+    public Comparator<? super String> comparator() {
+        return null;
+    }
+
+    @Override
+    public SortedMap<String, V> subMap(String fromKey, String toKey) {
+        if (fromKey.compareTo(toKey) > 0)
+            throw new IllegalArgumentException(STR."fromKey > toKey: \"\{fromKey}\" > \"\{toKey}\"");
+
+        return new SubMap(fromKey, toKey, null);
+    }
+
+    @Override
+    public SortedMap<String, V> headMap(String toKey) {
+        return new SubMap(null, Objects.requireNonNull(toKey), null);
+    }
+
+    @Override
+    public SortedMap<String, V> tailMap(String fromKey) {
+        return new SubMap(Objects.requireNonNull(fromKey), null, null);
+    }
+
+    /**
+     * This method returns a view of keys starting with a given prefix, backed by this map.
+     * Its size is read from a count cached by the node of a given prefix.
+     *
+     * @param prefix a prefix of keys; an empty {@code String} returns a view of all keys.
+     * @return a view of keys starting with a given prefix.
+     */
+    public SortedMap<String, V> prefixMap(String prefix) {
+        return new SubMap(null, null, Objects.requireNonNull(prefix));
+    }
+
+    @Override
+    public String firstKey() {
+        return new EntryIterator(null, null, null).next().getKey();
+    }
+
+    /**
+     * This method descends to the greatest key, which is a leaf reached by following the last children.
+     *
+     * @return the greatest key of this map.
+     * @throws NoSuchElementException if this map is empty.
+     */
+    @Override
+    public String lastKey() {
+        if (isEmpty())
+            throw new NoSuchElementException();
+
+        StringBuilder key = new StringBuilder();
+        TrieNode current = root;
+        while (!current.isLeaf()) {
+            int last = current.nextSlot(-1);
+            for (int slot = last; slot >= 0; slot = current.nextSlot(slot))
+                last = slot;
+
+            key.append(current.keyAt(last));
+            current = current.childAt(last);
+        }
+        return key.toString();
+    }
+
+    /**
+     * @param key a key to iterate through.
+     * @return a node associated with the last character of a given key if exists, {@code null} otherwise.
+     */
+    private TrieNode find(String key) {
+        TrieNode current = root;
+        for (int i = 0; i < key.length() && current != null; i++)
+            current = current.getChild(key.charAt(i));
+
+        return current;
+    }
+
+    /**
+     * @param key   a key whose path is updated.
+     * @param delta a change of the number of keys.
+     */
+    private void addCounts(String key, int delta) {
+        TrieNode current = root;
+        current.addCount(delta);
+        for (int i = 0; i < key.length(); i++) {
+            current = current.getChild(key.charAt(i));
+            current.addCount(delta);
+        }
+    }
+
+    /**
+     * This class is a view of keys of this map within bounds, backed by this map.
+     * A key belongs to a view if it is not lower than {@code from}, lower than {@code to}
+     * and starts with {@code prefix}; a {@code null} bound is not checked.
+     */
+    private final class SubMap extends AbstractMap<String, V> implements SortedMap<String, V> {
+
+        private final String from;
+        private final String to;
+        private final String prefix;
+
+        /**
+         * @param from   the lowest key, inclusive, {@code null} if unbounded.
+         * @param to     the highest key, exclusive, {@code null} if unbounded.
+         * @param prefix a prefix of keys, {@code null} if unbounded.
+         */
+        private SubMap(String from, String to, String prefix) {
+            this.from = from;
+            this.to = to;
+            this.prefix = prefix;
+        }
+
+        private boolean inRange(String key) {
+            return (from == null || key.compareTo(from) >= 0)
+                    && (to == null || key.compareTo(to) < 0)
+                    && (prefix == null || key.startsWith(prefix));
+        }
+
+        @Override
+        public int size() {
+            if (from == null && to == null) {
+                TrieNode node = find(prefix);
+                return node != null ? node.count() : 0;
+            }
+
+            int size = 0;
+            for (Iterator<Entry<String, V>> iterator = new EntryIterator(from, to, prefix); iterator.hasNext(); ) {
+                iterator.next();
+                size++;
+            }
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return !new EntryIterator(from, to, prefix).hasNext();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            String word = (String) Objects.requireNonNull(key);
+            return inRange(word) && TrieMap.this.containsKey(word);
+        }
+
+        @Override
+        public V get(Object key) {
+            String word = (String) Objects.requireNonNull(key);
+            return inRange(word) ? TrieMap.this.get(word) : null;
+        }
+
+        @Override
+        public V put(String key, V value) {
+            if (!inRange(key))
+                throw new IllegalArgumentException(STR."Key out of range: \"\{key}\"");
+
+            return TrieMap.this.put(key, value);
+        }
+
+        @Override
+        public V remove(Object key) {
+            String word = (String) Objects.requireNonNull(key);
+            return inRange(word) ? TrieMap.this.remove(word) : null;
+        }
+
+        @Override
+        public Set<Entry<String, V>> entrySet() {
+            return new EntrySet(from, to, prefix);
+        }
+
+        @Override
+        public Comparator<? super String> comparator() {
+            return null;
+        }
+
+        /**
+         * Bounds of a returned view are intersected with bounds of this view.
+         */
+        @Override
+        public SortedMap<String, V> subMap(String fromKey, String toKey) {
+            if (fromKey.compareTo(toKey) > 0)
+                throw new IllegalArgumentException(STR."fromKey > toKey: \"\{fromKey}\" > \"\{toKey}\"");
+
+            return new SubMap(max(from, fromKey), min(to, toKey), prefix);
+        }
+
+        @Override
+        public SortedMap<String, V> headMap(String toKey) {
+            return new SubMap(from, min(to, Objects.requireNonNull(toKey)), prefix);
+        }
+
+        @Override
+        public SortedMap<String, V> tailMap(String fromKey) {
+            return new SubMap(max(from, Objects.requireNonNull(fromKey)), to, prefix);
+        }
+
+        @Override
+        public String firstKey() {
+            return new EntryIterator(from, to, prefix).next().getKey();
+        }
+
+        @Override
+        public String lastKey() {
+            Iterator<Entry<String, V>> iterator = new EntryIterator(from, to, prefix);
+            String last = iterator.next().getKey();
+            while (iterator.hasNext())
+                last = iterator.next().getKey();
+
+            return last;
+        }
+
+        private static String max(String bound, String key) {
+            return bound == null || key.compareTo(bound) > 0 ? key : bound;
+        }
+
+        private static String min(String bound, String key) {
+            return bound == null || key.compareTo(bound) < 0 ? key : bound;
+        }
+    }
+
+    /**
+     * This class is a set of entries within bounds, backed by this map.
+     */
+    private final class EntrySet extends AbstractSet<Entry<String, V>> {
+
+        private final String from;
+        private final String to;
+        private final String prefix;
+
+        private EntrySet(String from, String to, String prefix) {
+            this.from = from;
+            this.to = to;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Iterator<Entry<String, V>> iterator() {
+            return new EntryIterator(from, to, prefix);
+        }
+
+        @Override
+        public int size() {
+            return from == null && to == null && prefix == null ? TrieMap.this.size() : new SubMap(from, to, prefix).size();
+        }
+    }
+
+    /**
+     * This class lazily iterates through entries within bounds in ascending order of keys.
+     *
+     * @implNote The traversal is a depth-first search with an explicit stack of nodes,
+     * each with the slot of its next child to visit, and a single {@code StringBuilder} holding the current key.
+     * It starts by descending along the lowest key, so nodes of lower keys are never visited,
+     * and it restarts the same way after {@link #remove()}, since a removal may reorganize slots of nodes.
+     */
+    private final class EntryIterator implements Iterator<Entry<String, V>> {
+
+        private final String to;
+        private final String prefix;
+        private final StringBuilder key = new StringBuilder();
+        private TrieNode[] nodes = new TrieNode[16];
+        private int[] nextSlots = new int[16];
+        private int depth;
+        private TrieNode next;
+        private String nextKey;
+        private String lastKey;
+        private int expectedModCount = modCount;
+
+        /**
+         * @param from   the lowest key, inclusive, {@code null} if unbounded.
+         * @param to     the highest key, exclusive, {@code null} if unbounded.
+         * @param prefix a prefix of keys, {@code null} if unbounded.
+         */
+        private EntryIterator(String from, String to, String prefix) {
+            this.to = to;
+            this.prefix = prefix;
+            seek(from);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && depth > 0)
+                advance();
+            if (next != null && to != null && nextKey.compareTo(to) >= 0) {
+                next = null;
+                depth = 0;
+            }
+            return next != null;
+        }
+
+        @Override
+        public Entry<String, V> next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            Entry<String, V> entry = new NodeEntry(nextKey, (ValueNode) next);
+            lastKey = nextKey;
+            next = null;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+
+            TrieMap.this.remove(lastKey);
+            expectedModCount = modCount;
+            seek(lastKey);
+            lastKey = null;
+        }
+
+        /**
+         * This method positions this iterator at the lowest key not lower than a given one.
+         * Characters of the prefix are descended without keeping their siblings,
+         * so the traversal ends once the subtrie of the prefix is exhausted.
+         *
+         * @param from the lowest key, inclusive, {@code null} if unbounded.
+         */
+        private void seek(String from) {
+            depth = 0;
+            key.setLength(0);
+            next = null;
+            String start;
+            int fixed;
+            if (prefix == null) {
+                start = from == null ? "" : from;
+                fixed = 0;
+            } else if (from == null || from.compareTo(prefix) <= 0) {
+                start = prefix;
+                fixed = prefix.length();
+            } else if (from.startsWith(prefix)) {
+                start = from;
+                fixed = prefix.length();
+            } else {
+                // every key starting with the prefix is lower than the lowest key
+                return;
+            }
+
+            TrieNode current = root;
+            push(current);
+            for (int i = 0; i < start.length(); i++) {
+                int top = depth - 1;
+                char c = start.charAt(i);
+                int slot = current.ceilingSlot(c);
+                if (slot < 0 || current.keyAt(slot) != c) {
+                    // children from this slot on lead to keys greater than the lowest key
+                    nextSlots[top] = i < fixed ? -1 : slot;
+                    return;
+                }
+                nextSlots[top] = i < fixed ? -1 : current.nextSlot(slot);
+                current = current.childAt(slot);
+                key.append(c);
+                push(current);
+            }
+            if (current.isTerminal()) {
+                next = current;
+                nextKey = key.toString();
+            }
+        }
+
+        private void advance() {
+            while (depth > 0) {
+                int top = depth - 1;
+                TrieNode node = nodes[top];
+                int slot = nextSlots[top];
+                if (slot < 0) {
+                    nodes[--depth] = null;
+                    if (top > 0)
+                        key.setLength(key.length() - 1);
+
+                    continue;
+                }
+
+                nextSlots[top] = node.nextSlot(slot);
+                TrieNode child = node.childAt(slot);
+                key.append(node.keyAt(slot));
+                push(child);
+                if (child.isTerminal()) {
+                    next = child;
+                    nextKey = key.toString();
+                    return;
+                }
+            }
+        }
+
+        private void push(TrieNode node) {
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                nextSlots = Arrays.copyOf(nextSlots, depth * 2);
+            }
+            nodes[depth] = node;
+            nextSlots[depth++] = node.nextSlot(-1);
+        }
+    }
+
+    /**
+     * This class is an entry writing its value through to the node of its key.
+     */
+    private final class NodeEntry implements Entry<String, V> {
+
+        private final String key;
+        private final ValueNode node;
+
+        private NodeEntry(String key, ValueNode node) {
+            this.key = key;
+            this.node = node;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            return (V) node.value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V previous = getValue();
+            node.value = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry<?, ?> entry
+                    && key.equals(entry.getKey())
+                    && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return STR."\{key}=\{getValue()}";
+        }
+    }
+
+    /**
+     * This class is a node of a map, holding a value associated with a key ending at it,
+     * so nodes of other tries do not pay for values.
+     * Its children, created by {@link TrieNode#nearestChild(char)}, are nodes of this class as well.
+     */
+    private static final class ValueNode extends TrieNode {
+
+        /**
+         * A value associated with a key ending at this node.
+         */
+        private Object value;
+
+        @Override
+        TrieNode newNode() {
+            return new ValueNode();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.lucasmalara.datastruct.trie;
+
+/**
+ * A listener of operations of a {@link Trie}, enabled by {@link Trie#setMetrics(TrieMetrics)}.
+ * Every method does nothing by default, so an implementation overrides only what it needs.
+ * Methods are called synchronously by the thread performing an operation, so they should be cheap.
+ *
+ * @see CountingTrieMetrics
+ */
+public interface TrieMetrics {
+
+    /**
+     * A listener ignoring all operations, which enables JDK Flight Recorder events alone.
+     */
+    TrieMetrics NONE = new TrieMetrics() {
+    };
+
+    /**
+     * This method is called once an operation finishes.
+     *
+     * @param operation a kind of an operation.
+     * @param depth     the number of nodes below the root visited by an operation.
+     * @param nanos     a duration of an operation in nanoseconds.
+     */
+    default void onOperation(Operation operation, int depth, long nanos) {
+    }
+
+    /**
+     * This method is called when nodes are created, and once when a listener is set,
+     * with the number of nodes a trie already has.
+     *
+     * @param count the number of created nodes.
+     */
+    default void onNodesCreated(int count) {
+    }
+
+    /**
+     * This method is called when nodes are removed.
+     *
+     * @param count the number of removed nodes.
+     */
+    default void onNodesRemoved(int count) {
+    }
+
+    /**
+     * Kinds of instrumented operations.
+     */
+    enum Operation {
+        INSERT,
+        SEARCH,
+        ERASE,
+        DEPTH_FIRST_SEARCH
+    }
+}
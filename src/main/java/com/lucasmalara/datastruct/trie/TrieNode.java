@@ -1,19 +1,64 @@
 package com.lucasmalara.datastruct.trie;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 /**
  * This class represents a node in a trie.
  *
+ * @implNote Children are not kept in a hash table.
+ * A node adapts its child storage to its fan-out:
+ * <ul>
+ *     <li>a single child is stored inline, next to its character;</li>
+ *     <li>a few children are stored in a sorted {@code char[]} and a parallel {@code TrieNode[]};</li>
+ *     <li>a wide fan-out over a narrow range of characters is stored in a dense table indexed by character.</li>
+ * </ul>
+ * A node is upgraded and downgraded between these representations by {@link #nearestChild(char)}
+ * and {@link #removeChild(char)}, so no character is ever boxed on a lookup.
  * @see Trie
  */
 public class TrieNode {
 
     /**
-     * Children of this node associated with a unique character.
+     * The number of children above which a dense table is considered.
      */
-    public final Map<Character, TrieNode> children = new HashMap<>();
+    private static final int SORTED_MAX = 16;
+
+    /**
+     * The maximum ratio of a dense table length to the number of children stored in it.
+     */
+    private static final int DENSE_LOAD = 3;
+
+    /**
+     * Characters of the children in a sorted representation, {@code null} otherwise.
+     */
+    private char[] keys;
+
+    /**
+     * Children parallel to {@link #keys} in a sorted representation,
+     * children indexed by {@code c - base} in a dense representation,
+     * {@code null} otherwise.
+     */
+    private TrieNode[] nodes;
+
+    /**
+     * The only child of this node in a single-child representation, {@code null} otherwise.
+     */
+    private TrieNode singleChild;
+
+    /**
+     * A character associated with {@link #singleChild}.
+     */
+    private char singleKey;
+
+    /**
+     * A character associated with the first slot of a dense representation.
+     */
+    private char base;
+
+    /**
+     * The number of children of this node.
+     */
+    private int size;
 
     /**
      * {@code Boolean} value determining if this node is associated with
@@ -21,23 +66,65 @@ public class TrieNode {
      */
     private boolean isTerminal;
 
+    /**
+     * The number of words ending at this node or below it.
+     */
+    private int count;
+
+    /**
+     * This constructor creates a node without children, not marked as terminal.
+     */
+    public TrieNode() {
+    }
+
+    /**
+     * This constructor creates a node with the children, the terminal mark and the number of words of a given node.
+     * Child arrays are copied rather than shared, so a change made through either node never reaches the other one.
+     *
+     * @param other a node to copy.
+     */
+    TrieNode(TrieNode other) {
+        keys = other.keys == null ? null : other.keys.clone();
+        nodes = other.nodes == null ? null : other.nodes.clone();
+        singleChild = other.singleChild;
+        singleKey = other.singleKey;
+        base = other.base;
+        size = other.size;
+        isTerminal = other.isTerminal;
+        count = other.count;
+    }
+
     /**
      * This method checks if this node is a leaf.
      *
-     * @return {@code true} if {@link #children} is empty, {@code false} otherwise.
+     * @return {@code true} if this node does not have a child, {@code false} otherwise.
      */
     public boolean isLeaf() {
-        return children.isEmpty();
+        return size == 0;
     }
 
     /**
      * This method removes a child of this node by a given character.
+     * The child storage is downgraded to a more compact representation when it becomes sparse.
      *
      * @param c a character associated with a node to remove.
      * @return removed child if exists, {@code null} otherwise.
      */
     public TrieNode removeChild(char c) {
-        return children.remove(c);
+        if (size <= 1) {
+            if (size == 0 || singleKey != c)
+                return null;
+
+            TrieNode removed = singleChild;
+            singleChild = null;
+            size = 0;
+            return removed;
+        }
+
+        if (keys != null)
+            return removeSorted(c);
+
+        return removeDense(c);
     }
 
     /**
@@ -57,14 +144,96 @@ public class TrieNode {
         this.isTerminal = isTerminal;
     }
 
+    /**
+     * @return a score of a word ending at this node, meaningful only if this node is marked as terminal.
+     * @implNote A node of a trie that has never been given a score other than {@code 0} does not store scores,
+     * so its score is always {@code 0}; see {@link ScoredNode}.
+     */
+    public long getScore() {
+        return 0;
+    }
+
+    /**
+     * @param score a score of a word ending at this node.
+     * @implNote It does nothing, since a node without scores is only ever given a score of {@code 0};
+     * a trie switches to {@link ScoredNode} before it gives any other score.
+     */
+    void setScore(long score) {
+    }
+
+    /**
+     * @return an upper bound of scores of words ending at this node or below it,
+     * {@link Long#MIN_VALUE} if there is no such word.
+     * @implNote Every word below a node without scores has a score of {@code 0},
+     * so the bound follows from the number of words.
+     * It may overestimate the highest score, but it never underestimates it.
+     */
+    long maxScore() {
+        return count > 0 ? 0 : Long.MIN_VALUE;
+    }
+
+    /**
+     * @param score a score of a word ending at this node or below it.
+     * @implNote It does nothing, since the bound of a node without scores follows from the number of words.
+     */
+    void raiseMaxScore(long score) {
+    }
+
+    /**
+     * This method recomputes the upper bound of scores from the score of this node and the bounds of its children.
+     *
+     * @implNote It does nothing, since the bound of a node without scores follows from the number of words.
+     */
+    void refreshMaxScore() {
+    }
+
+    /**
+     * @return a new node of the same kind as this node, to become its child.
+     */
+    TrieNode newNode() {
+        return new TrieNode();
+    }
+
+    /**
+     * @return the number of words ending at this node or below it.
+     * @implNote The number is maintained by the operations of a trie.
+     */
+    int count() {
+        return count;
+    }
+
+    /**
+     * @param delta a change of the number of words ending at this node or below it.
+     */
+    void addCount(int delta) {
+        count += delta;
+    }
+
+    /**
+     * This method recomputes the number of words from the terminal mark of this node and the numbers of its children.
+     */
+    void refreshCount() {
+        int sum = isTerminal ? 1 : 0;
+        for (int slot = nextSlot(-1); slot >= 0; slot = nextSlot(slot))
+            sum += childAt(slot).count;
+
+        count = sum;
+    }
+
     /**
      * This method returns the nearest possible node associated with a given character.
+     * The child storage is upgraded to a wider representation when it runs out of room.
      *
      * @param c a character associated with a possible node.
      * @return a child associated with a given character if exists, new child associated by that character otherwise.
      */
     public TrieNode nearestChild(char c) {
-        return children.computeIfAbsent(c, _ -> new TrieNode());
+        TrieNode child = getChild(c);
+        if (child == null) {
+            child = newNode();
+            putChild(c, child);
+        }
+        return child;
     }
 
     /**
@@ -74,7 +243,327 @@ public class TrieNode {
      * @return a child associated with a given character if exists, null otherwise.
      */
     public TrieNode getChild(char c) {
-        return children.get(c);
+        if (size <= 1)
+            return singleKey == c ? singleChild : null;
+
+        if (keys != null) {
+            int i = Arrays.binarySearch(keys, 0, size, c);
+            return i >= 0 ? nodes[i] : null;
+        }
+
+        int i = c - base;
+        return i >= 0 && i < nodes.length ? nodes[i] : null;
+    }
+
+    /**
+     * This method associates a given node with a given character as a child of this node.
+     * A child previously associated with that character is replaced.
+     *
+     * @param c    a character to associate a given node with.
+     * @param node a node to become a child of this node.
+     */
+    void putChild(char c, TrieNode node) {
+        if (size == 0) {
+            singleKey = c;
+            singleChild = node;
+            size = 1;
+        } else if (size == 1) {
+            if (singleKey == c) {
+                singleChild = node;
+                return;
+            }
+            keys = new char[2];
+            nodes = new TrieNode[2];
+            boolean before = c < singleKey;
+            keys[before ? 0 : 1] = c;
+            nodes[before ? 0 : 1] = node;
+            keys[before ? 1 : 0] = singleKey;
+            nodes[before ? 1 : 0] = singleChild;
+            singleChild = null;
+            size = 2;
+        } else if (keys != null) {
+            putSorted(c, node);
+        } else {
+            putDense(c, node);
+        }
+    }
+
+    /**
+     * This method shrinks the sorted arrays of the child storage to the number of children.
+     */
+    void trimToSize() {
+        if (keys != null && keys.length > size) {
+            keys = Arrays.copyOf(keys, size);
+            nodes = Arrays.copyOf(nodes, size);
+        }
+    }
+
+    /**
+     * This method rebuilds the child storage of this node at its minimal size.
+     * Sorted arrays are shrunk to the number of children, and a dense table is shrunk to the range of its children,
+     * or converted into sorted arrays if it is too sparse to stay dense.
+     *
+     * @return an estimated number of bytes reclaimed.
+     */
+    long compact() {
+        long before = childStorageBytes();
+        if (keys != null) {
+            trimToSize();
+        } else if (nodes != null) {
+            int low = nextSlot(-1);
+            int high = nodes.length - 1;
+            while (nodes[high] == null)
+                high--;
+
+            int span = high - low + 1;
+            if (size <= SORTED_MAX / 2 || span > DENSE_LOAD * size) {
+                toSorted(size);
+            } else if (span < nodes.length) {
+                nodes = Arrays.copyOfRange(nodes, low, high + 1);
+                base = (char) (base + low);
+            }
+        }
+        return before - childStorageBytes();
+    }
+
+    /**
+     * @return an estimated number of bytes retained by the arrays of the child storage of this node,
+     * assuming compressed references.
+     */
+    long childStorageBytes() {
+        return (keys != null ? arrayBytes(keys.length, Character.BYTES) : 0)
+                + (nodes != null ? arrayBytes(nodes.length, Integer.BYTES) : 0);
+    }
+
+    /**
+     * @param length       the length of an array.
+     * @param elementBytes the number of bytes of an element of an array.
+     * @return an estimated number of bytes of an array, with a header and a padding to 8 bytes.
+     */
+    private static long arrayBytes(int length, int elementBytes) {
+        long bytes = 16 + (long) length * elementBytes;
+        return (bytes + 7) & ~7;
+    }
+
+    /**
+     * @return the number of children of this node.
+     */
+    int childCount() {
+        return size;
+    }
+
+    /**
+     * This method iterates through the occupied slots of the child storage in ascending character order.
+     * A slot is valid until the child storage of this node is modified.
+     *
+     * @param slot a slot to move from, {@code -1} to move to the first slot.
+     * @return the next occupied slot, {@code -1} if there is none.
+     */
+    int nextSlot(int slot) {
+        if (size <= 1)
+            return slot < 0 && size == 1 ? 0 : -1;
+
+        if (keys != null)
+            return slot + 1 < size ? slot + 1 : -1;
+
+        for (int i = slot + 1; i < nodes.length; i++) {
+            if (nodes[i] != null)
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @param c a character to look for.
+     * @return the slot of a child associated with the lowest character greater than or equal to a given one,
+     * {@code -1} if there is none.
+     */
+    int ceilingSlot(char c) {
+        if (size <= 1)
+            return size == 1 && singleKey >= c ? 0 : -1;
+
+        if (keys != null) {
+            int i = Arrays.binarySearch(keys, 0, size, c);
+            if (i < 0)
+                i = -i - 1;
+            return i < size ? i : -1;
+        }
+
+        return nextSlot(Math.max(c - base, 0) - 1);
+    }
+
+    /**
+     * @param slot an occupied slot.
+     * @return a character associated with a child stored in a given slot.
+     */
+    char keyAt(int slot) {
+        if (size <= 1)
+            return singleKey;
+
+        return keys != null ? keys[slot] : (char) (base + slot);
+    }
+
+    /**
+     * @param slot an occupied slot.
+     * @return a child stored in a given slot.
+     */
+    TrieNode childAt(int slot) {
+        return size <= 1 ? singleChild : nodes[slot];
+    }
+
+    /**
+     * This method inserts a child into a sorted representation,
+     * upgrading it to a dense one if it is full and a dense table would be compact enough.
+     *
+     * @param c    a character to associate a given node with.
+     * @param node a node to insert.
+     */
+    private void putSorted(char c, TrieNode node) {
+        int i = Arrays.binarySearch(keys, 0, size, c);
+        if (i >= 0) {
+            nodes[i] = node;
+            return;
+        }
+
+        int at = -i - 1;
+        if (size == keys.length) {
+            int span = Math.max(c, keys[size - 1]) - Math.min(c, keys[0]) + 1;
+            if (size >= SORTED_MAX && span <= DENSE_LOAD * (size + 1)) {
+                toDense();
+                putDense(c, node);
+                return;
+            }
+            keys = Arrays.copyOf(keys, size * 2);
+            nodes = Arrays.copyOf(nodes, size * 2);
+        }
+
+        System.arraycopy(keys, at, keys, at + 1, size - at);
+        System.arraycopy(nodes, at, nodes, at + 1, size - at);
+        keys[at] = c;
+        nodes[at] = node;
+        size++;
+    }
+
+    /**
+     * This method inserts a child into a dense representation,
+     * widening the table or downgrading to a sorted representation if a given character is out of range.
+     *
+     * @param c    a character to associate a given node with.
+     * @param node a node to insert.
+     */
+    private void putDense(char c, TrieNode node) {
+        int i = c - base;
+        if (i >= 0 && i < nodes.length) {
+            if (nodes[i] == null)
+                size++;
+
+            nodes[i] = node;
+            return;
+        }
+
+        int low = Math.min(c, base);
+        int span = Math.max(c, base + nodes.length - 1) - low + 1;
+        if (span > DENSE_LOAD * (size + 1)) {
+            toSorted(size * 2);
+            putSorted(c, node);
+            return;
+        }
+
+        TrieNode[] widened = new TrieNode[span];
+        System.arraycopy(nodes, 0, widened, base - low, nodes.length);
+        nodes = widened;
+        base = (char) low;
+        nodes[c - base] = node;
+        size++;
+    }
+
+    /**
+     * This method removes a child from a sorted representation,
+     * shrinking it or downgrading it to a single child when it becomes sparse.
+     *
+     * @param c a character associated with a node to remove.
+     * @return removed child if exists, {@code null} otherwise.
+     */
+    private TrieNode removeSorted(char c) {
+        int i = Arrays.binarySearch(keys, 0, size, c);
+        if (i < 0)
+            return null;
+
+        TrieNode removed = nodes[i];
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(nodes, i + 1, nodes, i, size - i - 1);
+        nodes[--size] = null;
+
+        if (size == 1) {
+            singleKey = keys[0];
+            singleChild = nodes[0];
+            keys = null;
+            nodes = null;
+        } else if (keys.length > 4 && size * 4 <= keys.length) {
+            keys = Arrays.copyOf(keys, keys.length / 2);
+            nodes = Arrays.copyOf(nodes, nodes.length / 2);
+        }
+        return removed;
+    }
+
+    /**
+     * This method removes a child from a dense representation,
+     * downgrading it to a sorted one when it becomes sparse.
+     *
+     * @param c a character associated with a node to remove.
+     * @return removed child if exists, {@code null} otherwise.
+     */
+    private TrieNode removeDense(char c) {
+        int i = c - base;
+        if (i < 0 || i >= nodes.length || nodes[i] == null)
+            return null;
+
+        TrieNode removed = nodes[i];
+        nodes[i] = null;
+        if (--size <= SORTED_MAX / 2)
+            toSorted(SORTED_MAX / 2);
+
+        return removed;
+    }
+
+    /**
+     * This method converts a sorted representation into a dense one.
+     */
+    private void toDense() {
+        TrieNode[] table = new TrieNode[keys[size - 1] - keys[0] + 1];
+        for (int i = 0; i < size; i++)
+            table[keys[i] - keys[0]] = nodes[i];
+
+        base = keys[0];
+        keys = null;
+        nodes = table;
+    }
+
+    /**
+     * This method converts a dense representation into a sorted one.
+     *
+     * @param capacity a capacity of the sorted arrays, not less than the number of children.
+     */
+    private void toSorted(int capacity) {
+        char[] sortedKeys = new char[capacity];
+        TrieNode[] sortedNodes = new TrieNode[capacity];
+        int j = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            if (nodes[i] != null) {
+                sortedKeys[j] = (char) (base + i);
+                sortedNodes[j++] = nodes[i];
+            }
+        }
+        keys = sortedKeys;
+        nodes = sortedNodes;
+    }
+
+    /**
+     * @return a live view of the children of this node associated with a unique character, ordered by character.
+     * @implNote A view is created per call rather than kept by every node, since it holds no state of its own.
+     */
+    public Map<Character, TrieNode> children() {
+        return new Children();
     }
 
     /**
@@ -84,8 +573,96 @@ public class TrieNode {
     public String toString() {
         StringBuilder sb = new StringBuilder();
         if (!isLeaf())
-            sb.append(children).append(", ");
+            sb.append(children()).append(", ");
 
         return sb.append(isTerminal).toString();
     }
+
+    /**
+     * This class is a {@code Map} view of the child storage of the enclosing node.
+     */
+    private final class Children extends AbstractMap<Character, TrieNode> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public TrieNode get(Object key) {
+            return key instanceof Character c ? getChild(c) : null;
+        }
+
+        @Override
+        public TrieNode put(Character key, TrieNode value) {
+            Objects.requireNonNull(value);
+            TrieNode previous = getChild(key);
+            putChild(key, value);
+            return previous;
+        }
+
+        @Override
+        public TrieNode remove(Object key) {
+            return key instanceof Character c ? removeChild(c) : null;
+        }
+
+        @Override
+        public void clear() {
+            keys = null;
+            nodes = null;
+            singleChild = null;
+            size = 0;
+        }
+
+        @Override
+        public Set<Entry<Character, TrieNode>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public Iterator<Entry<Character, TrieNode>> iterator() {
+                    return new Iterator<>() {
+                        private int next = nextSlot(-1);
+                        private int last = -1;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next >= 0;
+                        }
+
+                        @Override
+                        public Entry<Character, TrieNode> next() {
+                            if (next < 0)
+                                throw new NoSuchElementException();
+
+                            last = keyAt(next);
+                            Entry<Character, TrieNode> entry = Map.entry((char) last, childAt(next));
+                            next = nextSlot(next);
+                            return entry;
+                        }
+
+                        @Override
+                        public void remove() {
+                            if (last < 0)
+                                throw new IllegalStateException();
+
+                            // slots may move when the storage changes, so the cursor is restored by character
+                            int following = next < 0 ? -1 : keyAt(next);
+                            removeChild((char) last);
+                            next = following < 0 ? -1 : ceilingSlot((char) following);
+                            last = -1;
+                        }
+                    };
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,46 @@
+package com.lucasmalara.datastruct.trie;
+
+import jdk.jfr.*;
+
+/**
+ * JDK Flight Recorder event of an operation of an instrumented {@link Trie}.
+ * Only operations lasting longer than a threshold, {@code 1 ms} by default, are recorded.
+ * The threshold can be changed by a recording setting of {@value #NAME}.
+ *
+ * @see Trie#setMetrics(TrieMetrics)
+ */
+@Name(TrieOperationEvent.NAME)
+@Label("Trie Operation")
+@Category("Trie")
+@Description("A slow operation of an instrumented trie")
+@Threshold("1 ms")
+final class TrieOperationEvent extends Event {
+
+    static final String NAME = "com.lucasmalara.datastruct.trie.TrieOperation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Length")
+    @Description("The number of characters of a word")
+    int length;
+
+    @Label("Depth")
+    @Description("The number of nodes below the root visited by an operation")
+    int depth;
+
+    @Label("Nodes Created")
+    int nodesCreated;
+
+    @Label("Nodes Removed")
+    int nodesRemoved;
+
+    /**
+     * @return a new event with its duration started.
+     */
+    static TrieOperationEvent started() {
+        TrieOperationEvent event = new TrieOperationEvent();
+        event.begin();
+        return event;
+    }
+}
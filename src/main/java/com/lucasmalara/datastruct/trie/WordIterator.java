@@ -0,0 +1,92 @@
+package com.lucasmalara.datastruct.trie;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class lazily iterates through words stored below a node, in ascending order.
+ *
+ * @implNote The traversal is a depth-first search with an explicit stack of nodes and slots,
+ * and a single {@code StringBuilder} holding characters from the root to the top of the stack.
+ * A word is only found when it is requested, so consuming {@code n} words visits
+ * only the nodes preceding the {@code n}-th word.
+ * Nodes must not be modified during an iteration.
+ */
+final class WordIterator implements Iterator<String> {
+
+    private final StringBuilder word;
+    private TrieNode[] nodes = new TrieNode[16];
+    private int[] slots = new int[16];
+    private int depth;
+    private String next;
+
+    /**
+     * @param start  a node to iterate below, {@code null} for an empty iteration.
+     * @param prefix characters associated with nodes from the root to a given node.
+     */
+    WordIterator(TrieNode start, String prefix) {
+        word = new StringBuilder(start != null ? prefix : "");
+        if (start != null) {
+            push(start);
+            if (start.isTerminal())
+                next = prefix;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null)
+            next = advance();
+
+        return next != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        String result = next;
+        next = null;
+        return result;
+    }
+
+    /**
+     * @return the next word in ascending order, {@code null} if there is none.
+     */
+    private String advance() {
+        while (depth > 0) {
+            int top = depth - 1;
+            TrieNode node = nodes[top];
+            int slot = node.nextSlot(slots[top]);
+            if (slot < 0) {
+                nodes[--depth] = null;
+                if (top > 0)
+                    word.setLength(word.length() - 1);
+
+                continue;
+            }
+
+            slots[top] = slot;
+            TrieNode child = node.childAt(slot);
+            word.append(node.keyAt(slot));
+            push(child);
+            if (child.isTerminal())
+                return word.toString();
+        }
+        return null;
+    }
+
+    /**
+     * @param node a node to visit the children of.
+     */
+    private void push(TrieNode node) {
+        if (depth == nodes.length) {
+            nodes = Arrays.copyOf(nodes, depth * 2);
+            slots = Arrays.copyOf(slots, depth * 2);
+        }
+        nodes[depth] = node;
+        slots[depth++] = -1;
+    }
+}
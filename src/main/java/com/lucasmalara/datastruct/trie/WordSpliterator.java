@@ -0,0 +1,175 @@
+package com.lucasmalara.datastruct.trie;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * This class splits words stored below a node into ranges traversed in parallel, in ascending order.
+ *
+ * @implNote A spliterator covers a sequence of entries, each of them either a whole subtree of a node
+ * or a single word of a node above them, together with characters from the root to that node.
+ * A split hands over entries holding about a half of remaining words, by the number of words cached in nodes.
+ * An entry holding more than a half of them is first replaced by the entries of its word and its children,
+ * so a subtree of a dominating character is split deeper instead of making one range much larger than another.
+ * Words of an entry are iterated by a {@link WordIterator}, which is handed over by a split if it was started.
+ * Nodes must not be modified during a traversal.
+ */
+final class WordSpliterator implements Spliterator<String> {
+
+    private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT
+            | Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED;
+
+    /**
+     * Nodes of entries; {@code null} for an entry of a single word.
+     */
+    private TrieNode[] nodes;
+
+    /**
+     * Characters from the root to the nodes of entries, or words of entries of a single word.
+     */
+    private String[] prefixes;
+
+    private int from;
+    private int to;
+
+    /**
+     * An iterator of words of an entry preceding {@link #from}, {@code null} if there is none.
+     */
+    private WordIterator current;
+
+    private long remaining;
+
+    /**
+     * @param start  a node to traverse below, {@code null} for an empty traversal.
+     * @param prefix characters associated with nodes from the root to a given node.
+     */
+    WordSpliterator(TrieNode start, String prefix) {
+        this(new TrieNode[]{start}, new String[]{prefix}, 0, start != null ? 1 : 0, null,
+                start != null ? start.count() : 0);
+    }
+
+    private WordSpliterator(TrieNode[] nodes, String[] prefixes, int from, int to, WordIterator current,
+                            long remaining) {
+        this.nodes = nodes;
+        this.prefixes = prefixes;
+        this.from = from;
+        this.to = to;
+        this.current = current;
+        this.remaining = remaining;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super String> action) {
+        while (current == null || !current.hasNext()) {
+            current = null;
+            if (from == to)
+                return false;
+
+            TrieNode node = nodes[from];
+            String prefix = prefixes[from++];
+            if (node == null) {
+                remaining--;
+                action.accept(prefix);
+                return true;
+            }
+            current = new WordIterator(node, prefix);
+        }
+        remaining--;
+        action.accept(current.next());
+        return true;
+    }
+
+    @Override
+    public Spliterator<String> trySplit() {
+        if (current == null)
+            expandDominating();
+
+        int count = to - from;
+        if (count == 0 || (count == 1 && current == null))
+            return null;
+
+        // entries [from, split) with the started iterator are handed over
+        long half = remaining / 2;
+        long taken = current != null ? remaining - countOf(from, to) : 0;
+        int split = from;
+        while (split < to - 1
+                && (taken + countOf(split, split + 1) <= half || (split == from && current == null))) {
+            taken += countOf(split, split + 1);
+            split++;
+        }
+
+        WordSpliterator prefix = new WordSpliterator(nodes, prefixes, from, split, current, taken);
+        current = null;
+        from = split;
+        remaining -= taken;
+        return prefix;
+    }
+
+    /**
+     * This method replaces an entry holding more than a half of remaining words
+     * with the entries of its word and its children, as long as there is such an entry.
+     */
+    private void expandDominating() {
+        while (true) {
+            int dominating = -1;
+            for (int i = from; i < to && dominating < 0 && remaining > 1; i++) {
+                if (nodes[i] != null && nodes[i].count() > remaining / 2)
+                    dominating = i;
+            }
+            if (dominating < 0)
+                return;
+
+            TrieNode node = nodes[dominating];
+            String prefix = prefixes[dominating];
+            int expanded = node.childCount() + (node.isTerminal() ? 1 : 0);
+            TrieNode[] newNodes = new TrieNode[to - from - 1 + expanded];
+            String[] newPrefixes = new String[newNodes.length];
+            int length = dominating - from;
+            System.arraycopy(nodes, from, newNodes, 0, length);
+            System.arraycopy(prefixes, from, newPrefixes, 0, length);
+            if (node.isTerminal())
+                newPrefixes[length++] = prefix;
+            for (int slot = node.nextSlot(-1); slot >= 0; slot = node.nextSlot(slot)) {
+                newNodes[length] = node.childAt(slot);
+                newPrefixes[length++] = prefix + node.keyAt(slot);
+            }
+            System.arraycopy(nodes, dominating + 1, newNodes, length, to - dominating - 1);
+            System.arraycopy(prefixes, dominating + 1, newPrefixes, length, to - dominating - 1);
+
+            // arrays may be shared with a range handed over before, so they are replaced rather than modified
+            nodes = newNodes;
+            prefixes = newPrefixes;
+            from = 0;
+            to = newNodes.length;
+        }
+    }
+
+    /**
+     * @param start an index of the first entry.
+     * @param end   an index after the last entry.
+     * @return the number of words of entries in a given range.
+     */
+    private long countOf(int start, int end) {
+        long count = 0;
+        for (int i = start; i < end; i++)
+            count += nodes[i] != null ? nodes[i].count() : 1;
+
+        return count;
+    }
+
+    @Override
+    public long estimateSize() {
+        return remaining;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    @Override
+    public Comparator<? super String> getComparator() {
+        return null;
+    }
+}
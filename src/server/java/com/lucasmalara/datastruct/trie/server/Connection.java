@@ -0,0 +1,234 @@
+package com.lucasmalara.datastruct.trie.server;
+
+import com.lucasmalara.datastruct.trie.ConcurrentTrie;
+
+import java.io.*;
+import java.net.ProtocolException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * This class parses requests of a single connection and writes their responses, in order.
+ *
+ * @see TrieServer
+ */
+final class Connection {
+
+    /**
+     * The maximum number of words of a {@code BATCH} request.
+     */
+    static final int MAX_BATCH = 1 << 16;
+
+    /**
+     * The maximum number of words listed by a {@code PREFIX} request.
+     */
+    static final int MAX_LIMIT = 1 << 16;
+
+    /**
+     * The maximum number of characters of a line of a request, without its line break,
+     * so a client cannot make a connection buffer an unbounded line.
+     */
+    static final int MAX_LINE = 1 << 16;
+
+    private final ConcurrentTrie trie;
+    private final boolean writable;
+    private final Reader in;
+    private final Writer out;
+
+    /**
+     * Characters read from a stream of requests, of which those from {@link #position} to {@link #limit}
+     * are not parsed yet.
+     */
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+
+    /**
+     * A line being read, kept to reuse its capacity.
+     */
+    private final StringBuilder current = new StringBuilder();
+
+    /**
+     * @param trie     a trie to serve.
+     * @param writable {@code true} to serve {@code INSERT} and {@code ERASE}, {@code false} to reject them.
+     * @param in       a stream of requests.
+     * @param out      a stream of responses.
+     */
+    Connection(ConcurrentTrie trie, boolean writable, InputStream in, OutputStream out) {
+        this.trie = trie;
+        this.writable = writable;
+        this.in = new InputStreamReader(in, StandardCharsets.UTF_8);
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * This method serves requests until a stream of requests ends, a malformed {@code BATCH} is read,
+     * or a line exceeds {@link #MAX_LINE} characters.
+     * Responses are flushed only once no further request is waiting, so pipelined requests share a write.
+     *
+     * @throws IOException if a stream cannot be read or written.
+     */
+    void serve() throws IOException {
+        try {
+            String line;
+            boolean open = true;
+            while (open && (line = readLine()) != null) {
+                open = handle(line);
+                if (!open || !ready())
+                    out.flush();
+            }
+        } catch (ProtocolException e) {
+            reply(STR."ERR \{e.getMessage()}");
+        }
+        out.flush();
+    }
+
+    /**
+     * @param line a line of a request.
+     * @return {@code true} if a connection can serve further requests, {@code false} otherwise.
+     * @throws IOException if a stream cannot be read or written.
+     */
+    private boolean handle(String line) throws IOException {
+        int space = line.indexOf(' ');
+        String command = space < 0 ? line : line.substring(0, space);
+        String argument = space < 0 ? "" : line.substring(space + 1);
+        switch (command) {
+            case "SEARCH" -> reply(trie.search(argument) ? "1" : "0");
+            case "PREFIX" -> prefix(argument);
+            case "BATCH" -> {
+                return batch(argument);
+            }
+            case "INSERT" -> {
+                if (requireWritable()) {
+                    trie.insert(argument);
+                    reply("OK");
+                }
+            }
+            case "ERASE" -> {
+                if (requireWritable())
+                    reply(trie.erase(argument) ? "1" : "0");
+            }
+            default -> reply(STR."ERR Unknown command: \{command}");
+        }
+        return true;
+    }
+
+    /**
+     * @param argument a limit and a prefix, separated by a single space.
+     * @throws IOException if a response cannot be written.
+     */
+    private void prefix(String argument) throws IOException {
+        int space = argument.indexOf(' ');
+        int limit = parseCount(space < 0 ? argument : argument.substring(0, space), MAX_LIMIT);
+        if (limit < 0) {
+            reply(STR."ERR Limit must be a number from 0 to \{MAX_LIMIT}");
+            return;
+        }
+
+        List<String> words = trie.wordsWithPrefix(space < 0 ? "" : argument.substring(space + 1), limit);
+        reply(Integer.toString(words.size()));
+        for (String word : words)
+            reply(word);
+    }
+
+    /**
+     * @param argument the number of words following a request.
+     * @return {@code true} if a connection can serve further requests, {@code false} otherwise.
+     * @throws IOException if a stream cannot be read or written.
+     */
+    private boolean batch(String argument) throws IOException {
+        int size = parseCount(argument, MAX_BATCH);
+        if (size < 0) {
+            reply(STR."ERR Batch size must be a number from 0 to \{MAX_BATCH}");
+            return false;
+        }
+
+        char[] found = new char[size];
+        for (int i = 0; i < size; i++) {
+            String word = readLine();
+            if (word == null)
+                throw new EOFException(STR."Batch ended after \{i} of \{size} words");
+
+            found[i] = trie.search(word) ? '1' : '0';
+        }
+        out.write(found);
+        out.write('\n');
+        return true;
+    }
+
+    /**
+     * @return the next line of a request without its line break, {@code null} if a stream of requests has ended.
+     * @throws ProtocolException if a line exceeds {@link #MAX_LINE} characters.
+     * @throws IOException       if a stream cannot be read.
+     */
+    private String readLine() throws IOException {
+        current.setLength(0);
+        while (true) {
+            if (position == limit) {
+                int read = in.read(buffer, 0, buffer.length);
+                if (read < 0)
+                    return current.isEmpty() ? null : current.toString();
+
+                position = 0;
+                limit = read;
+            }
+            int start = position;
+            while (position < limit && buffer[position] != '\n')
+                position++;
+
+            if (current.length() + position - start > MAX_LINE)
+                throw new ProtocolException(STR."Line exceeds \{MAX_LINE} characters");
+
+            current.append(buffer, start, position - start);
+            if (position < limit) {
+                position++;
+                if (!current.isEmpty() && current.charAt(current.length() - 1) == '\r')
+                    current.setLength(current.length() - 1);
+
+                return current.toString();
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if a request can be read without blocking, {@code false} otherwise.
+     * @throws IOException if a stream cannot be read.
+     */
+    private boolean ready() throws IOException {
+        return position < limit || in.ready();
+    }
+
+    /**
+     * @return {@code true} if this connection serves writes, {@code false} if it has answered with an error instead.
+     * @throws IOException if a response cannot be written.
+     */
+    private boolean requireWritable() throws IOException {
+        if (!writable)
+            reply("ERR Server is read-only");
+
+        return writable;
+    }
+
+    /**
+     * @param line a line of a response.
+     * @throws IOException if a response cannot be written.
+     */
+    private void reply(String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+    }
+
+    /**
+     * @param text a decimal number.
+     * @param max  the maximum number.
+     * @return a given number if it is from {@code 0} to {@code max}, {@code -1} otherwise.
+     */
+    private static int parseCount(String text, int max) {
+        try {
+            int count = Integer.parseInt(text);
+            return count <= max ? count : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.lucasmalara.datastruct.trie.server;
+
+import com.lucasmalara.datastruct.trie.ConcurrentTrie;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * This class runs a load test of a {@link TrieServer} against localhost.
+ * </p>
+ * <p>
+ * A server is started with random words, and every client, on its own virtual thread,
+ * searches for words in pipelined requests, half of them present in a trie and half of them missing,
+ * while a writer keeps inserting and erasing other words in the served trie directly,
+ * since the server itself is read-only.
+ * Throughput of searches and of writes is printed once all clients finish.
+ * </p>
+ * <p>
+ * Options, each followed by a number: {@code --words}, {@code --clients}, {@code --requests} per client
+ * and {@code --batch}, the number of words pipelined at once, or sent as a single {@code BATCH}
+ * if {@code --mode batch} is given instead of {@code --mode pipeline}.
+ * </p>
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "--words", "100000", "--clients", "64", "--requests", "100000", "--batch", "1000",
+                "--mode", "pipeline"));
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!options.containsKey(args[i]))
+                throw new IllegalArgumentException(STR."Unknown option: \{args[i]}");
+
+            options.put(args[i], args[i + 1]);
+        }
+        int words = Integer.parseInt(options.get("--words"));
+        int clients = Integer.parseInt(options.get("--clients"));
+        int requests = Integer.parseInt(options.get("--requests"));
+        int batch = Integer.parseInt(options.get("--batch"));
+        boolean batched = options.get("--mode").equals("batch");
+
+        List<String> present = randomWords(words, 1);
+        List<String> missing = randomWords(words, 2);
+        ConcurrentTrie trie = ConcurrentTrie.empty();
+        present.forEach(trie::insert);
+
+        try (TrieServer server = TrieServer.start(trie, 0);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            AtomicBoolean running = new AtomicBoolean(true);
+            LongAdder writes = new LongAdder();
+            // a platform thread, since a virtual thread that never blocks would hold a carrier of the server
+            Thread writer = Thread.ofPlatform().name("load-test-writer").start(() -> write(trie, running, writes));
+
+            long start = System.nanoTime();
+            List<Future<Long>> results = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                long seed = c;
+                results.add(executor.submit(() -> read(server.port(), present, missing, requests, batch, batched, seed)));
+            }
+            long hits = 0;
+            for (Future<Long> result : results)
+                hits += result.get();
+
+            double seconds = (System.nanoTime() - start) / 1e9;
+            running.set(false);
+            writer.join();
+
+            long searches = (long) clients * requests;
+            System.out.printf("clients: %d, searches: %d, hits: %d, seconds: %.2f%n", clients, searches, hits, seconds);
+            System.out.printf("searches/s: %.0f, writes/s: %.0f%n", searches / seconds, writes.sum() / seconds);
+        }
+    }
+
+    /**
+     * @return the number of words found.
+     */
+    private static long read(int port, List<String> present, List<String> missing, int requests, int batch,
+                             boolean batched, long seed) throws IOException {
+        Random random = new Random(seed);
+        long hits = 0;
+        try (TrieClient client = TrieClient.connect(port)) {
+            List<String> words = new ArrayList<>(batch);
+            for (int done = 0; done < requests; done += words.size()) {
+                words.clear();
+                for (int i = 0; i < Math.min(batch, requests - done); i++) {
+                    List<String> source = random.nextBoolean() ? present : missing;
+                    words.add(source.get(random.nextInt(source.size())));
+                }
+                for (boolean found : batched ? client.searchAll(words) : client.searchEach(words))
+                    hits += found ? 1 : 0;
+            }
+        }
+        return hits;
+    }
+
+    private static void write(ConcurrentTrie trie, AtomicBoolean running, LongAdder writes) {
+        for (int i = 0; running.get(); i++) {
+            String word = STR."written-\{i % 1_000}";
+            if (i / 1_000 % 2 == 0)
+                trie.insert(word);
+            else
+                trie.erase(word);
+
+            writes.increment();
+        }
+    }
+
+    private static List<String> randomWords(int count, long seed) {
+        Random random = new Random(seed);
+        List<String> words = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            char[] word = new char[4 + random.nextInt(12)];
+            for (int j = 0; j < word.length; j++)
+                word[j] = (char) ('a' + random.nextInt(26));
+
+            words.add(new String(word));
+        }
+        return words;
+    }
+}
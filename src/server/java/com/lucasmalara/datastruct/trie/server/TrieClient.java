@@ -0,0 +1,255 @@
+package com.lucasmalara.datastruct.trie.server;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is a client of a {@link TrieServer}, holding a single connection.
+ * A client is not thread-safe; each thread should use its own client.
+ *
+ * @see TrieServer
+ */
+public final class TrieClient implements AutoCloseable {
+
+    /**
+     * The number of requests sent by {@link #searchEach(List)} before their responses are read,
+     * so neither side fills the socket buffers of the other one while it is not reading.
+     */
+    private static final int PIPELINE_DEPTH = 256;
+
+    private final Socket socket;
+    private final BufferedReader in;
+    private final Writer out;
+
+    /**
+     * @param socket a connected socket.
+     * @throws IOException if streams of a given socket cannot be opened.
+     */
+    private TrieClient(Socket socket) throws IOException {
+        this.socket = socket;
+        socket.setTcpNoDelay(true);
+        in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param address an address of a server.
+     * @return a client connected to a given server.
+     * @throws IOException if a connection cannot be established.
+     */
+    public static TrieClient connect(InetSocketAddress address) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(address);
+            return new TrieClient(socket);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @param port a port of a server on the loopback address.
+     * @return a client connected to a given server.
+     * @throws IOException if a connection cannot be established.
+     */
+    public static TrieClient connect(int port) throws IOException {
+        return connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * @param word a word to search for.
+     * @return {@code true} if a served trie contains a given word, {@code false} otherwise.
+     * @throws IOException if a request fails.
+     * @throws IllegalArgumentException if a given word is {@code null}, contains a line break or is too long.
+     */
+    public boolean search(String word) throws IOException {
+        send("SEARCH", word);
+        out.flush();
+        return readFlag();
+    }
+
+    /**
+     * This method searches for each of given words with a separate request,
+     * pipelining requests instead of waiting for each response.
+     *
+     * @param words words to search for.
+     * @return an array whose ith element is the result of {@link #search(String)} of an ith word.
+     * @throws IOException if a request fails.
+     * @throws IllegalArgumentException if a given word is {@code null}, contains a line break or is too long.
+     * @see #searchAll(List)
+     */
+    public boolean[] searchEach(List<String> words) throws IOException {
+        words.forEach(TrieClient::requireWord);
+        boolean[] found = new boolean[words.size()];
+        for (int from = 0; from < found.length; from += PIPELINE_DEPTH) {
+            int to = Math.min(from + PIPELINE_DEPTH, found.length);
+            for (int i = from; i < to; i++)
+                send("SEARCH", words.get(i));
+
+            out.flush();
+            for (int i = from; i < to; i++)
+                found[i] = readFlag();
+        }
+        return found;
+    }
+
+    /**
+     * This method searches for given words with a single {@code BATCH} request.
+     *
+     * @param words words to search for, at most {@value Connection#MAX_BATCH}.
+     * @return an array whose ith element is the result of {@link #search(String)} of an ith word.
+     * @throws IOException if a request fails.
+     * @throws IllegalArgumentException if there are too many words,
+     *                                  or a given word is {@code null}, contains a line break or is too long.
+     */
+    public boolean[] searchAll(List<String> words) throws IOException {
+        if (words.size() > Connection.MAX_BATCH)
+            throw new IllegalArgumentException(STR."Too many words in a batch: \{words.size()}");
+
+        words.forEach(TrieClient::requireWord);
+        out.write(STR."BATCH \{words.size()}\n");
+        for (String word : words) {
+            out.write(word);
+            out.write('\n');
+        }
+        out.flush();
+
+        String line = readLine();
+        if (line.length() != words.size())
+            throw new ProtocolException(STR."Unexpected response: \{line}");
+
+        boolean[] found = new boolean[words.size()];
+        for (int i = 0; i < found.length; i++)
+            found[i] = line.charAt(i) == '1';
+
+        return found;
+    }
+
+    /**
+     * @param prefix a prefix of words to list; an empty {@code String} lists all words.
+     * @param limit  the maximum number of words to list.
+     * @return at most {@code limit} first words of a served trie starting with a given prefix, in ascending order.
+     * @throws IOException if a request fails.
+     * @throws IllegalArgumentException if a given prefix is {@code null}, contains a line break or is too long.
+     */
+    public List<String> wordsWithPrefix(String prefix, int limit) throws IOException {
+        send("PREFIX", STR."\{limit} \{requireWord(prefix)}");
+        out.flush();
+        int size;
+        String line = readLine();
+        try {
+            size = Integer.parseInt(line);
+        } catch (NumberFormatException e) {
+            throw new ProtocolException(STR."Unexpected response: \{line}");
+        }
+
+        List<String> words = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            words.add(readLine());
+
+        return words;
+    }
+
+    /**
+     * This method requires a server started with writes enabled.
+     *
+     * @param word a word to insert in a served trie.
+     * @throws IOException if a request fails; a {@link ProtocolException} if a server is read-only.
+     * @throws IllegalArgumentException if a given word is {@code null}, contains a line break or is too long.
+     */
+    public void insert(String word) throws IOException {
+        send("INSERT", word);
+        out.flush();
+        String line = readLine();
+        if (!line.equals("OK"))
+            throw new ProtocolException(STR."Unexpected response: \{line}");
+    }
+
+    /**
+     * This method requires a server started with writes enabled.
+     *
+     * @param word a word to erase from a served trie.
+     * @return {@code true} if word was erased, {@code false} otherwise.
+     * @throws IOException if a request fails; a {@link ProtocolException} if a server is read-only.
+     * @throws IllegalArgumentException if a given word is {@code null}, contains a line break or is too long.
+     */
+    public boolean erase(String word) throws IOException {
+        send("ERASE", word);
+        out.flush();
+        return readFlag();
+    }
+
+    /**
+     * This method closes a connection of this client.
+     *
+     * @throws IOException if a connection cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    /**
+     * @param command  a command of a request.
+     * @param argument an argument of a request.
+     * @throws IOException if a request cannot be written.
+     */
+    private void send(String command, String argument) throws IOException {
+        // a word is checked before anything is buffered, so a rejected request leaves no partial line behind
+        requireWord(argument);
+        if (command.length() + 1 + argument.length() > Connection.MAX_LINE)
+            throw new IllegalArgumentException(STR."Request exceeds \{Connection.MAX_LINE} characters");
+
+        out.write(command);
+        out.write(' ');
+        out.write(argument);
+        out.write('\n');
+    }
+
+    /**
+     * @return a value of a response of a single digit.
+     * @throws IOException if a response cannot be read or is not a single digit.
+     */
+    private boolean readFlag() throws IOException {
+        String line = readLine();
+        return switch (line) {
+            case "1" -> true;
+            case "0" -> false;
+            default -> throw new ProtocolException(STR."Unexpected response: \{line}");
+        };
+    }
+
+    /**
+     * @return a line of a response.
+     * @throws IOException if a response cannot be read.
+     */
+    private String readLine() throws IOException {
+        String line = in.readLine();
+        if (line == null)
+            throw new EOFException("Connection closed by the server");
+
+        return line;
+    }
+
+    /**
+     * @param word a word to send.
+     * @return a given word.
+     * @throws IllegalArgumentException if a given word is {@code null}, contains a line break,
+     *                                  or exceeds the length of a line accepted by a server.
+     */
+    private static String requireWord(String word) {
+        if (word == null || word.indexOf('\n') >= 0 || word.indexOf('\r') >= 0)
+            throw new IllegalArgumentException(STR."Word cannot be sent: \{word}");
+        if (word.length() > Connection.MAX_LINE)
+            throw new IllegalArgumentException(STR."Word exceeds \{Connection.MAX_LINE} characters");
+
+        return word;
+    }
+}
@@ -0,0 +1,247 @@
+package com.lucasmalara.datastruct.trie.server;
+
+import com.lucasmalara.datastruct.trie.ConcurrentTrie;
+import com.lucasmalara.datastruct.trie.Trie;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.System.Logger.Level.WARNING;
+
+/**
+ * <p>
+ * This class serves words of a {@link ConcurrentTrie} to many clients over a line-based protocol on TCP,
+ * so one warm dictionary can be shared by many processes instead of being built in each of them.
+ * </p>
+ * <p>
+ * Every request and response is a line of UTF-8 text ended by {@code '\n'};
+ * a word is the rest of a line after a command and a single space, so it may contain spaces but not line breaks.
+ * </p>
+ * <ul>
+ *     <li>{@code SEARCH word} is answered with {@code 1} if a word is in a trie, {@code 0} otherwise;</li>
+ *     <li>{@code PREFIX limit prefix} is answered with the number {@code n} of listed words,
+ *     followed by {@code n} lines of at most {@code limit} first words starting with a prefix;</li>
+ *     <li>{@code BATCH n} followed by {@code n} lines of words is answered with a single line of {@code n} digits,
+ *     each of them answering a {@code SEARCH} of a word;</li>
+ *     <li>{@code INSERT word} is answered with {@code OK};</li>
+ *     <li>{@code ERASE word} is answered with {@code 1} if a word was erased, {@code 0} otherwise.</li>
+ * </ul>
+ * <p>
+ * Clients are not authenticated, so a server is read-only unless it is started with writes enabled,
+ * and {@code INSERT} and {@code ERASE} are answered with {@code ERR} otherwise.
+ * A served trie can still be modified directly by the process running a server.
+ * </p>
+ * <p>
+ * A request the server cannot serve is answered with {@code ERR} and a message.
+ * A malformed {@code BATCH}, or a line longer than {@value Connection#MAX_LINE} characters, also closes a connection,
+ * since what follows it cannot be told apart from requests.
+ * </p>
+ *
+ * @implNote Every connection is served by its own virtual thread, blocking on its socket without holding a carrier.
+ * Requests may be pipelined: responses are buffered and written once no further request is waiting to be read,
+ * so a burst of requests is answered with a single write.
+ * Reads of a {@link ConcurrentTrie} never block its writers, and neither do they block one another.
+ * @see TrieClient
+ */
+public final class TrieServer implements AutoCloseable {
+
+    private static final System.Logger LOGGER = System.getLogger(TrieServer.class.getName());
+
+    /**
+     * The longest pause before accepting again after a failure, such as running out of file descriptors.
+     */
+    private static final long MAX_BACKOFF_MILLIS = 1_000;
+
+    private final ConcurrentTrie trie;
+    private final boolean writable;
+    private final ServerSocket serverSocket;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final Thread.Builder connectionThreads = Thread.ofVirtual().name("trie-server-connection-", 0);
+    private final Thread acceptor;
+    private volatile boolean closed;
+
+    /**
+     * @param trie         a trie to serve.
+     * @param writable     {@code true} to serve {@code INSERT} and {@code ERASE}, {@code false} to reject them.
+     * @param serverSocket a bound socket to accept connections from.
+     */
+    private TrieServer(ConcurrentTrie trie, boolean writable, ServerSocket serverSocket) {
+        this.trie = trie;
+        this.writable = writable;
+        this.serverSocket = serverSocket;
+        acceptor = Thread.ofVirtual().name("trie-server-acceptor").start(this::accept);
+    }
+
+    /**
+     * This method starts serving a given trie on a given address.
+     * Writes should be enabled only on an address reachable by trusted clients, since clients are not authenticated.
+     *
+     * @param trie     a trie to serve, which may still be modified by other threads.
+     * @param address  an address to listen on; a port {@code 0} picks an ephemeral port.
+     * @param writable {@code true} to let clients insert and erase words, {@code false} to serve a read-only trie.
+     * @return a running server.
+     * @throws IOException if a given address cannot be bound.
+     */
+    public static TrieServer start(ConcurrentTrie trie, InetSocketAddress address, boolean writable)
+            throws IOException {
+        ServerSocket serverSocket = new ServerSocket();
+        try {
+            serverSocket.bind(address);
+        } catch (IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+        return new TrieServer(trie, writable, serverSocket);
+    }
+
+    /**
+     * This method starts serving a given trie on a given address, rejecting writes of clients.
+     *
+     * @param trie    a trie to serve, which may still be modified by other threads.
+     * @param address an address to listen on; a port {@code 0} picks an ephemeral port.
+     * @return a running server.
+     * @throws IOException if a given address cannot be bound.
+     * @see #start(ConcurrentTrie, InetSocketAddress, boolean)
+     */
+    public static TrieServer start(ConcurrentTrie trie, InetSocketAddress address) throws IOException {
+        return start(trie, address, false);
+    }
+
+    /**
+     * This method starts serving a given trie on a given port of the loopback address, rejecting writes of clients.
+     *
+     * @param trie a trie to serve, which may still be modified by other threads.
+     * @param port a port to listen on; {@code 0} picks an ephemeral port.
+     * @return a running server.
+     * @throws IOException if a given port cannot be bound.
+     * @see #port()
+     */
+    public static TrieServer start(ConcurrentTrie trie, int port) throws IOException {
+        return start(trie, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * This method starts serving words of a given trie on a given port of the loopback address,
+     * rejecting writes of clients.
+     * Words are copied into a {@link ConcurrentTrie}, so a given trie is not used by the server afterwards.
+     *
+     * @param trie a trie whose words to serve.
+     * @param port a port to listen on; {@code 0} picks an ephemeral port.
+     * @return a running server.
+     * @throws IOException if a given port cannot be bound.
+     */
+    public static TrieServer start(Trie trie, int port) throws IOException {
+        ConcurrentTrie copy = ConcurrentTrie.empty();
+        trie.stream().forEach(copy::insert);
+        return start(copy, port);
+    }
+
+    /**
+     * @return a trie served by this server.
+     */
+    public ConcurrentTrie trie() {
+        return trie;
+    }
+
+    /**
+     * @return {@code true} if clients can insert and erase words, {@code false} otherwise.
+     */
+    public boolean isWritable() {
+        return writable;
+    }
+
+    /**
+     * @return a port this server listens on.
+     */
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * This method stops accepting connections and closes all open ones.
+     *
+     * @throws IOException if the listening socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        // wakes the acceptor up if it pauses after a failure
+        acceptor.interrupt();
+        for (Socket connection : connections)
+            closeQuietly(connection);
+
+        try {
+            acceptor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * This method accepts connections until this server is closed, starting a virtual thread for each of them.
+     * A failure of a socket that is still open is logged and followed by a pause, doubled by every next failure,
+     * so a persistent failure does not make the acceptor spin.
+     */
+    private void accept() {
+        long backoff = 0;
+        while (!closed) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+                backoff = 0;
+            } catch (IOException e) {
+                // accept fails once the server socket is closed
+                if (closed || serverSocket.isClosed())
+                    return;
+
+                backoff = Math.min(Math.max(backoff * 2, 10), MAX_BACKOFF_MILLIS);
+                LOGGER.log(WARNING, STR."Accepting a connection failed, retrying in \{backoff} ms", e);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException _) {
+                    return;
+                }
+                continue;
+            }
+
+            connections.add(socket);
+            // a connection accepted while closing would be missed by close()
+            if (closed) {
+                closeQuietly(socket);
+                return;
+            }
+            connectionThreads.start(() -> serve(socket));
+        }
+    }
+
+    /**
+     * @param socket a connection to serve until a client or this server closes it.
+     */
+    private void serve(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            new Connection(trie, writable, socket.getInputStream(), socket.getOutputStream()).serve();
+        } catch (IOException e) {
+            // a broken connection is dropped without affecting other ones
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    /**
+     * @param socket a socket to close, ignoring a failure.
+     */
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // the socket is unusable either way
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.lucasmalara.datastruct.trie;
+
+import com.lucasmalara.datastruct.trie.AhoCorasick.Match;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AhoCorasickTest {
+
+    private static final List<String> KEYWORDS = List.of("he", "she", "his", "hers", "error", "err", "or", "r");
+
+    private AhoCorasick compile(List<String> words) {
+        Trie trie = Trie.empty();
+        words.forEach(trie::insert);
+        return trie.toAhoCorasick();
+    }
+
+    private static List<Match> bruteForce(List<String> words, String text) {
+        int longest = words.stream().mapToInt(String::length).max().orElse(0);
+        List<Match> matches = new ArrayList<>();
+        for (int end = 1; end <= text.length(); end++) {
+            for (int start = Math.max(0, end - longest); start < end; start++) {
+                String candidate = text.substring(start, end);
+                if (words.contains(candidate))
+                    matches.add(new Match(start, end, candidate));
+            }
+        }
+        return matches;
+    }
+
+    @Test
+    void givenClassicExample_WhenFindAll_ThenAllOverlappingMatches() {
+        AhoCorasick automaton = compile(List.of("he", "she", "his", "hers"));
+        assertEquals(List.of(new Match(1, 4, "she"), new Match(2, 4, "he"), new Match(2, 6, "hers")),
+                automaton.findAll("ushers"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "ushers", "an error occurred: stderr", "rrrr", "xyz", "hishershe errorr"})
+    void givenTexts_WhenFindAll_ThenEqualsBruteForce(String text) {
+        AhoCorasick automaton = compile(KEYWORDS);
+        assertEquals(bruteForce(KEYWORDS, text), automaton.findAll(text));
+        assertEquals(!bruteForce(KEYWORDS, text).isEmpty(), automaton.containsAny(text));
+    }
+
+    @Test
+    void givenLongReader_WhenScan_ThenOffsetsSpanBuffers() throws IOException {
+        AhoCorasick automaton = compile(KEYWORDS);
+        String text = "x".repeat(8190) + "error" + "y".repeat(10_000) + "she";
+        List<Match> matches = new ArrayList<>();
+        automaton.scan(new StringReader(text), (start, end, word) -> matches.add(new Match(start, end, word)));
+        assertEquals(bruteForce(KEYWORDS, text), matches);
+        assertEquals(List.of(new Match(8191, 8192, "r"), new Match(8190, 8193, "err"), new Match(8192, 8193, "r"),
+                new Match(8190, 8195, "error"), new Match(8193, 8195, "or"), new Match(8194, 8195, "r"),
+                new Match(18_195, 18_198, "she"), new Match(18_196, 18_198, "he")), matches);
+    }
+
+    @Test
+    void givenCharBuffer_WhenFindAll_ThenOffsetsRelativeToPosition() {
+        AhoCorasick automaton = compile(KEYWORDS);
+        CharBuffer buffer = CharBuffer.wrap("xx his yy").position(3);
+        assertEquals(List.of(new Match(0, 3, "his")), automaton.findAll(buffer));
+    }
+
+    @Test
+    void givenEmptyTrie_WhenFindAll_ThenNoMatches() {
+        AhoCorasick automaton = Trie.empty().toAhoCorasick();
+        assertTrue(automaton.findAll("anything").isEmpty());
+        assertFalse(automaton.containsAny("anything"));
+    }
+}
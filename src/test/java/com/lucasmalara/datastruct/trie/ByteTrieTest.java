@@ -0,0 +1,149 @@
+package com.lucasmalara.datastruct.trie;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ByteTrieTest {
+
+    private static final List<String> KEYS = List.of("a", "ab", "abc", "zażółć", "żółw", "日本", "日本語", "/api/v1/users");
+
+    private ByteTrie filled() {
+        ByteTrie trie = ByteTrie.empty();
+        KEYS.forEach(key -> trie.insert(key.getBytes(UTF_8)));
+        return trie;
+    }
+
+    @Test
+    void givenEmptyTrie_WhenSearch_ThenFalse() {
+        ByteTrie trie = ByteTrie.empty();
+        assertFalse(trie.search("a".getBytes(UTF_8)));
+        assertTrue(trie.isEmpty());
+        assertEquals(0, trie.size());
+    }
+
+    @Test
+    void givenUtf8Keys_WhenSearch_ThenFound() {
+        ByteTrie trie = filled();
+        for (String key : KEYS)
+            assertTrue(trie.search(key.getBytes(UTF_8)), key);
+
+        assertEquals(KEYS.size(), trie.size());
+        assertFalse(trie.search("za".getBytes(UTF_8)));
+        assertFalse(trie.search("日".getBytes(UTF_8)));
+    }
+
+    @Test
+    void givenExistingKey_WhenInsert_ThenFalseAndSameSize() {
+        ByteTrie trie = filled();
+        assertFalse(trie.insert("ab".getBytes(UTF_8)));
+        assertTrue(trie.insert("abd".getBytes(UTF_8)));
+        assertEquals(KEYS.size() + 1, trie.size());
+    }
+
+    @Test
+    void givenAllByteValues_WhenInsert_ThenEachIsDistinctEdge() {
+        ByteTrie trie = ByteTrie.empty();
+        for (int b = 0; b < 256; b++)
+            assertTrue(trie.insert(new byte[]{(byte) b, (byte) (255 - b)}));
+
+        assertEquals(256, trie.size());
+        for (int b = 0; b < 256; b++) {
+            assertTrue(trie.search(new byte[]{(byte) b, (byte) (255 - b)}));
+            assertFalse(trie.search(new byte[]{(byte) b}));
+        }
+    }
+
+    @Test
+    void givenArrayRange_WhenSearch_ThenOnlyRangeIsRead() {
+        ByteTrie trie = filled();
+        byte[] frame = "GET /api/v1/users HTTP/1.1".getBytes(UTF_8);
+        assertTrue(trie.search(frame, 4, 13));
+        assertFalse(trie.search(frame, 4, 12));
+        assertThrows(IndexOutOfBoundsException.class, () -> trie.search(frame, 20, 13));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void givenByteBuffer_WhenSearch_ThenRemainingBytesAreReadAndPositionIsKept(boolean direct) {
+        ByteTrie trie = filled();
+        byte[] bytes = "xx日本語yy".getBytes(UTF_8);
+        ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(bytes.length) : ByteBuffer.allocate(bytes.length);
+        buffer.put(bytes).position(2).limit(bytes.length - 2);
+        assertTrue(trie.search(buffer));
+        assertEquals(2, buffer.position());
+        assertTrue(trie.erase(buffer));
+        assertFalse(trie.search(buffer));
+        assertTrue(trie.insert(buffer));
+        assertTrue(trie.search("日本語".getBytes(UTF_8)));
+    }
+
+    @Test
+    void givenMemorySegment_WhenSearch_ThenSliceIsRead() {
+        ByteTrie trie = filled();
+        try (Arena arena = Arena.ofConfined()) {
+            byte[] bytes = "..żółw..".getBytes(UTF_8);
+            MemorySegment segment = arena.allocate(bytes.length);
+            MemorySegment.copy(MemorySegment.ofArray(bytes), 0, segment, 0, bytes.length);
+            long length = "żółw".getBytes(UTF_8).length;
+            assertTrue(trie.search(segment, 2, length));
+            assertFalse(trie.search(segment, 2, length - 1));
+            assertTrue(trie.erase(segment, 2, length));
+            assertFalse(trie.search("żółw".getBytes(UTF_8)));
+            assertTrue(trie.insert(segment, 2, length));
+            assertThrows(IndexOutOfBoundsException.class, () -> trie.search(segment, 2, bytes.length));
+        }
+    }
+
+    @Test
+    void givenKeys_WhenErase_ThenOtherKeysAreKept() {
+        ByteTrie trie = filled();
+        Set<String> expected = new HashSet<>(KEYS);
+        for (String key : List.of("ab", "日本", "missing", "a", "日本語", "abc")) {
+            assertEquals(expected.remove(key), trie.erase(key.getBytes(UTF_8)), key);
+            for (String contained : KEYS)
+                assertEquals(expected.contains(contained), trie.search(contained.getBytes(UTF_8)), contained);
+            assertEquals(expected.size(), trie.size());
+        }
+    }
+
+    @Test
+    void givenEmptyKey_WhenInsertAndErase_ThenHeldByRoot() {
+        ByteTrie trie = filled();
+        assertFalse(trie.search(new byte[0]));
+        assertTrue(trie.insert(new byte[0]));
+        assertTrue(trie.search(new byte[0]));
+        assertTrue(trie.erase(new byte[0]));
+        assertFalse(trie.search(new byte[0]));
+        assertEquals(KEYS.size(), trie.size());
+    }
+
+    @Test
+    void givenRandomKeys_WhenComparedWithSet_ThenSameContents() {
+        Random random = new Random(42);
+        ByteTrie trie = ByteTrie.empty();
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            byte[] key = new byte[random.nextInt(4)];
+            for (int j = 0; j < key.length; j++)
+                key[j] = (byte) (random.nextInt(6) * 50);
+
+            String id = Arrays.toString(key);
+            if (random.nextBoolean())
+                assertEquals(expected.add(id), trie.insert(key));
+            else
+                assertEquals(expected.remove(id), trie.erase(key));
+        }
+        assertEquals(expected.size(), trie.size());
+    }
+}
@@ -0,0 +1,240 @@
+package com.lucasmalara.datastruct.trie;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConcurrentTrieTest {
+
+    private static final List<String> EXAMPLES =
+            List.of("bat", "bar", "barn", "barm", "cat", "car", "carp", "cell", "cola", "cut", "dog", "r");
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    void givenNullAndEmptySource_WhenInsert_ThenIsEmptyIsTrue(String value) {
+        ConcurrentTrie trie = ConcurrentTrie.empty();
+        trie.insert(value);
+        assertTrue(trie.isEmpty());
+        assertFalse(trie.search(value));
+        assertFalse(trie.erase(value));
+    }
+
+    @Test
+    void givenWordsExamples_WhenInsert_ThenSearchIsTrue() {
+        ConcurrentTrie trie = ConcurrentTrie.empty();
+        EXAMPLES.forEach(trie::insert);
+        EXAMPLES.forEach(s -> assertTrue(trie.search(s), s));
+        assertFalse(trie.search("ba"));
+        assertFalse(trie.search("barns"));
+    }
+
+    @Test
+    void givenWordsExamples_WhenWordsWithPrefix_ThenFirstWordsInAscendingOrder() {
+        ConcurrentTrie trie = ConcurrentTrie.empty();
+        EXAMPLES.forEach(trie::insert);
+        assertEquals(List.of("car", "carp", "cat"), trie.wordsWithPrefix("ca", 10));
+        assertEquals(List.of("bar", "barm"), trie.wordsWithPrefix("ba", 2));
+        assertEquals(List.of("bar", "barm", "barn", "bat", "car"), trie.wordsWithPrefix("", 5));
+        assertEquals(List.of(), trie.wordsWithPrefix("x", 10));
+        assertEquals(List.of(), trie.wordsWithPrefix(null, 10));
+        assertEquals(List.of(), trie.wordsWithPrefix("c", 0));
+        assertThrows(IllegalArgumentException.class, () -> trie.wordsWithPrefix("c", -1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ba", "barns", "x", "c"})
+    void givenWordsNotInTrie_WhenErase_ThenEraseIsFalse(String value) {
+        ConcurrentTrie trie = ConcurrentTrie.empty();
+        EXAMPLES.forEach(trie::insert);
+        assertFalse(trie.erase(value));
+    }
+
+    @Test
+    void givenVeryLongWord_WhenTraverse_ThenNoStackOverflowError() {
+        ConcurrentTrie trie = ConcurrentTrie.empty();
+        String deep = "x".repeat(100_000);
+        trie.insert(deep);
+        trie.insert("xy");
+        assertFalse(trie.isEmpty());
+        assertEquals(List.of(deep, "xy"), trie.wordsWithPrefix("x", 10));
+        assertEquals(List.of(deep), trie.wordsWithPrefix("x", 1));
+        List<String> words = new ArrayList<>();
+        trie.forEachWord(words::add);
+        assertEquals(List.of(deep, "xy"), words);
+        assertTrue(trie.erase(deep));
+        assertTrue(trie.erase("xy"));
+        assertTrue(trie.isEmpty());
+    }
+
+    @Test
+    void givenWordsExamples_WhenEraseEach_ThenOnlyOthersRemain() {
+        ConcurrentTrie trie = ConcurrentTrie.empty();
+        EXAMPLES.forEach(trie::insert);
+        Set<String> remaining = new HashSet<>(EXAMPLES);
+        for (String word : EXAMPLES) {
+            assertTrue(trie.erase(word));
+            assertFalse(trie.erase(word));
+            remaining.remove(word);
+            for (String other : EXAMPLES)
+                assertEquals(remaining.contains(other), trie.search(other));
+        }
+        assertTrue(trie.isEmpty());
+    }
+
+    @Test
+    void givenConcurrentEraseOfSibling_WhenInsert_ThenInsertIsNotLost() throws Exception {
+        ConcurrentTrie trie = ConcurrentTrie.empty();
+        int threads = 4;
+        int words = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        // one thread keeps creating and entombing the shared path "ab..."
+        futures.add(executor.submit(() -> {
+            start.await();
+            for (int i = 0; i < words * threads; i++) {
+                trie.insert("abz");
+                trie.erase("abz");
+            }
+            return null;
+        }));
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < words; i++)
+                    trie.insert(STR."ab\{id}-\{i}");
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures)
+            future.get(1, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        assertFalse(trie.search("abz"));
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < words; i++)
+                assertTrue(trie.search(STR."ab\{t}-\{i}"));
+        }
+    }
+
+    @Test
+    void givenConcurrentInsertAndErase_WhenDone_ThenContainsExactlyExpected() throws Exception {
+        ConcurrentTrie trie = ConcurrentTrie.empty();
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 3_000; i++) {
+                    String word = Integer.toString(i * threads + id, 7);
+                    trie.insert(word);
+                    if (i % 3 == 0)
+                        assertTrue(trie.erase(word));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures)
+            future.get(1, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        for (int n = 0; n < 3_000 * threads; n++)
+            assertEquals((n / threads) % 3 != 0, trie.search(Integer.toString(n, 7)));
+    }
+
+    @Test
+    void givenSnapshot_WhenModifyTrie_ThenSnapshotIsNotChanged() {
+        ConcurrentTrie trie = ConcurrentTrie.empty();
+        EXAMPLES.forEach(trie::insert);
+        ConcurrentTrie snapshot = trie.snapshot();
+        trie.insert("zebra");
+        trie.insert("carpet");
+        trie.erase("bat");
+        trie.erase("r");
+        assertTrue(snapshot.isReadOnly());
+        assertFalse(snapshot.search("zebra"));
+        assertFalse(snapshot.search("carpet"));
+        assertTrue(snapshot.search("bat"));
+        assertTrue(snapshot.search("r"));
+        assertTrue(trie.search("carpet"));
+        assertFalse(trie.search("bat"));
+
+        List<String> words = new ArrayList<>();
+        snapshot.forEachWord(words::add);
+        assertEquals(EXAMPLES.stream().sorted().toList(), words);
+    }
+
+    @Test
+    void givenSnapshot_WhenInsertOrErase_ThenThrowsUnsupportedOperationException() {
+        ConcurrentTrie snapshot = ConcurrentTrie.empty().snapshot();
+        assertTrue(snapshot.isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.insert("a"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.erase("a"));
+    }
+
+    @Test
+    void givenEmptiedTrie_WhenIsEmpty_ThenIsEmptyIsTrue() {
+        ConcurrentTrie trie = ConcurrentTrie.empty();
+        trie.insert("abc");
+        ConcurrentTrie snapshot = trie.snapshot();
+        assertTrue(trie.erase("abc"));
+        assertTrue(trie.isEmpty());
+        assertFalse(snapshot.isEmpty());
+    }
+
+    @Test
+    void givenConcurrentWriters_WhenSnapshot_ThenEachWriterProgressIsConsistent() throws Exception {
+        ConcurrentTrie trie = ConcurrentTrie.empty();
+        int threads = 4;
+        int words = 3_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            futures.add(executor.submit(() -> {
+                // each writer inserts its words in order and erases every fifth one right away
+                for (int i = 0; i < words; i++) {
+                    trie.insert(STR."w\{id}-\{i}");
+                    if (i % 5 == 0)
+                        trie.erase(STR."w\{id}-\{i}");
+                }
+                return null;
+            }));
+        }
+
+        int snapshots = 0;
+        while (snapshots < 5 || !futures.stream().allMatch(Future::isDone)) {
+            ConcurrentTrie snapshot = trie.snapshot();
+            Map<Integer, Set<Integer>> seen = new HashMap<>();
+            snapshot.forEachWord(word -> {
+                String[] parts = word.substring(1).split("-");
+                seen.computeIfAbsent(Integer.parseInt(parts[0]), _ -> new HashSet<>()).add(Integer.parseInt(parts[1]));
+            });
+            for (Set<Integer> indices : seen.values()) {
+                int max = Collections.max(indices);
+                for (int i = 0; i < max; i++)
+                    assertEquals(i % 5 != 0, indices.contains(i), STR."index \{i} below \{max}");
+            }
+            snapshots++;
+        }
+        for (Future<?> future : futures)
+            future.get(1, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < words; i++)
+                assertEquals(i % 5 != 0, trie.search(STR."w\{t}-\{i}"));
+        }
+    }
+}
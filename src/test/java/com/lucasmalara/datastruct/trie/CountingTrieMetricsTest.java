@@ -0,0 +1,98 @@
+package com.lucasmalara.datastruct.trie;
+
+import com.lucasmalara.datastruct.trie.TrieMetrics.Operation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CountingTrieMetricsTest {
+
+    @Test
+    void givenInstrumentedTrie_WhenInsertAndErase_ThenNodesAreCounted() {
+        Trie trie = Trie.empty();
+        trie.insert("car");
+        CountingTrieMetrics metrics = new CountingTrieMetrics();
+        trie.setMetrics(metrics);
+        assertEquals(3, metrics.liveNodes());
+
+        trie.insert("carpet");
+        trie.insert("cart", 5);
+        trie.insert("car");
+        assertEquals(3, metrics.count(Operation.INSERT));
+        assertEquals(3 + 3 + 1, metrics.nodesCreated());
+
+        assertTrue(trie.erase("carpet"));
+        assertFalse(trie.erase("dog"));
+        assertEquals(3, metrics.nodesRemoved());
+        assertEquals(4, metrics.liveNodes());
+        assertEquals(4L * CountingTrieMetrics.BYTES_PER_NODE, metrics.estimatedRetainedBytes());
+        assertEquals(2, metrics.count(Operation.ERASE));
+    }
+
+    @Test
+    void givenInstrumentedTrie_WhenSetMetricsAgainOrReplaced_ThenLiveNodesAreNotInflated() {
+        Trie trie = Trie.empty();
+        trie.insert("car");
+        CountingTrieMetrics metrics = new CountingTrieMetrics();
+        trie.setMetrics(metrics);
+        trie.setMetrics(metrics);
+        assertEquals(3, metrics.liveNodes());
+
+        CountingTrieMetrics replacement = new CountingTrieMetrics();
+        trie.setMetrics(replacement);
+        assertEquals(0, metrics.liveNodes());
+        assertEquals(3, replacement.liveNodes());
+
+        trie.setMetrics(null);
+        assertEquals(0, replacement.liveNodes());
+        trie.setMetrics(metrics);
+        assertEquals(3, metrics.liveNodes());
+    }
+
+    @Test
+    void givenInstrumentedTrie_WhenSearch_ThenDepthsAreRecorded() {
+        Trie trie = Trie.empty();
+        trie.insert("carpet");
+        CountingTrieMetrics metrics = new CountingTrieMetrics();
+        trie.setMetrics(metrics);
+
+        assertTrue(trie.search("carpet"));
+        assertFalse(trie.search(new StringBuilder("cars")));
+        assertFalse(trie.search("dog".toCharArray(), 0, 3));
+        assertTrue(trie.depthFirstSearch("carp").isPresent());
+        assertEquals(3, metrics.count(Operation.SEARCH));
+        assertEquals(1, metrics.count(Operation.DEPTH_FIRST_SEARCH));
+        assertTrue(metrics.totalNanos(Operation.SEARCH) >= 0);
+
+        long[] histogram = metrics.depthHistogram();
+        assertEquals(CountingTrieMetrics.MAX_DEPTH + 1, histogram.length);
+        assertEquals(1, histogram[0]);
+        assertEquals(1, histogram[3]);
+        assertEquals(1, histogram[4]);
+        assertEquals(1, histogram[6]);
+    }
+
+    @Test
+    void givenDisabledMetrics_WhenOperate_ThenListenerIsNotCalled() {
+        Trie trie = Trie.empty();
+        List<Operation> operations = new ArrayList<>();
+        trie.setMetrics(new TrieMetrics() {
+            @Override
+            public void onOperation(Operation operation, int depth, long nanos) {
+                operations.add(operation);
+            }
+        });
+        trie.insert("a");
+        trie.setMetrics(null);
+        trie.insert("b");
+        trie.search("a");
+        trie.erase("a");
+        assertEquals(List.of(Operation.INSERT), operations);
+        assertTrue(trie.search("b"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.lucasmalara.datastruct.trie;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DawgTest {
+
+    private static final List<String> SUFFIXED =
+            List.of("tap", "taps", "top", "tops", "tip", "tips");
+
+    @Test
+    void givenEmptyTrie_WhenMinimize_ThenIsEmptyIsTrue() {
+        Dawg dawg = Trie.empty().minimize();
+        assertTrue(dawg.isEmpty());
+        assertEquals(1, dawg.nodeCount());
+        assertFalse(dawg.search("a"));
+    }
+
+    @Test
+    void givenSharedSuffixes_WhenMinimize_ThenNodesAreMerged() {
+        Trie trie = Trie.empty();
+        SUFFIXED.forEach(trie::insert);
+        Dawg dawg = trie.minimize();
+        // root, t, {a, i, o}, p, s
+        assertEquals(5, dawg.nodeCount());
+        SUFFIXED.forEach(word -> assertTrue(dawg.search(word), word));
+    }
+
+    @Test
+    void givenVeryLongWords_WhenMinimize_ThenNoStackOverflowErrorAndSuffixesAreMerged() {
+        String deep = "x".repeat(100_000);
+        Trie trie = Trie.empty();
+        trie.insert(deep);
+        trie.insert(STR."y\{deep}");
+        Dawg dawg = trie.minimize();
+        // root, the node after y, and one node per character of the suffix shared by both words
+        assertEquals(deep.length() + 2, dawg.nodeCount());
+        assertTrue(dawg.search(deep));
+        assertTrue(dawg.search(STR."y\{deep}"));
+        assertFalse(dawg.search("y"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"t", "ta", "tos", "tapss", "x", ""})
+    void givenWordsNotInGraph_WhenSearch_ThenSearchIsFalse(String value) {
+        Trie trie = Trie.empty();
+        SUFFIXED.forEach(trie::insert);
+        assertFalse(trie.minimize().search(value));
+        assertFalse(Dawg.fromSorted(SUFFIXED.stream().sorted()).search(value));
+    }
+
+    @Test
+    void givenPrefixes_WhenStartsWith_ThenEqualsExpected() {
+        Dawg dawg = Dawg.fromSorted(SUFFIXED.stream().sorted());
+        assertTrue(dawg.startsWith("ti"));
+        assertTrue(dawg.startsWith("tops"));
+        assertFalse(dawg.startsWith("tu"));
+    }
+
+    @Test
+    void givenRandomWords_WhenMinimizeOrFromSorted_ThenBothAreMinimalAndEqual() {
+        Random random = new Random(11);
+        TreeSet<String> words = new TreeSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int j = random.nextInt(4); j >= 0; j--)
+                sb.append(List.of("re", "con", "de", "struct", "ion", "ing", "s", "ed").get(random.nextInt(8)));
+            words.add(sb.toString());
+        }
+        Trie trie = Trie.fromSorted(words.stream());
+        Dawg minimized = trie.minimize();
+        Dawg incremental = Dawg.fromSorted(words.iterator());
+        assertEquals(minimized.nodeCount(), incremental.nodeCount());
+        for (int i = 0; i < 5_000; i++) {
+            String word = words.ceiling(Integer.toString(i, 36));
+            if (word != null) {
+                assertTrue(minimized.search(word));
+                assertTrue(incremental.search(word));
+            }
+            String miss = STR."\{Integer.toString(i, 36)}ing";
+            assertEquals(trie.search(miss), minimized.search(miss));
+            assertEquals(trie.search(miss), incremental.search(miss));
+        }
+        words.forEach(word -> assertTrue(incremental.search(word), word));
+    }
+
+    @Test
+    void givenSharedSuffixes_WhenWordsWithPrefix_ThenReturnSortedWordsWithPrefix() {
+        Dawg dawg = Dawg.fromSorted(SUFFIXED.stream().sorted());
+        assertEquals(SUFFIXED.stream().sorted().toList(), dawg.wordsWithPrefix("").toList());
+        assertEquals(List.of("tip", "tips"), dawg.wordsWithPrefix("ti").toList());
+        assertFalse(dawg.prefixIterator("tu").hasNext());
+    }
+
+    @Test
+    void givenUnsortedWords_WhenFromSorted_ThenThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> Dawg.fromSorted(List.of("b", "a").iterator()));
+    }
+}
@@ -0,0 +1,95 @@
+package com.lucasmalara.datastruct.trie;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DoubleArrayTrieTest {
+
+    private static final List<String> EXAMPLES =
+            List.of("bat", "bar", "barn", "barm", "cat", "car", "carp", "cell", "cola", "cut", "dog", "r",
+                    "été", "中文", "a b", "￿");
+
+    private static Trie examples() {
+        Trie trie = Trie.empty();
+        EXAMPLES.forEach(trie::insert);
+        return trie;
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    void givenEmptyTrie_WhenFreeze_ThenSearchIsFalse(String value) {
+        DoubleArrayTrie frozen = Trie.empty().freeze();
+        assertTrue(frozen.isEmpty());
+        assertFalse(frozen.search(value));
+        assertFalse(frozen.search("a"));
+    }
+
+    @Test
+    void givenWordsExamples_WhenFreeze_ThenSearchIsTrue() {
+        DoubleArrayTrie frozen = examples().freeze();
+        assertEquals(EXAMPLES.size(), frozen.size());
+        EXAMPLES.forEach(s -> assertTrue(frozen.search(s), s));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"b", "ba", "barns", "ca", "x", "ét", "中", "a", "rr"})
+    void givenWordsNotInTrie_WhenFreeze_ThenSearchIsFalse(String value) {
+        assertFalse(examples().freeze().search(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "b", "ba", "barn", "ce", "ét", "中", "a "})
+    void givenPrefixes_WhenFreeze_ThenStartsWithIsTrue(String value) {
+        assertTrue(examples().freeze().startsWith(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"barns", "x", "ab", "中中"})
+    void givenNotPrefixes_WhenFreeze_ThenStartsWithIsFalse(String value) {
+        assertFalse(examples().freeze().startsWith(value));
+    }
+
+    @Test
+    void givenFrozenTrie_WhenModifyTrie_ThenFrozenTrieIsNotChanged() {
+        Trie trie = examples();
+        DoubleArrayTrie frozen = trie.freeze();
+        trie.insert("zebra");
+        trie.erase("bat");
+        assertFalse(frozen.search("zebra"));
+        assertTrue(frozen.search("bat"));
+    }
+
+    @Test
+    void givenRandomWords_WhenFreeze_ThenSearchEqualsTrieSearch() {
+        Random random = new Random(42);
+        Trie trie = Trie.empty();
+        Set<String> words = new HashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            String word = randomWord(random);
+            words.add(word);
+            trie.insert(word);
+        }
+        DoubleArrayTrie frozen = trie.freeze();
+        assertEquals(words.size(), frozen.size());
+        for (int i = 0; i < 2000; i++) {
+            String word = randomWord(random);
+            assertEquals(trie.search(word), frozen.search(word), word);
+        }
+        words.forEach(word -> assertTrue(frozen.search(word), word));
+    }
+
+    private static String randomWord(Random random) {
+        char[] chars = new char[1 + random.nextInt(8)];
+        for (int i = 0; i < chars.length; i++)
+            chars[i] = (char) ('a' + random.nextInt(6));
+        return new String(chars);
+    }
+}
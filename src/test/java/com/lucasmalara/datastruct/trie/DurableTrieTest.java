@@ -0,0 +1,292 @@
+package com.lucasmalara.datastruct.trie;
+
+import com.lucasmalara.datastruct.trie.DurableTrie.Durability;
+import com.lucasmalara.datastruct.trie.DurableTrie.Options;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DurableTrieTest {
+
+    private static List<String> files(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    @Test
+    void givenChanges_WhenReopen_ThenChangesAreRecovered(@TempDir Path directory) throws IOException {
+        try (DurableTrie trie = DurableTrie.open(directory)) {
+            trie.insert("bar");
+            trie.insert("barn");
+            trie.insert("cat");
+            trie.insert("bar");
+            trie.insert("");
+            trie.insert(null);
+            assertTrue(trie.erase("cat"));
+            assertFalse(trie.erase("ba"));
+            assertFalse(trie.erase("cat"));
+        }
+        try (DurableTrie trie = DurableTrie.open(directory)) {
+            assertEquals(List.of("bar", "barn"), trie.wordsWithPrefix(""));
+            assertEquals(2, trie.size());
+            assertFalse(trie.search("cat"));
+        }
+        assertEquals(List.of("wal-0.log"), files(directory));
+    }
+
+    @Test
+    void givenTornOrCorruptedTail_WhenReopen_ThenValidRecordsAreRecoveredAndTailIsTruncated(@TempDir Path directory)
+            throws IOException {
+        try (DurableTrie trie = DurableTrie.open(directory)) {
+            trie.insert("alpha");
+            trie.insert("beta");
+        }
+        Path log = directory.resolve("wal-0.log");
+        long valid = Files.size(log);
+        Files.write(log, new byte[]{0, 0, 0, 9, 1, 2}, APPEND);
+        try (DurableTrie trie = DurableTrie.open(directory)) {
+            assertEquals(List.of("alpha", "beta"), trie.wordsWithPrefix(""));
+            trie.insert("gamma");
+        }
+        assertTrue(Files.size(log) > valid);
+
+        byte[] bytes = Files.readAllBytes(log);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(log, bytes);
+        try (DurableTrie trie = DurableTrie.open(directory)) {
+            assertEquals(List.of("alpha", "beta"), trie.wordsWithPrefix(""));
+        }
+        assertEquals(valid, Files.size(log));
+    }
+
+    @Test
+    void givenCheckpoint_WhenReopen_ThenSnapshotAndNewLogAreRecovered(@TempDir Path directory) throws IOException {
+        try (DurableTrie trie = DurableTrie.open(directory)) {
+            trie.insert("car");
+            trie.insert("carpet");
+            trie.checkpoint();
+            assertEquals(List.of("snapshot-1.bin", "wal-1.log"), files(directory));
+            assertEquals(0, Files.size(directory.resolve("wal-1.log")));
+            trie.erase("car");
+            trie.insert("cart");
+        }
+        Files.write(directory.resolve("snapshot-2.bin.tmp"), new byte[]{1, 2, 3});
+        try (DurableTrie trie = DurableTrie.open(directory)) {
+            assertEquals(List.of("carpet", "cart"), trie.wordsWithPrefix(""));
+        }
+        assertEquals(List.of("snapshot-1.bin", "wal-1.log"), files(directory));
+    }
+
+    @Test
+    void givenCheckpoint_WhenWatchingDirectory_ThenNewLogIsCreatedBeforeOldGenerationIsDeleted(@TempDir Path directory)
+            throws IOException, InterruptedException {
+        try (DurableTrie trie = DurableTrie.open(directory);
+             WatchService watcher = directory.getFileSystem().newWatchService()) {
+            trie.insert("car");
+            trie.checkpoint();
+            directory.register(watcher, ENTRY_CREATE, ENTRY_DELETE);
+            trie.insert("cart");
+            trie.checkpoint();
+
+            List<String> events = new ArrayList<>();
+            while (!events.contains("ENTRY_DELETE wal-1.log") || !events.contains("ENTRY_DELETE snapshot-1.bin")) {
+                WatchKey key = watcher.poll(10, TimeUnit.SECONDS);
+                assertNotNull(key, events::toString);
+                for (WatchEvent<?> event : key.pollEvents())
+                    events.add(STR."\{event.kind()} \{event.context()}");
+                key.reset();
+            }
+            int created = events.indexOf("ENTRY_CREATE wal-2.log");
+            assertTrue(created >= 0, events::toString);
+            assertTrue(created < events.indexOf("ENTRY_CREATE snapshot-2.bin"), events::toString);
+            assertTrue(created < events.indexOf("ENTRY_DELETE wal-1.log"), events::toString);
+            assertTrue(created < events.indexOf("ENTRY_DELETE snapshot-1.bin"), events::toString);
+        }
+        assertEquals(List.of("snapshot-2.bin", "wal-2.log"), files(directory));
+    }
+
+    @Test
+    void givenLogOfUnfinishedCheckpoint_WhenReopen_ThenBothLogsAreReplayed(@TempDir Path directory,
+                                                                           @TempDir Path other) throws IOException {
+        try (DurableTrie trie = DurableTrie.open(directory)) {
+            trie.insert("bar");
+            trie.insert("barn");
+        }
+        try (DurableTrie trie = DurableTrie.open(other)) {
+            trie.insert("cat");
+        }
+        // a crash after a checkpoint started wal-1.log, but before snapshot-1.bin was renamed
+        try (DurableTrie trie = DurableTrie.open(other)) {
+            trie.insert("bar");
+            trie.erase("bar");
+        }
+        Files.copy(other.resolve("wal-0.log"), directory.resolve("wal-1.log"));
+        try (DurableTrie trie = DurableTrie.open(directory)) {
+            assertEquals(List.of("barn", "cat"), trie.wordsWithPrefix(""));
+            assertEquals(List.of("wal-0.log", "wal-1.log"), files(directory));
+            trie.insert("cell");
+        }
+        try (DurableTrie trie = DurableTrie.open(directory)) {
+            assertEquals(List.of("barn", "cat", "cell"), trie.wordsWithPrefix(""));
+            trie.checkpoint();
+        }
+        assertEquals(List.of("snapshot-2.bin", "wal-2.log"), files(directory));
+    }
+
+    @Test
+    void givenWordLongerThanRecord_WhenInsertOrErase_ThenThrowsIllegalArgumentExceptionWithoutLogging(
+            @TempDir Path directory) throws IOException {
+        String word = "\uFFFF".repeat(6_000_000);
+        try (DurableTrie trie = DurableTrie.open(directory)) {
+            trie.insert("bar");
+            trie.sync();
+            long size = Files.size(directory.resolve("wal-0.log"));
+            assertThrows(IllegalArgumentException.class, () -> trie.insert(word));
+            assertThrows(IllegalArgumentException.class, () -> trie.erase(word));
+            trie.sync();
+            assertEquals(size, Files.size(directory.resolve("wal-0.log")));
+            assertEquals(1, trie.size());
+            trie.insert("a".repeat(1 << 20));
+        }
+        try (DurableTrie trie = DurableTrie.open(directory)) {
+            assertEquals(2, trie.size());
+        }
+    }
+
+    @Test
+    void givenSmallCheckpointSize_WhenInsert_ThenLogIsCompactedAutomatically(@TempDir Path directory)
+            throws IOException {
+        Options options = Options.defaults().withCheckpointBytes(256);
+        try (DurableTrie trie = DurableTrie.open(directory, options)) {
+            for (int i = 0; i < 200; i++)
+                trie.insert(STR."word-\{i}");
+        }
+        // closing awaits a checkpoint running in the background
+        List<String> files = files(directory);
+        assertEquals(2, files.size());
+        assertTrue(files.getFirst().startsWith("snapshot-"));
+        assertNotEquals("wal-0.log", files.getLast());
+        try (DurableTrie trie = DurableTrie.open(directory, options)) {
+            assertEquals(200, trie.size());
+        }
+    }
+
+    @Test
+    void givenConcurrentWriters_WhenGroupCommit_ThenAllChangesAreRecovered(@TempDir Path directory) throws Exception {
+        int threads = 8;
+        int words = 300;
+        try (DurableTrie trie = DurableTrie.open(directory)) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int id = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < words; i++) {
+                        trie.insert(STR."w\{id}-\{i}");
+                        if (i % 3 == 0)
+                            assertTrue(trie.erase(STR."w\{id}-\{i}"));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get(1, TimeUnit.MINUTES);
+            executor.shutdown();
+        }
+        try (DurableTrie trie = DurableTrie.open(directory)) {
+            assertEquals(threads * (words - 100), trie.size());
+            IntStream.range(0, words).forEach(i -> assertEquals(i % 3 != 0, trie.search(STR."w5-\{i}")));
+        }
+    }
+
+    @Test
+    void givenConcurrentWritersAndBackgroundCheckpoints_WhenReopen_ThenAllChangesAreRecovered(@TempDir Path directory)
+            throws Exception {
+        int threads = 4;
+        int words = 500;
+        Options options = Options.defaults().withCheckpointBytes(1024);
+        try (DurableTrie trie = DurableTrie.open(directory, options)) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int id = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < words; i++) {
+                        trie.insert(STR."w\{id}-\{i}");
+                        if (i % 2 == 0)
+                            assertTrue(trie.erase(STR."w\{id}-\{i}"));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures)
+                future.get(1, TimeUnit.MINUTES);
+            executor.shutdown();
+        }
+        assertNotEquals("wal-0.log", files(directory).getLast());
+        try (DurableTrie trie = DurableTrie.open(directory, options)) {
+            assertEquals(threads * words / 2, trie.size());
+            IntStream.range(0, words).forEach(i -> assertEquals(i % 2 != 0, trie.search(STR."w3-\{i}")));
+        }
+    }
+
+    @Test
+    void givenPeriodicDurability_WhenCloseAndReopen_ThenChangesAreRecovered(@TempDir Path directory)
+            throws IOException {
+        Options options = Options.defaults().withDurability(Durability.PERIODIC).withSyncInterval(Duration.ofMillis(1));
+        try (DurableTrie trie = DurableTrie.open(directory, options)) {
+            for (int i = 0; i < 10_000; i++)
+                trie.insert(Integer.toString(i));
+            trie.sync();
+            assertTrue(Files.size(directory.resolve("wal-0.log")) > 0);
+        }
+        try (DurableTrie trie = DurableTrie.open(directory, options)) {
+            assertEquals(10_000, trie.size());
+        }
+    }
+
+    @Test
+    void givenPeriodicSyncs_WhenClose_ThenSyncInProgressIsAwaitedAndChangesAreRecovered(@TempDir Path directory)
+            throws IOException {
+        Options options = Options.defaults().withDurability(Durability.PERIODIC).withSyncInterval(Duration.ofNanos(1));
+        for (int round = 0; round < 20; round++) {
+            try (DurableTrie trie = DurableTrie.open(directory, options)) {
+                for (int i = 0; i < 500; i++)
+                    trie.insert(STR."\{round}-\{i}");
+            }
+        }
+        try (DurableTrie trie = DurableTrie.open(directory, options)) {
+            assertEquals(10_000, trie.size());
+        }
+    }
+
+    @Test
+    void givenClosedTrie_WhenInsert_ThenThrowsIOException(@TempDir Path directory) throws IOException {
+        DurableTrie trie = DurableTrie.open(directory);
+        trie.close();
+        trie.close();
+        assertThrows(IOException.class, () -> trie.insert("a"));
+        assertThrows(IllegalArgumentException.class, () -> Options.defaults().withCheckpointBytes(0));
+        assertThrows(IllegalArgumentException.class, () -> Options.defaults().withSyncInterval(Duration.ZERO));
+    }
+}
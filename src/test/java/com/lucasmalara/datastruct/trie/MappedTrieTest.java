@@ -0,0 +1,90 @@
+package com.lucasmalara.datastruct.trie;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedTrieTest {
+
+    private static final List<String> EXAMPLES =
+            List.of("bat", "bar", "barn", "barm", "cat", "car", "carp", "cell", "cola", "cut", "dog", "r", "中文");
+
+    @TempDir
+    Path directory;
+
+    private MappedTrie writeAndOpen(Trie trie) throws IOException {
+        Path file = directory.resolve("trie.bin");
+        trie.freeze().writeTo(file);
+        return MappedTrie.open(file);
+    }
+
+    @Test
+    void givenEmptyTrie_WhenOpen_ThenIsEmptyIsTrue() throws IOException {
+        MappedTrie mapped = writeAndOpen(Trie.empty());
+        assertTrue(mapped.isEmpty());
+        assertFalse(mapped.search("a"));
+        assertFalse(mapped.search(null));
+    }
+
+    @Test
+    void givenWordsExamples_WhenOpen_ThenSearchIsTrue() throws IOException {
+        Trie trie = Trie.empty();
+        EXAMPLES.forEach(trie::insert);
+        MappedTrie mapped = writeAndOpen(trie);
+        assertEquals(EXAMPLES.size(), mapped.size());
+        EXAMPLES.forEach(s -> assertTrue(mapped.search(s), s));
+        assertFalse(mapped.search("ba"));
+        assertFalse(mapped.search("中"));
+        assertTrue(mapped.startsWith("ba"));
+        assertTrue(mapped.startsWith("中"));
+        assertFalse(mapped.startsWith("barns"));
+    }
+
+    @Test
+    void givenRandomWords_WhenOpen_ThenSearchEqualsFrozenSearch() throws IOException {
+        Random random = new Random(7);
+        Trie trie = Trie.empty();
+        for (int i = 0; i < 20_000; i++)
+            trie.insert(Long.toString(random.nextLong() & 0xFFFFFFFFL, 36));
+
+        DoubleArrayTrie frozen = trie.freeze();
+        MappedTrie mapped = writeAndOpen(trie);
+        assertEquals(frozen.size(), mapped.size());
+        for (int i = 0; i < 20_000; i++) {
+            String word = Long.toString(random.nextLong() & 0xFFFFFFFFL, 36);
+            assertEquals(frozen.search(word), mapped.search(word), word);
+            assertEquals(frozen.startsWith(word.substring(1)), mapped.startsWith(word.substring(1)), word);
+        }
+    }
+
+    @Test
+    void givenMappedFile_WhenWriteToSameFile_ThenMappedTrieKeepsPreviousWordsAndReopenSeesNewOnes()
+            throws IOException {
+        Trie trie = Trie.empty();
+        EXAMPLES.forEach(trie::insert);
+        MappedTrie mapped = writeAndOpen(trie);
+        Trie other = Trie.empty();
+        other.insert("dove");
+        MappedTrie reopened = writeAndOpen(other);
+        EXAMPLES.forEach(s -> assertTrue(mapped.search(s), s));
+        assertFalse(mapped.search("dove"));
+        assertTrue(reopened.search("dove"));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of("trie.bin"), files.map(file -> file.getFileName().toString()).toList());
+        }
+    }
+
+    @Test
+    void givenCorruptedFile_WhenOpen_ThenThrowsIOException() throws IOException {
+        Path file = directory.resolve("corrupted.bin");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24});
+        assertThrows(IOException.class, () -> MappedTrie.open(file));
+    }
+}
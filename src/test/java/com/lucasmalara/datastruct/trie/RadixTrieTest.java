@@ -0,0 +1,119 @@
+package com.lucasmalara.datastruct.trie;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RadixTrieTest {
+
+    private static final List<String> EXAMPLES =
+            List.of("bat", "bar", "barn", "barm", "cat", "car", "carp", "cell", "cola", "cut", "dog", "r");
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    void givenNullAndEmptySource_WhenInsert_ThenIsEmptyIsTrue(String value) {
+        RadixTrie trie = RadixTrie.empty();
+        trie.insert(value);
+        assertTrue(trie.isEmpty());
+        assertFalse(trie.search(value));
+    }
+
+    @Test
+    void givenWordsExamples_WhenInsert_ThenSearchIsTrue() {
+        RadixTrie trie = RadixTrie.empty();
+        List<String> examples = new ArrayList<>(EXAMPLES);
+        Collections.shuffle(examples, new Random(examples.size()));
+        examples.forEach(trie::insert);
+        examples.forEach(s -> assertTrue(trie.search(s)));
+        assertFalse(trie.search("ba"));
+        assertFalse(trie.search("barns"));
+        assertFalse(trie.search("ce"));
+    }
+
+    @Test
+    void givenSingleBranchWord_WhenInsert_ThenIsStoredInOneNode() {
+        RadixTrie trie = RadixTrie.empty();
+        trie.insert("https://example.com/index");
+        RadixTrieNode child = trie.root.getChild('h');
+        assertEquals("https://example.com/index", child.getLabel());
+        assertTrue(child.isLeaf());
+        assertTrue(child.isTerminal());
+    }
+
+    @Test
+    void givenDivergingWords_WhenInsert_ThenLabelIsSplit() {
+        RadixTrie trie = RadixTrie.empty();
+        trie.insert("romane");
+        trie.insert("romulus");
+        trie.insert("rom");
+        RadixTrieNode split = trie.root.getChild('r');
+        assertEquals("rom", split.getLabel());
+        assertTrue(split.isTerminal());
+        assertEquals("ane", split.getChild('a').getLabel());
+        assertEquals("ulus", split.getChild('u').getLabel());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ro", "roma", "romu", "romulus"})
+    void givenPathPrefix_WhenPerformDFS_ThenNodeFound(String value) {
+        RadixTrie trie = RadixTrie.empty();
+        trie.insert("romane");
+        trie.insert("romulus");
+        assertTrue(trie.depthFirstSearch(value).isPresent());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ra", "romx", "romuluss"})
+    void givenNotPathPrefix_WhenPerformDFS_ThenNodeNotFound(String value) {
+        RadixTrie trie = RadixTrie.empty();
+        trie.insert("romane");
+        trie.insert("romulus");
+        assertTrue(trie.depthFirstSearch(value).isEmpty());
+    }
+
+    @Test
+    void givenInsertedWords_WhenErase_ThenLabelsAreMerged() {
+        RadixTrie trie = RadixTrie.empty();
+        trie.insert("romane");
+        trie.insert("romulus");
+        trie.insert("rom");
+        assertTrue(trie.erase("rom"));
+        assertTrue(trie.erase("romane"));
+        assertFalse(trie.erase("romane"));
+        RadixTrieNode child = trie.root.getChild('r');
+        assertEquals("romulus", child.getLabel());
+        assertTrue(child.isLeaf());
+        assertTrue(trie.search("romulus"));
+        assertTrue(trie.erase("romulus"));
+        assertTrue(trie.isEmpty());
+    }
+
+    @Test
+    void givenWordsExamples_WhenEraseEach_ThenOnlyOthersRemain() {
+        RadixTrie trie = RadixTrie.empty();
+        EXAMPLES.forEach(trie::insert);
+        Set<String> remaining = new HashSet<>(EXAMPLES);
+        for (String word : EXAMPLES) {
+            assertTrue(trie.erase(word));
+            remaining.remove(word);
+            for (String other : EXAMPLES)
+                assertEquals(remaining.contains(other), trie.search(other));
+        }
+        assertTrue(trie.isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ba", "barns", "x"})
+    void givenWordsNotInTrie_WhenErase_ThenEraseIsFalse(String value) {
+        RadixTrie trie = RadixTrie.empty();
+        EXAMPLES.forEach(trie::insert);
+        assertFalse(trie.erase(value));
+    }
+}
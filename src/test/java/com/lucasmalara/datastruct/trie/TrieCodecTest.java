@@ -0,0 +1,90 @@
+package com.lucasmalara.datastruct.trie;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TrieCodecTest {
+
+    private static final List<String> EXAMPLES =
+            List.of("bat", "bar", "barn", "barm", "cat", "car", "carp", "cell", "cola", "cut", "dog", "r", "żółw");
+
+    private static byte[] write(Trie trie) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        trie.writeTo(out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void givenWords_WhenWriteAndRead_ThenSameWordsAndCounts() throws IOException {
+        Trie trie = Trie.empty();
+        EXAMPLES.forEach(trie::insert);
+        Trie read = Trie.readFrom(new ByteArrayInputStream(write(trie)));
+        assertEquals(trie.wordsWithPrefix("").toList(), read.wordsWithPrefix("").toList());
+        assertEquals(EXAMPLES.size(), read.size());
+        assertEquals(3, read.countWithPrefix("ca"));
+        assertFalse(read.search("ba"));
+        read.insert("bay");
+        assertTrue(read.search("bay"));
+    }
+
+    @Test
+    void givenScoredWords_WhenWriteAndRead_ThenScoresAreKept() throws IOException {
+        Trie trie = Trie.empty();
+        trie.insert("apple", 50);
+        trie.insert("apricot", -40);
+        trie.insert("avocado", Long.MAX_VALUE);
+        trie.insert("banana");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        trie.writeTo(Channels.newChannel(out));
+        Trie read = Trie.readFrom(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+        assertEquals(List.of("avocado", "apple", "banana", "apricot"), read.topK("", 4));
+        assertEquals(-40, read.depthFirstSearch("apricot").orElseThrow().getScore());
+    }
+
+    @Test
+    void givenEmptyTrie_WhenWriteAndRead_ThenIsEmpty() throws IOException {
+        byte[] bytes = write(Trie.empty());
+        assertEquals(Integer.BYTES + 2, bytes.length);
+        assertTrue(Trie.readFrom(new ByteArrayInputStream(bytes)).isEmpty());
+    }
+
+    @Test
+    void givenLargeTrie_WhenWriteAndRead_ThenStreamsThroughBuffers() throws IOException {
+        Trie trie = Trie.empty();
+        IntStream.range(0, 50_000).forEach(i -> trie.insert(Integer.toString(i * 7919, 36)));
+        trie.insert("x".repeat(100_000));
+        byte[] bytes = write(trie);
+        assertTrue(bytes.length > TrieCodec.BUFFER_SIZE);
+        Trie read = Trie.readFrom(new ByteArrayInputStream(bytes));
+        assertEquals(trie.size(), read.size());
+        assertTrue(read.search("x".repeat(100_000)));
+        assertEquals(trie.wordsWithPrefix("1").toList(), read.wordsWithPrefix("1").toList());
+    }
+
+    @Test
+    void givenInvalidStreams_WhenRead_ThenThrowsIOException() throws IOException {
+        Trie trie = Trie.empty();
+        EXAMPLES.forEach(trie::insert);
+        byte[] bytes = write(trie);
+        assertThrows(EOFException.class,
+                () -> Trie.readFrom(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1))));
+        byte[] magic = bytes.clone();
+        magic[0] = 0;
+        assertThrows(IOException.class, () -> Trie.readFrom(new ByteArrayInputStream(magic)));
+        byte[] version = bytes.clone();
+        version[4] = 9;
+        assertThrows(IOException.class, () -> Trie.readFrom(new ByteArrayInputStream(version)));
+    }
+}
@@ -0,0 +1,248 @@
+package com.lucasmalara.datastruct.trie;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TrieMapTest {
+
+    private static final List<String> KEYS = List.of("", "a", "ab", "abc", "abd", "b", "ba", "bcd", "car", "cart", "cat", "z");
+
+    private TrieMap<Integer> filled() {
+        TrieMap<Integer> map = TrieMap.empty();
+        for (int i = 0; i < KEYS.size(); i++)
+            map.put(KEYS.get(i), i);
+
+        return map;
+    }
+
+    private TreeMap<String, Integer> expected() {
+        TreeMap<String, Integer> map = new TreeMap<>();
+        for (int i = 0; i < KEYS.size(); i++)
+            map.put(KEYS.get(i), i);
+
+        return map;
+    }
+
+    @Test
+    void givenEmptyMap_WhenGet_ThenNull() {
+        TrieMap<Integer> map = TrieMap.empty();
+        assertNull(map.get("a"));
+        assertFalse(map.containsKey(""));
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void givenKeys_WhenPut_ThenGetValuesAndSize() {
+        TrieMap<Integer> map = filled();
+        for (int i = 0; i < KEYS.size(); i++)
+            assertEquals(i, map.get(KEYS.get(i)));
+
+        assertEquals(KEYS.size(), map.size());
+        assertNull(map.get("ca"));
+        assertFalse(map.containsKey("ca"));
+    }
+
+    @Test
+    void givenExistingKey_WhenPut_ThenPreviousValueAndSameSize() {
+        TrieMap<Integer> map = filled();
+        assertEquals(2, map.put("ab", 100));
+        assertEquals(100, map.get("ab"));
+        assertEquals(KEYS.size(), map.size());
+    }
+
+    @Test
+    void givenNullValue_WhenPut_ThenKeyIsContained() {
+        TrieMap<Integer> map = TrieMap.empty();
+        assertNull(map.put("key", null));
+        assertTrue(map.containsKey("key"));
+        assertNull(map.get("key"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void givenNullKey_WhenGetOrPut_ThenThrowsNullPointerException() {
+        TrieMap<Integer> map = TrieMap.empty();
+        assertThrows(NullPointerException.class, () -> map.get(null));
+        assertThrows(NullPointerException.class, () -> map.put(null, 1));
+    }
+
+    @Test
+    void givenKeys_WhenRemove_ThenOtherKeysAreKept() {
+        TrieMap<Integer> map = filled();
+        TreeMap<String, Integer> expected = expected();
+        for (String key : List.of("ab", "cart", "", "abd", "z", "missing", "ca")) {
+            assertEquals(expected.remove(key), map.remove(key));
+            assertEquals(expected, map);
+            assertEquals(expected.size(), map.size());
+        }
+    }
+
+    @Test
+    void givenAllKeysRemoved_WhenIsEmpty_ThenTrue() {
+        TrieMap<Integer> map = filled();
+        KEYS.forEach(map::remove);
+        assertTrue(map.isEmpty());
+        assertEquals(Map.of(), map);
+    }
+
+    @Test
+    void givenAbsentKey_WhenComputeIfAbsent_ThenValueIsComputedOnce() {
+        TrieMap<Integer> map = TrieMap.empty();
+        assertEquals(5, map.computeIfAbsent("apple", String::length));
+        assertEquals(5, map.computeIfAbsent("apple", _ -> fail()));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void givenNullComputedValue_WhenComputeIfAbsent_ThenNothingIsInserted() {
+        TrieMap<Integer> map = filled();
+        assertNull(map.computeIfAbsent("abcde", _ -> null));
+        assertFalse(map.containsKey("abcde"));
+        assertEquals(expected(), map);
+        assertTrue(map.prefixMap("abcd").isEmpty());
+    }
+
+    @Test
+    void givenFunctionModifyingMap_WhenComputeIfAbsent_ThenThrowsConcurrentModificationException() {
+        TrieMap<Integer> map = TrieMap.empty();
+        assertThrows(ConcurrentModificationException.class, () -> map.computeIfAbsent("a", _ -> map.put("b", 1)));
+    }
+
+    @Test
+    void givenKeys_WhenIterate_ThenSortedLikeTreeMap() {
+        TrieMap<Integer> map = filled();
+        assertEquals(List.copyOf(expected().entrySet()), List.copyOf(map.entrySet()));
+        assertEquals("", map.firstKey());
+        assertEquals("z", map.lastKey());
+    }
+
+    @Test
+    void givenEmptyMap_WhenFirstOrLastKey_ThenThrowsNoSuchElementException() {
+        TrieMap<Integer> map = TrieMap.empty();
+        assertThrows(NoSuchElementException.class, map::firstKey);
+        assertThrows(NoSuchElementException.class, map::lastKey);
+    }
+
+    @Test
+    void givenPrefix_WhenPrefixMap_ThenOnlyKeysWithPrefix() {
+        TrieMap<Integer> map = filled();
+        SortedMap<String, Integer> view = map.prefixMap("ca");
+        assertEquals(List.of("car", "cart", "cat"), List.copyOf(view.keySet()));
+        assertEquals(3, view.size());
+        assertEquals("car", view.firstKey());
+        assertEquals("cat", view.lastKey());
+        assertNull(view.get("ab"));
+        assertEquals(map, map.prefixMap(""));
+        assertTrue(map.prefixMap("x").isEmpty());
+        assertEquals(0, map.prefixMap("x").size());
+    }
+
+    @Test
+    void givenPrefixMap_WhenBackingMapChanges_ThenViewReflectsChanges() {
+        TrieMap<Integer> map = filled();
+        SortedMap<String, Integer> view = map.prefixMap("ca");
+        map.put("cab", 100);
+        map.remove("cart");
+        assertEquals(List.of("cab", "car", "cat"), List.copyOf(view.keySet()));
+        view.put("cap", 200);
+        assertEquals(200, map.get("cap"));
+        assertThrows(IllegalArgumentException.class, () -> view.put("dog", 1));
+    }
+
+    @Test
+    void givenBounds_WhenSubHeadAndTailMap_ThenEqualsTreeMapViews() {
+        TrieMap<Integer> map = filled();
+        TreeMap<String, Integer> expected = expected();
+        List<String> bounds = List.of("", "a", "aa", "abc", "abz", "b", "c", "cat", "d", "zz");
+        for (String from : bounds) {
+            assertEquals(List.copyOf(expected.tailMap(from).entrySet()), List.copyOf(map.tailMap(from).entrySet()));
+            assertEquals(List.copyOf(expected.headMap(from).entrySet()), List.copyOf(map.headMap(from).entrySet()));
+            for (String to : bounds) {
+                if (from.compareTo(to) > 0)
+                    continue;
+
+                assertEquals(expected.subMap(from, to), map.subMap(from, to));
+                assertEquals(expected.subMap(from, to).size(), map.subMap(from, to).size());
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> map.subMap("b", "a"));
+    }
+
+    @Test
+    void givenPrefixMap_WhenNestedBounds_ThenBoundsAreIntersected() {
+        TrieMap<Integer> map = filled();
+        SortedMap<String, Integer> view = map.prefixMap("ab").tailMap("abc").headMap("abd");
+        assertEquals(List.of("abc"), List.copyOf(view.keySet()));
+        assertEquals(List.of("bcd"), List.copyOf(map.tailMap("b").headMap("c").tailMap("bb").keySet()));
+    }
+
+    @Test
+    void givenIterator_WhenRemove_ThenEntriesAreRemovedFromMap() {
+        TrieMap<Integer> map = filled();
+        TreeMap<String, Integer> expected = expected();
+        for (Iterator<String> iterator = map.keySet().iterator(); iterator.hasNext(); ) {
+            if (iterator.next().length() % 2 == 1)
+                iterator.remove();
+        }
+        expected.keySet().removeIf(key -> key.length() % 2 == 1);
+        assertEquals(expected, map);
+        assertEquals(expected.size(), map.size());
+    }
+
+    @Test
+    void givenModifiedMap_WhenIteratorNext_ThenThrowsConcurrentModificationException() {
+        TrieMap<Integer> map = filled();
+        Iterator<String> iterator = map.keySet().iterator();
+        iterator.next();
+        map.put("new", 1);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    void givenEntry_WhenSetValue_ThenWritesThroughToMap() {
+        TrieMap<Integer> map = filled();
+        for (Map.Entry<String, Integer> entry : map.entrySet())
+            entry.setValue(entry.getValue() * 10);
+
+        for (int i = 0; i < KEYS.size(); i++)
+            assertEquals(i * 10, map.get(KEYS.get(i)));
+    }
+
+    @Test
+    void givenRandomOperations_WhenCompared_ThenEqualsTreeMap() {
+        Random random = new Random(42);
+        TrieMap<Integer> map = TrieMap.empty();
+        TreeMap<String, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            StringBuilder key = new StringBuilder();
+            int length = random.nextInt(5);
+            for (int j = 0; j < length; j++)
+                key.append((char) ('a' + random.nextInt(4)));
+
+            String word = key.toString();
+            if (random.nextBoolean())
+                assertEquals(expected.put(word, i), map.put(word, i));
+            else
+                assertEquals(expected.remove(word), map.remove(word));
+        }
+        assertEquals(List.copyOf(expected.entrySet()), List.copyOf(map.entrySet()));
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.lastKey(), map.lastKey());
+        assertEquals(expected.subMap("ab", "c").size(), map.prefixMap("a").tailMap("ab").size()
+                + map.prefixMap("b").size());
+    }
+
+    @Test
+    void givenMap_WhenClear_ThenEmpty() {
+        TrieMap<Integer> map = filled();
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get("a"));
+    }
+}
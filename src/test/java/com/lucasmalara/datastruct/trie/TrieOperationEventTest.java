@@ -0,0 +1,43 @@
+package com.lucasmalara.datastruct.trie;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TrieOperationEventTest {
+
+    @Test
+    void givenRecording_WhenInstrumentedTrieOperates_ThenEventsAreRecorded(@TempDir Path directory) throws IOException {
+        Trie trie = Trie.empty();
+        trie.setMetrics(TrieMetrics.NONE);
+        Path file = directory.resolve("trie.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(TrieOperationEvent.NAME).withThreshold(Duration.ZERO).withoutStackTrace();
+            recording.start();
+            trie.insert("carpet");
+            trie.search("car");
+            trie.erase("carpet");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(TrieOperationEvent.NAME))
+                .toList();
+        assertEquals(List.of("INSERT", "SEARCH", "ERASE"), events.stream().map(e -> e.getString("operation")).toList());
+        assertEquals(6, events.getFirst().getInt("nodesCreated"));
+        assertEquals(3, events.get(1).getInt("depth"));
+        assertEquals(6, events.getLast().getInt("nodesRemoved"));
+    }
+}
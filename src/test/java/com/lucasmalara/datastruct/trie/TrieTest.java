@@ -10,6 +10,7 @@ import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Stream;
 
@@ -113,6 +114,40 @@ class TrieTest {
         assertEquals(expected, next);
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 8, 17, 40, 200})
+    void givenFanOut_WhenNearestChild_ThenGetChildReturnSameNode(int fanOut) {
+        TrieNode node = new TrieNode();
+        Map<Character, TrieNode> expected = new TreeMap<>();
+        for (int i = 0; i < fanOut; i++) {
+            // every third character lands far away to exercise a non-dense layout
+            char c = (char) (i % 3 == 2 ? 'a' + i * 700 : 'a' + i);
+            expected.put(c, node.nearestChild(c));
+        }
+        assertEquals(fanOut, node.children().size());
+        expected.forEach((c, child) -> assertSame(child, node.getChild(c)));
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(node.children().keySet()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 8, 17, 40, 200})
+    void givenFanOut_WhenRemoveChild_ThenRemainingChildrenAreKept(int fanOut) {
+        TrieNode node = new TrieNode();
+        for (int i = 0; i < fanOut; i++)
+            node.nearestChild((char) ('0' + i));
+
+        for (int i = 0; i < fanOut; i += 2)
+            assertNotNull(node.removeChild((char) ('0' + i)));
+
+        assertEquals(fanOut / 2, node.children().size());
+        for (int i = 0; i < fanOut; i++)
+            assertEquals(i % 2 == 1, node.getChild((char) ('0' + i)) != null);
+
+        node.children().keySet().removeIf(_ -> true);
+        assertTrue(node.isLeaf());
+        assertNull(node.getChild('1'));
+    }
+
     @Test
     void givenChild_WhenSetTerminalFalse_ThenIsTerminalIsFalse() {
         Trie trie = Trie.empty();
@@ -208,7 +243,7 @@ class TrieTest {
         void givenTrieNodes_WhenGetChildren_ThenContainsExactlyExpected() {
             Trie trie = Trie.empty();
             examples.forEach(trie::insert);
-            Map<Character, TrieNode> start = trie.root.children;
+            Map<Character, TrieNode> start = trie.root.children();
             assertChildrenContains(start, 'b', 'c', 'd', 'r');
 
             TrieNode temp;
@@ -216,13 +251,13 @@ class TrieTest {
             // CASE: b...
             temp = start
                     .get('b');
-            assertChildrenContains(temp.children, 'a');
+            assertChildrenContains(temp.children(), 'a');
 
             // CASE: ba...
             temp = start
                     .get('b')
                     .getChild('a');
-            assertChildrenContains(temp.children, 't', 'r');
+            assertChildrenContains(temp.children(), 't', 'r');
 
             // CASE: bat
             temp = start
@@ -236,7 +271,7 @@ class TrieTest {
                     .get('b')
                     .getChild('a')
                     .getChild('r');
-            assertChildrenContains(temp.children, 'n', 'm');
+            assertChildrenContains(temp.children(), 'n', 'm');
 
             // CASE: barn
             temp = start
@@ -257,13 +292,13 @@ class TrieTest {
             // CASE: c...
             temp = start
                     .get('c');
-            assertChildrenContains(temp.children, 'a', 'e', 'u', 'o');
+            assertChildrenContains(temp.children(), 'a', 'e', 'u', 'o');
 
             // CASE: ca...
             temp = start
                     .get('c')
                     .getChild('a');
-            assertChildrenContains(temp.children, 't', 'r');
+            assertChildrenContains(temp.children(), 't', 'r');
 
             // CASE: cat
             temp = start
@@ -277,7 +312,7 @@ class TrieTest {
                     .get('c')
                     .getChild('a')
                     .getChild('r');
-            assertChildrenContains(temp.children, 'p');
+            assertChildrenContains(temp.children(), 'p');
 
             // CASE: carp
             temp = start
@@ -291,7 +326,7 @@ class TrieTest {
             temp = start
                     .get('c')
                     .getChild('u');
-            assertChildrenContains(temp.children, 't');
+            assertChildrenContains(temp.children(), 't');
 
             //CASE: cut
             temp = start
@@ -304,14 +339,14 @@ class TrieTest {
             temp = start
                     .get('c')
                     .getChild('e');
-            assertChildrenContains(temp.children, 'l');
+            assertChildrenContains(temp.children(), 'l');
 
             //CASE: cel...
             temp = start
                     .get('c')
                     .getChild('e')
                     .getChild('l');
-            assertChildrenContains(temp.children, 'l');
+            assertChildrenContains(temp.children(), 'l');
 
             // CASE: cell
             temp = start
@@ -325,14 +360,14 @@ class TrieTest {
             temp = start
                     .get('c')
                     .getChild('o');
-            assertChildrenContains(temp.children, 'l');
+            assertChildrenContains(temp.children(), 'l');
 
             // CASE: col...
             temp = start
                     .get('c')
                     .getChild('o')
                     .getChild('l');
-            assertChildrenContains(temp.children, 'a');
+            assertChildrenContains(temp.children(), 'a');
 
             // CASE: cola
             temp = start
@@ -345,13 +380,13 @@ class TrieTest {
             // CASE: d...
             temp = start
                     .get('d');
-            assertChildrenContains(temp.children, 'o');
+            assertChildrenContains(temp.children(), 'o');
 
             // CASE: do...
             temp = start
                     .get('d')
                     .getChild('o');
-            assertChildrenContains(temp.children, 'g');
+            assertChildrenContains(temp.children(), 'g');
 
             // CASE: dog
             temp = start
@@ -371,7 +406,7 @@ class TrieTest {
         void givenTrieNodes_WhenGetChild_ThenIsTerminalEqualExpected() {
             Trie trie = Trie.empty();
             examples.forEach(trie::insert);
-            Map<Character, TrieNode> start = trie.root.children;
+            Map<Character, TrieNode> start = trie.root.children();
             TrieNode temp;
 
             // CASE: b...
@@ -550,6 +585,69 @@ class TrieTest {
         }
     }
 
+    @Test
+    void givenSortedWords_WhenFromSorted_ThenEqualsInsertedTrie() {
+        Random random = new Random(3);
+        TreeSet<String> words = new TreeSet<>();
+        for (int i = 0; i < 5_000; i++)
+            words.add(Integer.toString(random.nextInt(1_000_000), 3 + random.nextInt(30)));
+
+        Trie inserted = Trie.empty();
+        words.forEach(inserted::insert);
+        Trie loaded = Trie.fromSorted(words.stream());
+        assertEquals(inserted.toString(), loaded.toString());
+        words.forEach(word -> assertTrue(loaded.search(word)));
+    }
+
+    @Test
+    void givenDuplicatesAndNulls_WhenFromSorted_ThenSearchIsTrue() {
+        Trie trie = Trie.fromSorted(Arrays.asList("a", "a", null, "ab", "ab", "b").iterator());
+        assertTrue(trie.search("a"));
+        assertTrue(trie.search("ab"));
+        assertTrue(trie.search("b"));
+        assertFalse(trie.search("ba"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"car,bar", "carp,car", "b,ab"})
+    void givenUnsortedWords_WhenFromSorted_ThenThrowsIllegalArgumentException(String value) {
+        Iterator<String> words = Arrays.asList(value.split(",")).iterator();
+        assertThrows(IllegalArgumentException.class, () -> Trie.fromSorted(words));
+    }
+
+    @Test
+    void givenInsertedWords_WhenWordsWithPrefix_ThenReturnSortedWordsWithPrefix() {
+        Trie trie = Trie.empty();
+        List.of("carpet", "car", "cat", "carp", "bar", "cart", "c").forEach(trie::insert);
+        assertEquals(List.of("car", "carp", "carpet", "cart"), trie.wordsWithPrefix("car").toList());
+        assertEquals(List.of("bar", "c", "car", "carp", "carpet", "cart", "cat"), trie.wordsWithPrefix("").toList());
+        assertEquals(List.of("carpet"), trie.wordsWithPrefix("carpe").toList());
+        assertEquals(List.of("c", "car"), trie.wordsWithPrefix("c").limit(2).toList());
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"x", "cars", "carpets"})
+    void givenPrefixNotInTrie_WhenPrefixIterator_ThenHasNextIsFalse(String value) {
+        Trie trie = Trie.empty();
+        List.of("car", "carp", "carpet").forEach(trie::insert);
+        Iterator<String> iterator = trie.prefixIterator(value);
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void givenDeepWord_WhenPrefixIterator_ThenReturnWholeWord() {
+        Trie trie = Trie.empty();
+        String deep = "a".repeat(100);
+        trie.insert(deep);
+        trie.insert("b");
+        Iterator<String> iterator = trie.prefixIterator("");
+        assertEquals(deep, iterator.next());
+        assertEquals("b", iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+
     @Test
     void givenInsertedWords_WhenErase_ThenEraseIsTrue() {
         Trie trie = Trie.empty();
@@ -604,4 +702,423 @@ class TrieTest {
         }
         assertFalse(current.isLeaf());
     }
+
+    @Test
+    void givenSiblingWords_WhenEraseOne_ThenOtherIsStillFound() {
+        Trie trie = Trie.empty();
+        trie.insert("ab");
+        trie.insert("ac");
+        assertTrue(trie.erase("ab"));
+        assertFalse(trie.search("ab"));
+        assertTrue(trie.search("ac"));
+    }
+
+    @Test
+    void givenScoredWords_WhenTopK_ThenHighestScoresInDescendingOrder() {
+        Trie trie = Trie.empty();
+        trie.insert("car", 5);
+        trie.insert("cart", 9);
+        trie.insert("carbon", 1);
+        trie.insert("cat", 7);
+        trie.insert("dog", 100);
+        trie.insert("care");
+        assertEquals(List.of("dog", "cart", "cat"), trie.topK("", 3));
+        assertEquals(List.of("cart", "car", "carbon", "care"), trie.topK("car", 10));
+        assertEquals(List.of("cart", "cat"), trie.topK("ca", 2));
+        assertEquals(List.of(), trie.topK("x", 3));
+        assertEquals(List.of(), trie.topK("c", 0));
+    }
+
+    @Test
+    void givenEqualScores_WhenTopK_ThenTiesInAscendingOrder() {
+        Trie trie = Trie.empty();
+        List.of("delta", "alpha", "charlie", "bravo").forEach(word -> trie.insert(word, 3));
+        assertEquals(List.of("alpha", "bravo", "charlie"), trie.topK("", 3));
+    }
+
+    @Test
+    void givenChangedScores_WhenTopK_ThenRankingFollowsScores() {
+        Trie trie = Trie.empty();
+        trie.insert("apple", 50);
+        trie.insert("apricot", 40);
+        trie.insert("avocado", 30);
+        trie.insert("apple", 10);
+        assertEquals(List.of("apricot", "avocado"), trie.topK("a", 2));
+        trie.insert("apple");
+        assertEquals(List.of("apricot", "avocado", "apple"), trie.topK("a", 5));
+        trie.erase("apricot");
+        assertEquals(List.of("avocado", "apple"), trie.topK("a", 5));
+        trie.erase("avocado");
+        trie.erase("apple");
+        assertEquals(List.of(), trie.topK("", 5));
+    }
+
+    @Test
+    void givenUnscoredWords_WhenFirstScoreIsInserted_ThenNodesStoreScoresOnlyFromThen() {
+        Trie trie = Trie.empty();
+        List.of("car", "cart", "cat").forEach(trie::insert);
+        trie.insert("dog", 0);
+        assertEquals(TrieNode.class, trie.root.getChild('c').getClass());
+        assertEquals(List.of("car", "cart"), trie.topK("car", 5));
+        trie.insert("cab", -4);
+        assertEquals(ScoredNode.class, trie.root.getChild('c').getChild('a').getClass());
+        trie.insert("caramel");
+        assertEquals(ScoredNode.class, trie.root.getChild('c').getChild('a').getChild('r').getChild('a').getClass());
+        assertEquals(List.of("car", "caramel", "cart", "cat", "dog", "cab"), trie.topK("", 10));
+        assertEquals(6, trie.size());
+    }
+
+    @Test
+    void givenNodeObtainedBeforeFirstScore_WhenChangedAfterwards_ThenTrieIsUnaffected() {
+        Trie trie = Trie.empty();
+        List.of("car", "cart", "cat", "cab", "cow").forEach(trie::insert);
+        TrieNode stale = trie.depthFirstSearch("ca").orElseThrow();
+        trie.insert("cap", 7);
+        stale.removeChild('r');
+        stale.nearestChild('x');
+        stale.children().put('y', new TrieNode());
+        assertEquals(List.of("cab", "cap", "car", "cart", "cat", "cow"), trie.wordsWithPrefix("").toList());
+        assertEquals(List.of("cap", "cab", "car"), trie.topK("ca", 3));
+        assertTrue(trie.search("cart"));
+        assertEquals(6, trie.size());
+    }
+
+    @Test
+    void givenNegativeK_WhenTopK_ThenThrowsIllegalArgumentException() {
+        Trie trie = Trie.empty();
+        assertThrows(IllegalArgumentException.class, () -> trie.topK("", -1));
+    }
+
+    @Test
+    void givenSortedWords_WhenFromSorted_ThenTopKReturnsAllWords() {
+        Trie trie = Trie.fromSorted(Stream.of("bar", "barn", "cat"));
+        assertEquals(List.of("bar", "barn", "cat"), trie.topK("", 5));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"bat", "bart", "cta", "cellar", "do", "x", ""})
+    void givenWords_WhenFuzzySearch_ThenEqualsBruteForce(String query) {
+        Trie trie = Trie.empty();
+        List<String> words = List.of("bat", "bar", "barn", "barm", "cat", "car", "carp", "cell", "cola", "cut", "dog", "r");
+        words.forEach(trie::insert);
+        for (int maxEdits = 0; maxEdits <= 3; maxEdits++) {
+            int edits = maxEdits;
+            List<String> expected = words.stream()
+                    .filter(word -> levenshtein(word, query) <= edits)
+                    .sorted()
+                    .toList();
+            assertEquals(expected, trie.fuzzySearch(query, maxEdits), STR."maxEdits \{maxEdits}");
+        }
+    }
+
+    @Test
+    void givenZeroEdits_WhenFuzzySearch_ThenOnlyExactMatch() {
+        Trie trie = Trie.empty();
+        trie.insert("test");
+        trie.insert("tests");
+        assertEquals(List.of("test"), trie.fuzzySearch("test", 0));
+        assertEquals(List.of("test", "tests"), trie.fuzzySearch("test", 1));
+        assertEquals(List.of(), trie.fuzzySearch(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> trie.fuzzySearch("test", -1));
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] distances = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++)
+            distances[i][0] = i;
+        for (int j = 0; j <= b.length(); j++)
+            distances[0][j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                distances[i][j] = Math.min(distances[i - 1][j - 1] + cost,
+                        Math.min(distances[i - 1][j], distances[i][j - 1]) + 1);
+            }
+        }
+        return distances[a.length()][b.length()];
+    }
+
+    @Test
+    void givenRoutes_WhenLongestPrefixOf_ThenMostSpecificRoute() {
+        Trie trie = Trie.empty();
+        List.of("/api", "/api/users", "/api/users/admin", "/static").forEach(trie::insert);
+        assertEquals(Optional.of("/api/users"), trie.longestPrefixOf("/api/users/42"));
+        assertEquals(Optional.of("/api/users/admin"), trie.longestPrefixOf(new StringBuilder("/api/users/admin")));
+        assertEquals(Optional.of("/api"), trie.longestPrefixOf("/api/user"));
+        assertEquals(Optional.empty(), trie.longestPrefixOf("/ap"));
+        assertEquals(Optional.empty(), trie.longestPrefixOf(""));
+        assertEquals(Optional.empty(), trie.longestPrefixOf(null));
+    }
+
+    @Test
+    void givenRoutes_WhenPrefixesOf_ThenAllMatchingRoutesFromShortest() {
+        Trie trie = Trie.empty();
+        List.of("/api", "/api/users", "/api/users/admin", "/static").forEach(trie::insert);
+        assertEquals(List.of("/api", "/api/users"), trie.prefixesOf("/api/users/42"));
+        assertEquals(List.of("/api", "/api/users", "/api/users/admin"), trie.prefixesOf("/api/users/admin"));
+        assertEquals(List.of(), trie.prefixesOf("/other"));
+        assertEquals(List.of(), trie.prefixesOf(null));
+    }
+
+    @Test
+    void givenInsertAndErase_WhenSize_ThenCountsDistinctWords() {
+        Trie trie = Trie.empty();
+        assertEquals(0, trie.size());
+        trie.insert("bar");
+        trie.insert("barn");
+        trie.insert("bar");
+        trie.insert("bar", 7);
+        trie.insert("cat", 3);
+        trie.insert("");
+        trie.insert(null);
+        assertEquals(3, trie.size());
+        trie.erase("ba");
+        trie.erase("x");
+        assertEquals(3, trie.size());
+        trie.erase("bar");
+        trie.erase("bar");
+        assertEquals(2, trie.size());
+        trie.erase("barn");
+        trie.erase("cat");
+        assertEquals(0, trie.size());
+    }
+
+    @Test
+    void givenWords_WhenCountWithPrefix_ThenCountsWordsBelowPrefix() {
+        Trie trie = Trie.empty();
+        List.of("http", "https", "http2", "ftp", "h").forEach(trie::insert);
+        assertEquals(5, trie.countWithPrefix(""));
+        assertEquals(4, trie.countWithPrefix("h"));
+        assertEquals(3, trie.countWithPrefix("http"));
+        assertEquals(1, trie.countWithPrefix("https"));
+        assertEquals(0, trie.countWithPrefix("httpx"));
+        assertEquals(0, trie.countWithPrefix(null));
+    }
+
+    @Test
+    void givenWords_WhenRankAndSelect_ThenMatchSortedOrder() {
+        List<String> words = List.of("bat", "bar", "barn", "barm", "cat", "car", "carp", "cell", "cola", "cut", "dog", "r");
+        Trie trie = Trie.empty();
+        words.forEach(trie::insert);
+        List<String> sorted = words.stream().sorted().toList();
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(sorted.get(i), trie.select(i));
+            assertEquals(i, trie.rank(sorted.get(i)));
+        }
+        for (String probe : List.of("", "a", "ba", "barb", "bas", "carpet", "z", "cz")) {
+            long expected = sorted.stream().filter(word -> word.compareTo(probe) < 0).count();
+            assertEquals(expected, trie.rank(probe), probe);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> trie.select(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> trie.select(sorted.size()));
+    }
+
+    @Test
+    void givenSortedWords_WhenFromSorted_ThenCountsAreKept() {
+        Trie trie = Trie.fromSorted(Stream.of("a", "ab", "ab", "abc", "b", "ba"));
+        assertEquals(5, trie.size());
+        assertEquals(3, trie.countWithPrefix("a"));
+        assertEquals("ba", trie.select(4));
+        assertEquals(3, trie.rank("b"));
+    }
+
+    @Test
+    void givenCharSequence_WhenInsertSearchErase_ThenBehavesLikeString() {
+        Trie trie = Trie.empty();
+        StringBuilder builder = new StringBuilder("car");
+        trie.insert(builder);
+        builder.append("pet");
+        trie.insert(builder);
+        assertTrue(trie.search("car"));
+        assertTrue(trie.search(new StringBuilder("carpet")));
+        assertFalse(trie.search(new StringBuilder("carp")));
+        assertFalse(trie.search((CharSequence) null));
+        assertTrue(trie.erase(new StringBuilder("car")));
+        assertFalse(trie.search("car"));
+        assertTrue(trie.search("carpet"));
+        assertEquals(1, trie.size());
+        assertFalse(trie.erase((CharSequence) null));
+    }
+
+    @Test
+    void givenCharArrayRange_WhenInsertSearchErase_ThenOnlyRangeIsUsed() {
+        Trie trie = Trie.empty();
+        char[] buffer = "xxbarnyy".toCharArray();
+        trie.insert(buffer, 2, 4);
+        trie.insert(buffer, 2, 3);
+        trie.insert(buffer, 0, 0);
+        assertTrue(trie.search("barn"));
+        assertTrue(trie.search("bar"));
+        assertTrue(trie.search(buffer, 2, 4));
+        assertFalse(trie.search(buffer, 2, 2));
+        assertFalse(trie.search(buffer, 0, 4));
+        assertEquals(2, trie.size());
+        assertTrue(trie.erase(buffer, 2, 4));
+        assertFalse(trie.search("barn"));
+        assertTrue(trie.search("bar"));
+        assertFalse(trie.erase(buffer, 0, 3));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void givenRangeOutOfBounds_WhenSearch_ThenThrowsIndexOutOfBoundsException() {
+        Trie trie = Trie.empty();
+        char[] buffer = "abc".toCharArray();
+        assertThrows(IndexOutOfBoundsException.class, () -> trie.search(buffer, 2, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> trie.insert(buffer, -1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> trie.erase(buffer, 0, 4));
+    }
+
+    private static List<String> randomWords(int count, long seed) {
+        Random random = new Random(seed);
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = random.nextInt(6);
+            for (int j = 0; j < length; j++)
+                word.append((char) ('a' + random.nextInt(3)));
+
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    @Test
+    void givenWords_WhenSearchAll_ThenEqualsSearchOfEachWord() {
+        Trie trie = Trie.empty();
+        randomWords(300, 1).forEach(trie::insert);
+        List<String> queries = new ArrayList<>(randomWords(1_000, 2));
+        queries.add(null);
+        queries.add("");
+        boolean[] found = trie.searchAll(queries);
+        assertEquals(queries.size(), found.length);
+        for (int i = 0; i < queries.size(); i++)
+            assertEquals(trie.search(queries.get(i)), found[i], queries.get(i));
+    }
+
+    @Test
+    void givenEnabledMetrics_WhenSearchAll_ThenEachWordIsReported() {
+        Trie trie = Trie.empty();
+        trie.insert("car");
+        CountingTrieMetrics metrics = new CountingTrieMetrics();
+        trie.setMetrics(metrics);
+        assertArrayEquals(new boolean[]{true, false, false}, trie.searchAll(List.of("car", "ca", "cart")));
+        assertEquals(3, metrics.count(TrieMetrics.Operation.SEARCH));
+    }
+
+    @Test
+    void givenWords_WhenInsertAll_ThenEqualsInsertOfEachWord() {
+        List<String> words = new ArrayList<>(randomWords(1_000, 3));
+        words.add(null);
+        Trie expected = Trie.empty();
+        expected.insert("ab", 7);
+        words.forEach(expected::insert);
+        Trie trie = Trie.empty();
+        trie.insert("ab", 7);
+        trie.insertAll(words);
+        assertEquals(expected.wordsWithPrefix("").toList(), trie.wordsWithPrefix("").toList());
+        assertEquals(expected.size(), trie.size());
+        for (String prefix : List.of("", "a", "ab", "ba", "ccc"))
+            assertEquals(expected.countWithPrefix(prefix), trie.countWithPrefix(prefix), prefix);
+        assertEquals(expected.topK("", 5), trie.topK("", 5));
+        assertEquals("ab", trie.topK("a", 1).getFirst());
+    }
+
+    @Test
+    void givenEmptyCollection_WhenInsertAll_ThenIsEmpty() {
+        Trie trie = Trie.empty();
+        trie.insertAll(List.of());
+        assertTrue(trie.isEmpty());
+        assertArrayEquals(new boolean[0], trie.searchAll(List.of()));
+    }
+
+    @Test
+    void givenWords_WhenStreamInParallel_ThenEqualsWordsInAscendingOrder() {
+        Trie trie = Trie.empty();
+        randomWords(2_000, 4).forEach(trie::insert);
+        // most words start with the same character, so that subtree is split deeper
+        for (int i = 0; i < 5_000; i++)
+            trie.insert(STR."a\{i}");
+        List<String> expected = trie.wordsWithPrefix("").toList();
+        assertEquals(expected, trie.stream().toList());
+        assertEquals(expected, trie.stream().parallel().toList());
+        assertEquals(expected.size(), trie.stream().parallel().count());
+        assertEquals(trie.size(), trie.stream().spliterator().getExactSizeIfKnown());
+    }
+
+    @Test
+    void givenWords_WhenSplitStream_ThenRangesAreBalanced() {
+        Trie trie = Trie.empty();
+        trie.insert("b");
+        for (int i = 0; i < 1_000; i++)
+            trie.insert(STR."a\{i}");
+        Spliterator<String> suffix = trie.stream().spliterator();
+        Spliterator<String> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        assertEquals(trie.size(), prefix.estimateSize() + suffix.estimateSize());
+        assertTrue(Math.abs(prefix.estimateSize() - suffix.estimateSize()) < trie.size() / 4);
+        List<String> words = new ArrayList<>();
+        prefix.forEachRemaining(words::add);
+        suffix.forEachRemaining(words::add);
+        assertEquals(trie.wordsWithPrefix("").toList(), words);
+    }
+
+    @Test
+    void givenStartedSpliterator_WhenSplit_ThenStartedRangeIsHandedOver() {
+        Trie trie = Trie.empty();
+        List.of("a", "ab", "abc", "b", "bc", "c").forEach(trie::insert);
+        Spliterator<String> suffix = trie.stream().spliterator();
+        List<String> words = new ArrayList<>();
+        suffix.trySplit().forEachRemaining(words::add);
+        assertTrue(suffix.tryAdvance(words::add));
+        Spliterator<String> prefix = suffix.trySplit();
+        if (prefix != null)
+            prefix.forEachRemaining(words::add);
+        suffix.forEachRemaining(words::add);
+        assertEquals(List.of("a", "ab", "abc", "b", "bc", "c"), words);
+    }
+
+    @Test
+    void givenEmptyTrie_WhenStream_ThenIsEmpty() {
+        assertEquals(0, Trie.empty().stream().parallel().count());
+        assertNull(Trie.empty().stream().spliterator().trySplit());
+    }
+
+    @Test
+    void givenMassErasure_WhenCompact_ThenBytesAreReclaimedAndWordsAreKept() {
+        Trie trie = Trie.empty();
+        for (char c = 'A'; c <= 'z'; c++)
+            for (char d = 'A'; d <= 'z'; d++)
+                trie.insert(STR."\{c}\{d}");
+        List<String> kept = new ArrayList<>();
+        for (String word : trie.wordsWithPrefix("").toList()) {
+            if (word.charAt(1) % 5 == 0)
+                kept.add(word);
+            else
+                trie.erase(word);
+        }
+        assertTrue(trie.compact() > 0);
+        assertEquals(0, trie.compact());
+        assertEquals(kept, trie.wordsWithPrefix("").toList());
+        trie.insert("Az");
+        assertTrue(trie.search("Az"));
+    }
+
+    @Test
+    void givenModificationsBetweenSlices_WhenCompactIncrementally_ThenPassFinishesAndWordsAreKept() {
+        Trie trie = Trie.empty();
+        List<String> words = randomWords(2_000, 5);
+        words.forEach(trie::insert);
+        TrieCompaction compaction = trie.compaction();
+        int slices = 0;
+        while (!compaction.step(Duration.ZERO)) {
+            trie.erase(words.get(slices));
+            trie.insert(STR."c\{slices++}");
+        }
+        assertTrue(compaction.isDone());
+        assertTrue(compaction.step(Duration.ZERO));
+        assertEquals(trie.wordsWithPrefix("").toList(), trie.stream().toList());
+        for (int i = 0; i < slices; i++)
+            assertTrue(trie.search(STR."c\{i}"));
+    }
 }
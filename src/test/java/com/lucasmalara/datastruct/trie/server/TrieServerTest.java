@@ -0,0 +1,216 @@
+package com.lucasmalara.datastruct.trie.server;
+
+import com.lucasmalara.datastruct.trie.ConcurrentTrie;
+import com.lucasmalara.datastruct.trie.Trie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrieServerTest {
+
+    private static final List<String> EXAMPLES =
+            List.of("bat", "bar", "barn", "barm", "cat", "car", "carp", "cell", "cola", "cut", "dog", "r", "ice cream");
+
+    private TrieServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Trie trie = Trie.empty();
+        EXAMPLES.forEach(trie::insert);
+        server = TrieServer.start(trie, 0);
+    }
+
+    private TrieServer writableServer() throws IOException {
+        ConcurrentTrie trie = ConcurrentTrie.empty();
+        EXAMPLES.forEach(trie::insert);
+        return TrieServer.start(trie, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), true);
+    }
+
+    private static List<String> replies(TrieServer server, String requests) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.port())) {
+            Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            out.write(requests);
+            out.flush();
+            socket.shutdownOutput();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            return in.lines().toList();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void givenServedTrie_WhenSearch_ThenEqualsSearchOfTrie() throws IOException {
+        try (TrieClient client = TrieClient.connect(server.port())) {
+            for (String word : EXAMPLES)
+                assertTrue(client.search(word), word);
+            assertFalse(client.search("ba"));
+            assertFalse(client.search(""));
+            assertFalse(client.search("ice"));
+        }
+    }
+
+    @Test
+    void givenServedTrie_WhenWordsWithPrefix_ThenFirstWordsInAscendingOrder() throws IOException {
+        try (TrieClient client = TrieClient.connect(server.port())) {
+            assertEquals(List.of("bar", "barm", "barn", "bat"), client.wordsWithPrefix("ba", 10));
+            assertEquals(List.of("car", "carp"), client.wordsWithPrefix("car", 2));
+            assertEquals(List.of("ice cream"), client.wordsWithPrefix("ice ", 10));
+            assertEquals(List.of(), client.wordsWithPrefix("x", 10));
+            assertThrows(ProtocolException.class, () -> client.wordsWithPrefix("a", -1));
+        }
+    }
+
+    @Test
+    void givenWords_WhenSearchEachAndSearchAll_ThenEqualsSearchOfEachWord() throws IOException {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++)
+            words.add(i % 3 == 0 ? EXAMPLES.get(i % EXAMPLES.size()) : STR."missing\{i}");
+
+        try (TrieClient client = TrieClient.connect(server.port())) {
+            boolean[] each = client.searchEach(words);
+            boolean[] all = client.searchAll(words);
+            for (int i = 0; i < words.size(); i++) {
+                assertEquals(EXAMPLES.contains(words.get(i)), each[i], words.get(i));
+                assertEquals(each[i], all[i], words.get(i));
+            }
+            assertArrayEquals(new boolean[0], client.searchAll(List.of()));
+        }
+    }
+
+    @Test
+    void givenWritableServer_WhenInsertAndErase_ThenOtherClientSeesChanges() throws IOException {
+        try (TrieServer server = writableServer();
+             TrieClient writer = TrieClient.connect(server.port());
+             TrieClient reader = TrieClient.connect(server.port())) {
+            assertTrue(server.isWritable());
+            writer.insert("cart");
+            assertTrue(reader.search("cart"));
+            assertTrue(server.trie().search("cart"));
+            assertTrue(writer.erase("cart"));
+            assertFalse(writer.erase("cart"));
+            assertFalse(reader.search("cart"));
+        }
+    }
+
+    @Test
+    void givenReadOnlyServer_WhenInsertOrErase_ThenThrowsProtocolExceptionAndTrieIsUnchanged() throws IOException {
+        assertFalse(server.isWritable());
+        try (TrieClient client = TrieClient.connect(server.port())) {
+            assertThrows(ProtocolException.class, () -> client.insert("cart"));
+            assertThrows(ProtocolException.class, () -> client.erase("bar"));
+            assertFalse(client.search("cart"));
+            assertTrue(client.search("bar"));
+        }
+        assertEquals(EXAMPLES.size(), server.trie().wordsWithPrefix("", Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    void givenPipelinedRequests_WhenWrittenAtOnce_ThenResponsesAreInOrder() throws IOException {
+        String requests = "SEARCH bar\nSEARCH ba\nBATCH 3\ncat\nca\ndog\nPREFIX 1 ce\nNOPE x\nERASE dog\nSEARCH dog\r\n";
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.port())) {
+            Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            out.write(requests);
+            out.flush();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            for (String expected : List.of("1", "0", "101", "1", "cell", "ERR Unknown command: NOPE",
+                    "ERR Server is read-only", "1"))
+                assertEquals(expected, in.readLine());
+        }
+        try (TrieServer server = writableServer()) {
+            assertEquals(List.of("1", "0", "101", "1", "cell", "ERR Unknown command: NOPE", "1", "0"),
+                    replies(server, requests));
+        }
+    }
+
+    @Test
+    void givenMalformedBatch_WhenRequested_ThenConnectionIsClosed() throws IOException {
+        List<String> replies = replies(server, "BATCH many\n");
+        assertEquals(1, replies.size());
+        assertTrue(replies.getFirst().startsWith("ERR"));
+    }
+
+    @Test
+    void givenLineLongerThanMaximum_WhenRequested_ThenErrorAndConnectionIsClosed() throws IOException {
+        String error = STR."ERR Line exceeds \{Connection.MAX_LINE} characters";
+        String longest = STR."SEARCH \{"a".repeat(Connection.MAX_LINE - 7)}";
+        String tooLong = STR."SEARCH \{"a".repeat(Connection.MAX_LINE - 6)}";
+        assertEquals(List.of(error), replies(server, tooLong));
+        assertEquals(List.of("0", error), replies(server, STR."\{longest}\n\{tooLong}"));
+        assertEquals(List.of(error), replies(server, STR."BATCH 2\nbar\n\{"a".repeat(Connection.MAX_LINE + 1)}"));
+        try (TrieClient client = TrieClient.connect(server.port())) {
+            assertThrows(IllegalArgumentException.class, () -> client.search("a".repeat(Connection.MAX_LINE)));
+            assertThrows(IllegalArgumentException.class,
+                    () -> client.searchAll(List.of("a".repeat(Connection.MAX_LINE + 1))));
+            assertTrue(client.search("bar"));
+        }
+    }
+
+    @Test
+    void givenWordWithLineBreak_WhenSearch_ThenThrowsIllegalArgumentException() throws IOException {
+        try (TrieClient client = TrieClient.connect(server.port())) {
+            assertThrows(IllegalArgumentException.class, () -> client.search("bar\nERASE bar"));
+            assertThrows(IllegalArgumentException.class, () -> client.search(null));
+            assertTrue(client.search("bar"));
+        }
+    }
+
+    @Test
+    void givenManyClients_WhenSearchConcurrentlyWithWriter_ThenEachSeesServedWords() throws Exception {
+        try (TrieServer server = writableServer();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> writer = executor.submit(() -> {
+                try (TrieClient client = TrieClient.connect(server.port())) {
+                    for (int i = 0; i < 200; i++)
+                        client.insert(STR."new\{i}");
+                }
+                return null;
+            });
+            List<Future<?>> readers = new ArrayList<>();
+            for (int c = 0; c < 32; c++) {
+                readers.add(executor.submit(() -> {
+                    try (TrieClient client = TrieClient.connect(server.port())) {
+                        for (int i = 0; i < 20; i++) {
+                            boolean[] found = client.searchEach(EXAMPLES);
+                            for (boolean each : found)
+                                assertTrue(each);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            writer.get(1, TimeUnit.MINUTES);
+            for (Future<?> reader : readers)
+                reader.get(1, TimeUnit.MINUTES);
+
+            assertTrue(server.trie().search("new199"));
+        }
+    }
+
+    @Test
+    void givenClosedServer_WhenRequest_ThenThrowsIOException() throws IOException {
+        TrieClient client = TrieClient.connect(server.port());
+        assertTrue(client.search("bar"));
+        server.close();
+        assertThrows(IOException.class, () -> client.search("bar"));
+        client.close();
+    }
+}